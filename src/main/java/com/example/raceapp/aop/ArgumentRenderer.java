@@ -0,0 +1,84 @@
+package com.example.raceapp.aop;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Renders method arguments and results for the trace log in bounded size.
+ *
+ * <p>Containers are summarized instead of printed: a page of responses becomes its
+ * number and sizes, a collection its size, so tracing a list endpoint never walks the
+ * object graph. Other values are printed with {@code toString} and cut off at the
+ * maximum length.
+ */
+final class ArgumentRenderer {
+
+    private ArgumentRenderer() {
+    }
+
+    /**
+     * Renders arguments like {@code Arrays.toString}, with every element size-capped.
+     *
+     * @param args      the arguments.
+     * @param maxLength maximum number of characters per argument.
+     * @return the rendered arguments, such as {@code [42, List(size=3)]}.
+     */
+    static String render(Object[] args, int maxLength) {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(render(args[i], maxLength));
+        }
+        return builder.append(']').toString();
+    }
+
+    /**
+     * Renders a single value.
+     *
+     * @param value     the value.
+     * @param maxLength maximum number of characters of values printed with
+     *                  {@code toString}.
+     * @return the rendered value.
+     */
+    static String render(Object value, int maxLength) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof Page<?> page) {
+            return "Page(number=" + page.getNumber() + ", elements="
+                    + page.getNumberOfElements() + ", total=" + page.getTotalElements() + ")";
+        }
+        if (value instanceof Collection<?> collection) {
+            return value.getClass().getSimpleName() + "(size=" + collection.size() + ")";
+        }
+        if (value instanceof Map<?, ?> map) {
+            return value.getClass().getSimpleName() + "(size=" + map.size() + ")";
+        }
+        if (value.getClass().isArray()) {
+            return value.getClass().getComponentType().getSimpleName()
+                    + "[" + Array.getLength(value) + "]";
+        }
+        if (value instanceof Optional<?> optional) {
+            return optional.map(inner -> "Optional(" + render(inner, maxLength) + ")")
+                    .orElse("Optional.empty");
+        }
+        if (value instanceof ResponseEntity<?> entity) {
+            return "ResponseEntity(status=" + entity.getStatusCode().value() + ", body="
+                    + render(entity.getBody(), maxLength) + ")";
+        }
+        return truncate(value.toString(), maxLength);
+    }
+
+    private static String truncate(String text, int maxLength) {
+        if (text.length() <= maxLength) {
+            return text;
+        }
+        return text.substring(0, maxLength) + "...(" + text.length() + " chars)";
+    }
+}
@@ -1,49 +1,130 @@
 package com.example.raceapp.aop;
 
-import java.util.Arrays;
+import com.example.raceapp.config.TracingProperties;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.AfterThrowing;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+/**
+ * Aspect tracing service and controller calls.
+ *
+ * <p>A sample of the calls of every method, {@code app.tracing.sample-rate} by default,
+ * is logged to the {@code trace.<class name>} logger. Its level picks what is logged:
+ * <ul>
+ *   <li>{@code INFO}: the duration of the call only;</li>
+ *   <li>{@code DEBUG}: the duration with the size-capped arguments and result;</li>
+ *   <li>{@code WARN} or above: nothing.</li>
+ * </ul>
+ * Levels can be changed per package at runtime through {@code /actuator/loggers}, for
+ * example by setting {@code trace.com.example.raceapp.service} to {@code DEBUG}. The
+ * {@code trace} loggers write through an asynchronous appender, so request threads do
+ * not wait for the disk. Calls that are not sampled cost one map lookup.
+ *
+ * <p>The services counting every request are left out, so the request filters call them
+ * directly rather than through a proxy.
+ */
 @Aspect
 @Component
 public class LoggingAspect {
 
+    private static final String TRACE_LOGGER_PREFIX = "trace.";
     private static final Logger logger = LoggerFactory.getLogger(LoggingAspect.class);
 
+    private final TracingProperties properties;
+    private final Map<Method, MethodTrace> traces = new ConcurrentHashMap<>();
+
+    public LoggingAspect(TracingProperties properties) {
+        this.properties = properties;
+    }
+
     protected Logger getLogger() {
         return logger;
     }
 
-    @Around("within(com.example.raceapp.service..*) || within(com.example.raceapp.controller..*)")
+    protected Logger getTraceLogger(Class<?> type) {
+        return LoggerFactory.getLogger(TRACE_LOGGER_PREFIX + type.getName());
+    }
+
+    @Pointcut("within(com.example.raceapp.service..*) || within(com.example.raceapp.controller..*)")
+    void servicesAndControllers() {
+    }
+
+    @Pointcut("within(com.example.raceapp.service.EndpointMetricsService)"
+            + " || within(com.example.raceapp.service.VisitCounterService)")
+    void perRequestCounters() {
+    }
+
+    @Around("servicesAndControllers() && !perRequestCounters()")
     public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
-        Logger logger = getLogger();
-        if (logger.isInfoEnabled()) {
-            logger.info("Entering: {} with arguments = {}",
-                    joinPoint.getSignature().toShortString(),
-                    Arrays.toString(joinPoint.getArgs()));
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MethodTrace trace = traces.computeIfAbsent(method, this::createTrace);
+        Logger traceLogger = trace.logger();
+        if (!traceLogger.isInfoEnabled() || !trace.sampled()) {
+            return joinPoint.proceed();
         }
-        Object result = joinPoint.proceed();
-        if (logger.isInfoEnabled()) {
-            logger.info("Exiting: {} with result = {}",
-                    joinPoint.getSignature().toShortString(),
-                    result);
+
+        boolean full = traceLogger.isDebugEnabled();
+        String args = full
+                ? ArgumentRenderer.render(joinPoint.getArgs(), properties.getMaxArgumentLength())
+                : null;
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable ex) {
+            traceLogger.info("Traced {} in {} us, failed with {}", trace.name(),
+                    elapsedMicros(start), ex.getClass().getSimpleName());
+            throw ex;
+        }
+        long micros = elapsedMicros(start);
+        if (full) {
+            traceLogger.debug("Traced {} in {} us with arguments = {}, result = {}", trace.name(),
+                    micros, args, ArgumentRenderer.render(result,
+                            properties.getMaxArgumentLength()));
+        } else {
+            traceLogger.info("Traced {} in {} us", trace.name(), micros);
         }
         return result;
     }
 
-    @AfterThrowing(pointcut = "within(com.example.raceapp.service..*) ||"
-            + "within(com.example.raceapp.controller..*)", throwing = "ex")
+    @AfterThrowing(pointcut = "servicesAndControllers() && !perRequestCounters()",
+            throwing = "ex")
     public void logAfterThrowing(JoinPoint joinPoint, Throwable ex) {
         Logger logger = getLogger();
         String methodSignature = joinPoint.getSignature().toShortString();
-        String args = Arrays.toString(joinPoint.getArgs());
+        String args = ArgumentRenderer.render(joinPoint.getArgs(),
+                properties.getMaxArgumentLength());
         logger.error("Exception in {} with arguments {}: {}", methodSignature,
                 args, ex.getMessage(), ex);
     }
-}
\ No newline at end of file
+
+    private MethodTrace createTrace(Method method) {
+        String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        return new MethodTrace(name, getTraceLogger(method.getDeclaringClass()),
+                properties.sampleRateOf(name));
+    }
+
+    private static long elapsedMicros(long start) {
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+    }
+
+    private record MethodTrace(String name, Logger logger, double sampleRate) {
+
+        boolean sampled() {
+            return sampleRate >= 1 || (sampleRate > 0
+                    && ThreadLocalRandom.current().nextDouble() < sampleRate);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.raceapp.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.cache.Cache;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads the single-entity cache entries of many IDs at once. The cached entries are
+ * found with one bulk lookup, only the missing IDs are loaded, with one call of the
+ * loader, and the loaded values are stored with one bulk write. Entries share their
+ * keys with the {@code @Cacheable} get-by-ID methods.
+ */
+@Component
+public class BatchCacheLoader {
+
+    private final TrackingCacheManager cacheManager;
+
+    public BatchCacheLoader(TrackingCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Returns the values of the given IDs from the cache of an entity type, loading the
+     * missing ones. IDs of entities that do not exist are skipped.
+     *
+     * @param type   the entity type
+     * @param ids    the IDs, duplicates are returned once and nulls are ignored
+     * @param loader loads the values of the IDs missing from the cache
+     * @param idOf   the ID of a loaded value
+     * @param <T>    the type of the values
+     * @return the values in the order of {@code ids}
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getAll(EntityType type, Collection<Long> ids,
+                              Function<Set<Long>, List<T>> loader, Function<T, Long> idOf) {
+        Set<Long> keys = ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        TrackingCache cache = cacheManager.getCache(type.getCacheName());
+        Map<Object, Cache.ValueWrapper> cached = cache != null ? cache.getAll(keys) : Map.of();
+
+        Set<Long> missing = new LinkedHashSet<>(keys);
+        missing.removeAll(cached.keySet());
+        Map<Long, T> loaded = missing.isEmpty() ? Map.of() : loader.apply(missing).stream()
+                .collect(Collectors.toMap(idOf, Function.identity()));
+        if (cache != null && !loaded.isEmpty()) {
+            cache.putAll(loaded);
+        }
+
+        List<T> values = new ArrayList<>(keys.size());
+        for (Long id : keys) {
+            Cache.ValueWrapper wrapper = cached.get(id);
+            T value = wrapper != null ? (T) wrapper.get() : loaded.get(id);
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.raceapp.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reverse index from entities to the cache entries whose values render them.
+ * Query results (pages) are additionally tracked per cache so that writes which
+ * change result membership can drop them without touching single-entity entries.
+ */
+public class CacheDependencyIndex {
+
+    /**
+     * Location of a single entry in a named cache.
+     *
+     * @param cacheName the cache name
+     * @param key       the cache key
+     */
+    public record EntryRef(String cacheName, Object key) {
+    }
+
+    private final Map<EntityKey, Set<EntryRef>> dependents = new ConcurrentHashMap<>();
+    private final Map<EntryRef, Set<EntityKey>> references = new ConcurrentHashMap<>();
+    private final Map<String, Set<Object>> queryKeys = new ConcurrentHashMap<>();
+
+    /**
+     * Records the entities referenced by a freshly cached entry,
+     * replacing whatever the entry referenced before.
+     *
+     * @param cacheName the cache name
+     * @param key       the cache key
+     * @param entities  the entities rendered into the cached value
+     * @param query     whether the value is a query result rather than a single entity
+     */
+    public void register(String cacheName, Object key, Set<EntityKey> entities, boolean query) {
+        EntryRef ref = new EntryRef(cacheName, key);
+        unlink(ref, references.put(ref, entities));
+        for (EntityKey entity : entities) {
+            dependents.compute(entity, (k, refs) -> {
+                Set<EntryRef> result = refs != null ? refs : ConcurrentHashMap.newKeySet();
+                result.add(ref);
+                return result;
+            });
+        }
+        if (query) {
+            queryKeys.computeIfAbsent(cacheName, n -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+    }
+
+    /**
+     * Forgets a cache entry after it has been evicted.
+     *
+     * @param cacheName the cache name
+     * @param key       the cache key
+     */
+    public void remove(String cacheName, Object key) {
+        EntryRef ref = new EntryRef(cacheName, key);
+        unlink(ref, references.remove(ref));
+        Set<Object> keys = queryKeys.get(cacheName);
+        if (keys != null) {
+            keys.remove(key);
+        }
+    }
+
+    /**
+     * Forgets every entry of a cache after it has been cleared.
+     *
+     * @param cacheName the cache name
+     */
+    public void clear(String cacheName) {
+        references.keySet().stream()
+                .filter(ref -> ref.cacheName().equals(cacheName))
+                .toList()
+                .forEach(ref -> remove(ref.cacheName(), ref.key()));
+        queryKeys.remove(cacheName);
+    }
+
+    /**
+     * Returns a snapshot of all entries that render the given entity.
+     *
+     * @param entity the entity
+     * @return the dependent cache entries
+     */
+    public List<EntryRef> dependentsOf(EntityKey entity) {
+        Set<EntryRef> refs = dependents.get(entity);
+        return refs == null ? List.of() : List.copyOf(refs);
+    }
+
+    /**
+     * Returns a snapshot of the query result keys held in a cache.
+     *
+     * @param cacheName the cache name
+     * @return the query keys
+     */
+    public List<Object> queryKeysOf(String cacheName) {
+        Set<Object> keys = queryKeys.get(cacheName);
+        return keys == null ? List.of() : List.copyOf(keys);
+    }
+
+    /**
+     * Returns the number of tracked cache entries.
+     *
+     * @return the tracked entry count
+     */
+    public int size() {
+        return references.size();
+    }
+
+    private void unlink(EntryRef ref, Set<EntityKey> entities) {
+        if (entities == null) {
+            return;
+        }
+        for (EntityKey entity : entities) {
+            dependents.computeIfPresent(entity, (k, refs) -> {
+                refs.remove(ref);
+                return refs.isEmpty() ? null : refs;
+            });
+        }
+    }
+}
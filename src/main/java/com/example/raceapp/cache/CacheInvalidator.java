@@ -0,0 +1,108 @@
+package com.example.raceapp.cache;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evicts exactly the cache entries affected by a write instead of whole caches.
+ * Entries that render a changed entity are found through the {@link CacheDependencyIndex};
+ * query results are dropped only when a write can change which entities they contain.
+ * When called inside a transaction, eviction is deferred until after commit so
+ * concurrent readers cannot re-cache the pre-commit state.
+ */
+@Component
+public class CacheInvalidator {
+
+    private final TrackingCacheManager cacheManager;
+
+    public CacheInvalidator(TrackingCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Evicts every cached entry, single-entity or query result, that renders
+     * any of the given entities.
+     *
+     * @param type the entity type
+     * @param ids  the IDs of the changed entities, nulls are ignored
+     */
+    public void evictEntities(EntityType type, Long... ids) {
+        evictEntities(type, Arrays.asList(ids));
+    }
+
+    /**
+     * Evicts every cached entry, single-entity or query result, that renders
+     * any of the given entities.
+     *
+     * @param type the entity type
+     * @param ids  the IDs of the changed entities, nulls are ignored
+     */
+    public void evictEntities(EntityType type, Collection<Long> ids) {
+        List<EntityKey> keys = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(id -> new EntityKey(type, id))
+                .toList();
+        if (!keys.isEmpty()) {
+            afterCommit(() -> keys.forEach(this::evictDependents));
+        }
+    }
+
+    /**
+     * Evicts the cached query results of the given entity type, keeping
+     * single-entity entries. Used when an entity is created or deleted, or when
+     * a filterable attribute changes, since such writes can add entities to
+     * pages that did not contain them before.
+     *
+     * @param type the entity type whose query results may have changed membership
+     */
+    public void evictQueries(EntityType type) {
+        afterCommit(() -> {
+            TrackingCache cache = cacheManager.getCache(type.getQueryCacheName());
+            if (cache != null) {
+                cacheManager.getIndex().queryKeysOf(cache.getName()).forEach(cache::evict);
+            }
+        });
+    }
+
+    /**
+     * Returns hit, miss and eviction counters of every cache.
+     *
+     * @return the statistics per cache
+     */
+    public List<CacheStatistics> getStatistics() {
+        return cacheManager.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .filter(Objects::nonNull)
+                .map(TrackingCache::getStatistics)
+                .toList();
+    }
+
+    private void evictDependents(EntityKey entity) {
+        for (CacheDependencyIndex.EntryRef ref : cacheManager.getIndex().dependentsOf(entity)) {
+            TrackingCache cache = cacheManager.getCache(ref.cacheName());
+            if (cache != null) {
+                cache.evict(ref.key());
+            }
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            action.run();
+                        }
+                    });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.raceapp.cache;
+
+/**
+ * Names of the cache regions. Single entities are cached by ID in their own
+ * region, separate from the paginated query results of the same type.
+ */
+public final class CacheNames {
+    public static final String CARS = "cars";
+    public static final String CAR_PAGES = "car-pages";
+    public static final String PILOTS = "pilots";
+    public static final String PILOT_PAGES = "pilot-pages";
+    public static final String RACES = "races";
+    public static final String RACE_PAGES = "race-pages";
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.raceapp.cache;
+
+/**
+ * Point-in-time counters of a single cache.
+ *
+ * @param name      the cache name
+ * @param hits      lookups answered from the cache
+ * @param misses    lookups that had to load the value
+ * @param evictions entries removed by invalidation
+ */
+public record CacheStatistics(String name, long hits, long misses, long evictions) {
+
+    /**
+     * Returns the share of lookups answered from the cache.
+     *
+     * @return the hit rate between 0 and 1, or 0 if there were no lookups
+     */
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.raceapp.cache;
+
+/**
+ * Identity of a single entity referenced by a cached value.
+ *
+ * @param type the entity type
+ * @param id   the entity ID
+ */
+public record EntityKey(EntityType type, Long id) {
+}
@@ -0,0 +1,72 @@
+package com.example.raceapp.cache;
+
+import com.example.raceapp.dto.CarResponse;
+import com.example.raceapp.dto.CarSimpleResponse;
+import com.example.raceapp.dto.CursorPage;
+import com.example.raceapp.dto.PilotResponse;
+import com.example.raceapp.dto.PilotSimpleResponse;
+import com.example.raceapp.dto.RaceResponse;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Collects the identities of all entities rendered into a cached response,
+ * including nested owners, cars and pilots.
+ */
+final class EntityReferences {
+
+    private EntityReferences() {
+    }
+
+    /**
+     * Returns every entity referenced by the given value.
+     *
+     * @param value a response DTO, a page, cursor page or collection of them, or an Optional
+     * @return the referenced entity keys, empty if the value holds no known DTOs
+     */
+    static Set<EntityKey> of(Object value) {
+        Set<EntityKey> keys = new HashSet<>();
+        collect(value, keys);
+        return keys;
+    }
+
+    private static void collect(Object value, Set<EntityKey> keys) {
+        if (value instanceof Optional<?> optional) {
+            optional.ifPresent(v -> collect(v, keys));
+        } else if (value instanceof CursorPage<?> page) {
+            collectAll(page.getContent(), keys);
+        } else if (value instanceof Iterable<?> items) {
+            for (Object item : items) {
+                collect(item, keys);
+            }
+        } else if (value instanceof CarResponse car) {
+            add(keys, EntityType.CAR, car.getId());
+            collect(car.getOwner(), keys);
+        } else if (value instanceof CarSimpleResponse car) {
+            add(keys, EntityType.CAR, car.getId());
+        } else if (value instanceof PilotResponse pilot) {
+            add(keys, EntityType.PILOT, pilot.getId());
+            collectAll(pilot.getCars(), keys);
+        } else if (value instanceof PilotSimpleResponse pilot) {
+            add(keys, EntityType.PILOT, pilot.getId());
+        } else if (value instanceof RaceResponse race) {
+            add(keys, EntityType.RACE, race.getId());
+            collectAll(race.getPilots(), keys);
+            collectAll(race.getCars(), keys);
+        }
+    }
+
+    private static void collectAll(Collection<?> values, Set<EntityKey> keys) {
+        if (values != null) {
+            values.forEach(v -> collect(v, keys));
+        }
+    }
+
+    private static void add(Set<EntityKey> keys, EntityType type, Long id) {
+        if (id != null) {
+            keys.add(new EntityKey(type, id));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.raceapp.cache;
+
+/**
+ * Entity types whose cached representations are tracked for invalidation.
+ */
+public enum EntityType {
+    CAR(CacheNames.CARS, CacheNames.CAR_PAGES),
+    PILOT(CacheNames.PILOTS, CacheNames.PILOT_PAGES),
+    RACE(CacheNames.RACES, CacheNames.RACE_PAGES);
+
+    private final String cacheName;
+    private final String queryCacheName;
+
+    EntityType(String cacheName, String queryCacheName) {
+        this.cacheName = cacheName;
+        this.queryCacheName = queryCacheName;
+    }
+
+    /**
+     * Returns the name of the cache holding single entities of this type by ID.
+     *
+     * @return the cache name
+     */
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    /**
+     * Returns the name of the cache holding paginated query results of this type.
+     *
+     * @return the query cache name
+     */
+    public String getQueryCacheName() {
+        return queryCacheName;
+    }
+}
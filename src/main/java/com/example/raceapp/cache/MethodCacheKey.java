@@ -0,0 +1,39 @@
+package com.example.raceapp.cache;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * Cache key made of the invoked method and its normalized arguments.
+ * The hash code is computed once, as keys are hashed on every lookup.
+ */
+public final class MethodCacheKey {
+
+    private final Method method;
+    private final Object[] params;
+    private final int hash;
+
+    MethodCacheKey(Method method, Object[] params) {
+        this.method = method;
+        this.params = params;
+        this.hash = 31 * method.hashCode() + Arrays.deepHashCode(params);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof MethodCacheKey key
+                && hash == key.hash
+                && method.equals(key.method)
+                && Arrays.deepEquals(params, key.params));
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return method.getName() + Arrays.deepToString(params);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.raceapp.cache;
+
+import java.lang.reflect.Method;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Generates keys for cached query results from the method identity, the filter
+ * arguments and the full {@link Pageable}, including its sort. Keys of different
+ * query methods sharing a cache region therefore never collide, and the same
+ * page requested with another sort order is cached separately.
+ */
+public class PageableKeyGenerator implements KeyGenerator {
+
+    /**
+     * Page coordinates of a {@link Pageable}, independent of its implementation.
+     *
+     * @param page the page number, or -1 if unpaged
+     * @param size the page size, or -1 if unpaged
+     * @param sort the sort order
+     */
+    record PageKey(int page, int size, Sort sort) {
+    }
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        Object[] parts = new Object[params.length];
+        for (int i = 0; i < params.length; i++) {
+            parts[i] = params[i] instanceof Pageable pageable ? toPageKey(pageable) : params[i];
+        }
+        return new MethodCacheKey(method, parts);
+    }
+
+    private static PageKey toPageKey(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageKey(-1, -1, pageable.getSort());
+        }
+        return new PageKey(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+    }
+}
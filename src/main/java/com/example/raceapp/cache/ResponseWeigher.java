@@ -0,0 +1,102 @@
+package com.example.raceapp.cache;
+
+import com.example.raceapp.dto.CarResponse;
+import com.example.raceapp.dto.CarSimpleResponse;
+import com.example.raceapp.dto.CursorPage;
+import com.example.raceapp.dto.PilotResponse;
+import com.example.raceapp.dto.PilotSimpleResponse;
+import com.example.raceapp.dto.RaceResponse;
+import com.github.benmanes.caffeine.cache.Weigher;
+import java.util.Collection;
+import java.util.Optional;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Weighs cache entries by the estimated heap footprint of the cached response
+ * graph in bytes, so a page of races with nested pilots and cars counts
+ * accordingly more than a single car.
+ */
+public class ResponseWeigher implements Weigher<Object, Object> {
+
+    private static final int OBJECT = 16;
+    private static final int REFERENCE = 8;
+    private static final int BOXED = 16;
+    private static final int STRING = 40;
+    private static final int LIST = 24;
+    private static final int SET_ENTRY = 32;
+    private static final int SET = 48;
+    private static final int PAGE = 96;
+    private static final int KEY = 64;
+
+    @Override
+    public int weigh(Object key, Object value) {
+        return (int) Math.min(Integer.MAX_VALUE, KEY + estimate(value));
+    }
+
+    /**
+     * Estimates the retained size of a cached value.
+     *
+     * @param value the value
+     * @return the estimated size in bytes
+     */
+    static long estimate(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Optional<?> optional) {
+            return OBJECT + optional.map(ResponseWeigher::estimate).orElse(0L);
+        }
+        if (value instanceof Slice<?> slice) {
+            return PAGE + list(slice.getContent());
+        }
+        if (value instanceof CursorPage<?> page) {
+            return PAGE + list(page.getContent()) + string(page.getNext());
+        }
+        if (value instanceof CarSimpleResponse car) {
+            return OBJECT + 4 * REFERENCE + 2 * BOXED
+                    + string(car.getBrand()) + string(car.getModel());
+        }
+        if (value instanceof CarResponse car) {
+            return OBJECT + 5 * REFERENCE + 2 * BOXED
+                    + string(car.getBrand()) + string(car.getModel()) + estimate(car.getOwner());
+        }
+        if (value instanceof PilotSimpleResponse pilot) {
+            return OBJECT + 3 * REFERENCE + 2 * BOXED + string(pilot.getName());
+        }
+        if (value instanceof PilotResponse pilot) {
+            return OBJECT + 5 * REFERENCE + 3 * BOXED
+                    + string(pilot.getName()) + list(pilot.getCars());
+        }
+        if (value instanceof RaceResponse race) {
+            return OBJECT + 5 * REFERENCE + 2 * BOXED
+                    + string(race.getName()) + set(race.getPilots()) + set(race.getCars());
+        }
+        return OBJECT;
+    }
+
+    private static long string(String value) {
+        return value == null ? 0 : STRING + value.length();
+    }
+
+    private static long list(Collection<?> values) {
+        if (values == null) {
+            return 0;
+        }
+        long size = LIST + (long) REFERENCE * values.size();
+        for (Object value : values) {
+            size += estimate(value);
+        }
+        return size;
+    }
+
+    private static long set(Collection<?> values) {
+        if (values == null) {
+            return 0;
+        }
+        long size = SET + (long) SET_ENTRY * values.size();
+        for (Object value : values) {
+            size += estimate(value);
+        }
+        return size;
+    }
+}
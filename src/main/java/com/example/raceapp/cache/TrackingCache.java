@@ -0,0 +1,202 @@
+package com.example.raceapp.cache;
+
+import com.example.raceapp.dto.CursorPage;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Cache decorator that records hit, miss and eviction counts and registers
+ * the entities rendered into every stored value with a {@link CacheDependencyIndex}.
+ */
+public class TrackingCache implements Cache {
+
+    private final Cache delegate;
+    private final CacheDependencyIndex index;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a tracking decorator.
+     *
+     * @param delegate the cache holding the actual values
+     * @param index    the shared dependency index
+     */
+    public TrackingCache(Cache delegate, CacheDependencyIndex index) {
+        this.delegate = delegate;
+        this.index = index;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        (wrapper != null ? hits : misses).increment();
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper == null) {
+            return null;
+        }
+        Object value = wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type ["
+                    + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        boolean[] loaded = new boolean[1];
+        T value = delegate.get(key, () -> {
+            loaded[0] = true;
+            T result = valueLoader.call();
+            track(key, result);
+            return result;
+        });
+        (loaded[0] ? misses : hits).increment();
+        return value;
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return delegate.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> loader) {
+        return delegate.retrieve(key, loader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        track(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            track(key, value);
+        }
+        return existing;
+    }
+
+    /**
+     * Looks up several keys at once. A Caffeine delegate answers with one bulk read,
+     * any other delegate key by key.
+     *
+     * @param keys the keys to look up
+     * @return the entries found keyed by their key; an entry cached as {@code null}
+     *         maps to a wrapper of {@code null}
+     */
+    public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+        Map<Object, ValueWrapper> found = new HashMap<>();
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> caffeine = caffeine();
+        if (caffeine != null) {
+            caffeine.getAllPresent(keys).forEach((key, value) -> found.put(key,
+                    new SimpleValueWrapper(value instanceof NullValue ? null : value)));
+        } else {
+            for (Object key : keys) {
+                ValueWrapper wrapper = delegate.get(key);
+                if (wrapper != null) {
+                    found.put(key, wrapper);
+                }
+            }
+        }
+        hits.add(found.size());
+        misses.add(keys.size() - found.size());
+        return found;
+    }
+
+    /**
+     * Stores several non-null values at once, with one bulk write to a Caffeine delegate.
+     *
+     * @param values the values keyed by their key
+     */
+    public void putAll(Map<?, ?> values) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> caffeine = caffeine();
+        if (caffeine != null) {
+            caffeine.putAll(values);
+            values.forEach(this::track);
+        } else {
+            values.forEach(this::put);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        index.remove(getName(), key);
+        evictions.increment();
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = delegate.evictIfPresent(key);
+        index.remove(getName(), key);
+        if (present) {
+            evictions.increment();
+        }
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        index.clear(getName());
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean present = delegate.invalidate();
+        index.clear(getName());
+        return present;
+    }
+
+    /**
+     * Returns a snapshot of this cache's counters.
+     *
+     * @return the cache statistics
+     */
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(getName(), hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    @SuppressWarnings("unchecked")
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> caffeine() {
+        return delegate.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?>
+                ? (com.github.benmanes.caffeine.cache.Cache<Object, Object>)
+                        delegate.getNativeCache()
+                : null;
+    }
+
+    private void track(Object key, Object value) {
+        index.register(getName(), key, EntityReferences.of(value),
+                value instanceof Slice<?> || value instanceof CursorPage<?>);
+    }
+}
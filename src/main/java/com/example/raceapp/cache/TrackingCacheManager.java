@@ -0,0 +1,56 @@
+package com.example.raceapp.cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Cache manager decorator that wraps every cache of the delegate manager
+ * in a {@link TrackingCache} sharing one {@link CacheDependencyIndex}.
+ */
+public class TrackingCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final CacheDependencyIndex index;
+    private final Map<String, TrackingCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a tracking decorator.
+     *
+     * @param delegate the cache manager creating the actual caches
+     * @param index    the shared dependency index
+     */
+    public TrackingCacheManager(CacheManager delegate, CacheDependencyIndex index) {
+        this.delegate = delegate;
+        this.index = index;
+    }
+
+    @Override
+    public TrackingCache getCache(String name) {
+        TrackingCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, n -> new TrackingCache(target, index));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    /**
+     * Returns the dependency index shared by all caches.
+     *
+     * @return the dependency index
+     */
+    public CacheDependencyIndex getIndex() {
+        return index;
+    }
+}
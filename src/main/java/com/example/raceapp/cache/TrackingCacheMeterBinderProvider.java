@@ -0,0 +1,21 @@
+package com.example.raceapp.cache;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+
+/**
+ * Publishes the native Caffeine statistics of {@link TrackingCache} instances
+ * as {@code cache.*} metrics, since actuator only recognises bare Caffeine caches.
+ */
+public class TrackingCacheMeterBinderProvider implements CacheMeterBinderProvider<TrackingCache> {
+
+    @Override
+    public MeterBinder getMeterBinder(TrackingCache cache, Iterable<Tag> tags) {
+        if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+            return new CaffeineCacheMetrics<>(nativeCache, cache.getName(), tags);
+        }
+        return null;
+    }
+}
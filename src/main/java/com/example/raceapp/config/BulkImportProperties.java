@@ -0,0 +1,37 @@
+package com.example.raceapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the streaming bulk import endpoints, bound from {@code app.bulk.*}.
+ */
+@ConfigurationProperties(prefix = "app.bulk")
+public class BulkImportProperties {
+
+    /**
+     * Number of valid rows written per transaction.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Upper bound of the row errors listed in a response. Further failures are
+     * only counted, so the response stays small for any payload.
+     */
+    private int maxReportedErrors = 1000;
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxReportedErrors() {
+        return maxReportedErrors;
+    }
+
+    public void setMaxReportedErrors(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+}
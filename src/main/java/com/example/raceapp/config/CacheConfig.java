@@ -0,0 +1,81 @@
+package com.example.raceapp.config;
+
+import com.example.raceapp.cache.CacheDependencyIndex;
+import com.example.raceapp.cache.EntityType;
+import com.example.raceapp.cache.PageableKeyGenerator;
+import com.example.raceapp.cache.ResponseWeigher;
+import com.example.raceapp.cache.TrackingCacheManager;
+import com.example.raceapp.cache.TrackingCacheMeterBinderProvider;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the application caches. Every cache is bounded by the
+ * estimated weight of its responses and by an expiry, and records statistics
+ * that are published through the actuator metrics endpoint. Query results are
+ * keyed by {@link PageableKeyGenerator} unless a method declares its own key.
+ */
+@Configuration
+@EnableConfigurationProperties(CacheSpecProperties.class)
+public class CacheConfig implements CachingConfigurer {
+
+    @Override
+    public KeyGenerator keyGenerator() {
+        return new PageableKeyGenerator();
+    }
+
+    /**
+     * Cache manager tracking which entities every cached entry renders,
+     * so writes can evict only the affected entries.
+     *
+     * @param properties the per-cache bounds
+     * @return the tracking cache manager
+     */
+    @Bean
+    public TrackingCacheManager cacheManager(CacheSpecProperties properties) {
+        CacheDependencyIndex index = new CacheDependencyIndex();
+        List<String> names = Arrays.stream(EntityType.values())
+                .flatMap(type -> Stream.of(type.getCacheName(), type.getQueryCacheName()))
+                .toList();
+
+        CaffeineCacheManager caffeine = new CaffeineCacheManager();
+        caffeine.setCacheNames(names);
+        for (String name : names) {
+            caffeine.registerCustomCache(name, buildCache(name, properties.getSpec(name), index));
+        }
+        return new TrackingCacheManager(caffeine, index);
+    }
+
+    /**
+     * Binds the Caffeine statistics of the tracked caches to actuator metrics.
+     *
+     * @return the meter binder provider
+     */
+    @Bean
+    public TrackingCacheMeterBinderProvider trackingCacheMeterBinderProvider() {
+        return new TrackingCacheMeterBinderProvider();
+    }
+
+    private static Cache<Object, Object> buildCache(String name, CacheSpecProperties.Spec spec,
+                                                    CacheDependencyIndex index) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumWeight(spec.getMaximumWeight().toBytes())
+                .weigher(new ResponseWeigher())
+                .expireAfterWrite(spec.getExpireAfterWrite())
+                .recordStats()
+                .evictionListener((key, value, cause) -> index.remove(name, key));
+        if (spec.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(spec.getExpireAfterAccess());
+        }
+        return builder.build();
+    }
+}
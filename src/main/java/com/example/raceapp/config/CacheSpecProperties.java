@@ -0,0 +1,79 @@
+package com.example.raceapp.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Bounds of the application caches, bound from {@code app.cache.*}.
+ * Caches without an explicit entry in {@code specs} use the defaults of {@link Spec}.
+ */
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheSpecProperties {
+
+    private Map<String, Spec> specs = new LinkedHashMap<>();
+
+    public Map<String, Spec> getSpecs() {
+        return specs;
+    }
+
+    public void setSpecs(Map<String, Spec> specs) {
+        this.specs = specs;
+    }
+
+    /**
+     * Returns the bounds configured for a cache, or the defaults if there are none.
+     *
+     * @param cacheName the cache name
+     * @return the cache bounds
+     */
+    public Spec getSpec(String cacheName) {
+        return specs.getOrDefault(cacheName, new Spec());
+    }
+
+    /**
+     * Bounds of a single cache.
+     */
+    public static class Spec {
+        /**
+         * Upper bound of the estimated heap held by the cached responses.
+         */
+        private DataSize maximumWeight = DataSize.ofMegabytes(16);
+
+        /**
+         * Time after which an entry is dropped regardless of use.
+         */
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+        /**
+         * Optional time after which an entry that has not been read is dropped.
+         */
+        private Duration expireAfterAccess;
+
+        public DataSize getMaximumWeight() {
+            return maximumWeight;
+        }
+
+        public void setMaximumWeight(DataSize maximumWeight) {
+            this.maximumWeight = maximumWeight;
+        }
+
+        public Duration getExpireAfterWrite() {
+            return expireAfterWrite;
+        }
+
+        public void setExpireAfterWrite(Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+
+        public Duration getExpireAfterAccess() {
+            return expireAfterAccess;
+        }
+
+        public void setExpireAfterAccess(Duration expireAfterAccess) {
+            this.expireAfterAccess = expireAfterAccess;
+        }
+    }
+}
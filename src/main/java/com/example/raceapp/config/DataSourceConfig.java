@@ -0,0 +1,82 @@
+package com.example.raceapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Configuration routing read-only transactions to a read-only connection.
+ *
+ * <p>The application data source is wrapped in a {@link LazyConnectionDataSourceProxy},
+ * which fetches the physical connection only when the first statement runs, after the
+ * transaction manager has marked it read-only. Read-only transactions then get a
+ * connection of the replica configured in {@link ReadReplicaProperties}, or a primary
+ * connection with the read-only flag applied when no replica is configured.
+ *
+ * <p>The query methods of the services run in read-only transactions. Besides picking
+ * the connection, Hibernate executes them without flushing and without keeping
+ * snapshots of the loaded entities for dirty checking.
+ */
+@Configuration
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class DataSourceConfig {
+
+    @Bean
+    static ReadOnlyRoutingPostProcessor readOnlyRoutingPostProcessor(
+            ObjectProvider<ReadReplicaProperties> properties) {
+        return new ReadOnlyRoutingPostProcessor(properties);
+    }
+
+    /**
+     * Wraps the application data source once it is initialized and closes the replica
+     * pool with the context.
+     */
+    static final class ReadOnlyRoutingPostProcessor implements BeanPostProcessor,
+            DisposableBean {
+        private static final String DATA_SOURCE_BEAN = "dataSource";
+
+        private final ObjectProvider<ReadReplicaProperties> properties;
+        private HikariDataSource replica;
+
+        private ReadOnlyRoutingPostProcessor(ObjectProvider<ReadReplicaProperties> properties) {
+            this.properties = properties;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource dataSource)
+                    || bean instanceof LazyConnectionDataSourceProxy) {
+                return bean;
+            }
+            LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(dataSource);
+            ReadReplicaProperties settings = properties.getObject();
+            if (settings.getUrl() != null && !settings.getUrl().isBlank()) {
+                replica = DataSourceBuilder.create()
+                        .type(HikariDataSource.class)
+                        .url(settings.getUrl())
+                        .username(settings.getUsername())
+                        .password(settings.getPassword())
+                        .build();
+                replica.setPoolName("read-replica");
+                replica.setReadOnly(true);
+                replica.setMaximumPoolSize(settings.getMaximumPoolSize());
+                proxy.setReadOnlyDataSource(replica);
+            }
+            return proxy;
+        }
+
+        @Override
+        public void destroy() {
+            if (replica != null) {
+                replica.close();
+            }
+        }
+    }
+}
@@ -1,21 +1,27 @@
 package com.example.raceapp.config;
 
 import com.example.raceapp.filter.VisitCounterFilter;
+import com.example.raceapp.service.EndpointMetricsService;
 import com.example.raceapp.service.VisitCounterService;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import java.util.List;
 
 @Configuration
+@EnableConfigurationProperties(VisitProperties.class)
 public class FilterConfig {
     private static final List<String> EXCLUDED_URLS = List.of(
             "/api/logs",
+            "/api/cache",
+            "/actuator",
             "/swagger",
             "/v3/api-docs"
     );
 
     @Bean
-    public VisitCounterFilter visitCounterFilter(VisitCounterService visitCounterService) {
-        return new VisitCounterFilter(visitCounterService, EXCLUDED_URLS);
+    public VisitCounterFilter visitCounterFilter(VisitCounterService visitCounterService,
+            EndpointMetricsService endpointMetricsService) {
+        return new VisitCounterFilter(visitCounterService, endpointMetricsService, EXCLUDED_URLS);
     }
 }
\ No newline at end of file
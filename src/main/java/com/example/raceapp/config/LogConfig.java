@@ -0,0 +1,39 @@
+package com.example.raceapp.config;
+
+import com.example.raceapp.log.LogArchive;
+import com.example.raceapp.log.LogIndex;
+import java.nio.file.Paths;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the indexed access to the application log and its archive.
+ */
+@Configuration
+@EnableConfigurationProperties(LogProperties.class)
+public class LogConfig {
+
+    /**
+     * Index of the application log file. Entries already persisted by a previous
+     * run are reused, so only the part of the log written since then is scanned.
+     *
+     * @param properties log settings.
+     * @return index of the configured log file.
+     */
+    @Bean
+    public LogIndex logIndex(LogProperties properties) {
+        return new LogIndex(Paths.get(properties.getFile()), Paths.get(properties.getIndexFile()));
+    }
+
+    /**
+     * Rolled-over parts of the application log, located next to the active file.
+     *
+     * @param properties log settings.
+     * @return archive of the configured log file.
+     */
+    @Bean
+    public LogArchive logArchive(LogProperties properties) {
+        return new LogArchive(Paths.get(properties.getFile()));
+    }
+}
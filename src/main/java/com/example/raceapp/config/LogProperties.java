@@ -0,0 +1,120 @@
+package com.example.raceapp.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings of the log download and generation endpoints, bound from {@code app.logs.*}.
+ */
+@ConfigurationProperties(prefix = "app.logs")
+public class LogProperties {
+
+    /**
+     * Active application log file written by the rolling file appender. Closed parts are
+     * expected next to it, named like {@code application.<yyyy-MM-dd>.<n>.log.gz} for
+     * {@code application.log}.
+     */
+    private String file = "logs/application.log";
+
+    /**
+     * Sparse hour index of the log file. Defaults to the log file name with an
+     * {@code .idx} suffix.
+     */
+    private String indexFile;
+
+    private final Generation generation = new Generation();
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public String getIndexFile() {
+        return indexFile != null ? indexFile : file + ".idx";
+    }
+
+    public void setIndexFile(String indexFile) {
+        this.indexFile = indexFile;
+    }
+
+    public Generation getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Settings of the background log generation tasks.
+     */
+    public static class Generation {
+
+        /**
+         * Number of tasks running at the same time.
+         */
+        private int threads = 2;
+
+        /**
+         * Number of tasks waiting for a thread. Further requests are rejected with
+         * 429 Too Many Requests.
+         */
+        private int queueCapacity = 16;
+
+        /**
+         * Time after which a task that has not finished is failed.
+         */
+        private Duration timeout = Duration.ofMinutes(5);
+
+        /**
+         * Directory the generated log files are written to.
+         */
+        private String directory = "logs/generated";
+
+        /**
+         * Upper bound of the total size of the generated files of closed days kept
+         * for reuse.
+         */
+        private DataSize cacheMaximumSize = DataSize.ofMegabytes(256);
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public DataSize getCacheMaximumSize() {
+            return cacheMaximumSize;
+        }
+
+        public void setCacheMaximumSize(DataSize cacheMaximumSize) {
+            this.cacheMaximumSize = cacheMaximumSize;
+        }
+    }
+}
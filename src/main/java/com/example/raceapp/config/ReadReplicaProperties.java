@@ -0,0 +1,58 @@
+package com.example.raceapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Connection settings of an optional read replica, bound from
+ * {@code app.datasource.read-replica.*}. Read-only transactions use it when a URL is set.
+ */
+@ConfigurationProperties(prefix = "app.datasource.read-replica")
+public class ReadReplicaProperties {
+
+    /**
+     * JDBC URL of the replica. When unset, read-only transactions use the primary
+     * database on a connection flagged read-only.
+     */
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    /**
+     * Maximum number of pooled connections to the replica.
+     */
+    private int maximumPoolSize = 10;
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    public void setMaximumPoolSize(int maximumPoolSize) {
+        this.maximumPoolSize = maximumPoolSize;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.raceapp.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the sampled method tracing.
+ */
+@Configuration
+@EnableConfigurationProperties(TracingProperties.class)
+public class TracingConfig {
+}
@@ -0,0 +1,67 @@
+package com.example.raceapp.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the method tracing done by {@code LoggingAspect}, bound from
+ * {@code app.tracing.*}.
+ *
+ * <p>Whether a traced call is logged at all, with its timing only or with its arguments
+ * and result, follows the level of the {@code trace.<class name>} logger, so it can be
+ * changed per package at runtime through {@code /actuator/loggers}.
+ */
+@ConfigurationProperties(prefix = "app.tracing")
+public class TracingProperties {
+
+    /**
+     * Fraction of the calls of a method that are traced, between 0 and 1.
+     */
+    private double sampleRate = 0.01;
+
+    /**
+     * Sampling rates overriding {@code sampleRate} for single methods, keyed by the
+     * simple class name and method name, such as {@code CarService.getCarById}.
+     */
+    private Map<String, Double> methodSampleRates = new HashMap<>();
+
+    /**
+     * Maximum number of characters an argument or result is rendered with.
+     */
+    private int maxArgumentLength = 256;
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public Map<String, Double> getMethodSampleRates() {
+        return methodSampleRates;
+    }
+
+    public void setMethodSampleRates(Map<String, Double> methodSampleRates) {
+        this.methodSampleRates = methodSampleRates;
+    }
+
+    public int getMaxArgumentLength() {
+        return maxArgumentLength;
+    }
+
+    public void setMaxArgumentLength(int maxArgumentLength) {
+        this.maxArgumentLength = maxArgumentLength;
+    }
+
+    /**
+     * Returns the sampling rate of a method.
+     *
+     * @param method simple class name and method name, such as {@code CarService.getCarById}.
+     * @return the configured rate of the method, or the default rate.
+     */
+    public double sampleRateOf(String method) {
+        return methodSampleRates.getOrDefault(method, sampleRate);
+    }
+}
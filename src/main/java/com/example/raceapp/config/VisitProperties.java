@@ -0,0 +1,132 @@
+package com.example.raceapp.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the visit statistics, bound from {@code app.visits.*}.
+ */
+@ConfigurationProperties(prefix = "app.visits")
+public class VisitProperties {
+
+    /**
+     * Target relative standard error of the unique client count. The memory of the
+     * estimate grows with the inverse square of this bound: 0.01 takes 16 KB.
+     */
+    private double uniqueError = 0.01;
+
+    /**
+     * Target relative standard error of the unique client count of every time series
+     * bucket. Each of the 199 buckets takes 1 KB at the default of 0.04.
+     */
+    private double bucketUniqueError = 0.04;
+
+    /**
+     * Number of clients tracked by the top clients ranking.
+     */
+    private int topClientsCapacity = 100;
+
+    /**
+     * Bound on the overestimate of a client's visit count, as a fraction of all visits.
+     * The counters take {@code 5 * 8 * 2^ceil(log2(e / error))} bytes: 160 KB at 0.001.
+     */
+    private double topClientsError = 0.001;
+
+    private final Snapshot snapshot = new Snapshot();
+
+    public double getUniqueError() {
+        return uniqueError;
+    }
+
+    public void setUniqueError(double uniqueError) {
+        this.uniqueError = uniqueError;
+    }
+
+    public double getBucketUniqueError() {
+        return bucketUniqueError;
+    }
+
+    public void setBucketUniqueError(double bucketUniqueError) {
+        this.bucketUniqueError = bucketUniqueError;
+    }
+
+    public int getTopClientsCapacity() {
+        return topClientsCapacity;
+    }
+
+    public void setTopClientsCapacity(int topClientsCapacity) {
+        this.topClientsCapacity = topClientsCapacity;
+    }
+
+    public double getTopClientsError() {
+        return topClientsError;
+    }
+
+    public void setTopClientsError(double topClientsError) {
+        this.topClientsError = topClientsError;
+    }
+
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Settings of the periodic snapshots of the lifetime counters.
+     */
+    public static class Snapshot {
+
+        /**
+         * Whether counters are saved periodically and restored on startup.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Directory shared by the instances for their snapshot files.
+         */
+        private String directory = "data/visits";
+
+        /**
+         * Time between two snapshots. Visits of at most this long are lost on a crash.
+         */
+        private Duration interval = Duration.ofMinutes(1);
+
+        /**
+         * Name of this instance's snapshot file, required when snapshots are enabled. It
+         * must be stable across restarts and distinct for every instance sharing the
+         * directory.
+         */
+        private String instanceId;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public Duration getInterval() {
+            return interval;
+        }
+
+        public void setInterval(Duration interval) {
+            this.interval = interval;
+        }
+
+        public String getInstanceId() {
+            return instanceId;
+        }
+
+        public void setInstanceId(String instanceId) {
+            this.instanceId = instanceId;
+        }
+    }
+}
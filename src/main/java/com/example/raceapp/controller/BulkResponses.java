@@ -0,0 +1,33 @@
+package com.example.raceapp.controller;
+
+import com.example.raceapp.dto.BulkImportResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Maps the outcome of a bulk import to its HTTP response.
+ */
+final class BulkResponses {
+
+    private BulkResponses() {
+    }
+
+    /**
+     * Returns 201 when every row was written, 400 when none was, and
+     * 207 Multi-Status when only some rows were rejected.
+     *
+     * @param result the outcome of the import
+     * @return the response carrying the outcome
+     */
+    static ResponseEntity<BulkImportResponse> of(BulkImportResponse result) {
+        HttpStatus status;
+        if (result.getFailed() == 0) {
+            status = HttpStatus.CREATED;
+        } else if (result.getCreated() == 0) {
+            status = HttpStatus.BAD_REQUEST;
+        } else {
+            status = HttpStatus.MULTI_STATUS;
+        }
+        return ResponseEntity.status(status).body(result);
+    }
+}
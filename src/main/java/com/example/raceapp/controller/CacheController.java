@@ -0,0 +1,31 @@
+package com.example.raceapp.controller;
+
+import com.example.raceapp.cache.CacheInvalidator;
+import com.example.raceapp.cache.CacheStatistics;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller exposing cache effectiveness counters.
+ */
+@RestController
+@RequestMapping("/api/cache")
+@Tag(name = "Cache API", description = "Cache statistics")
+public class CacheController {
+
+    private final CacheInvalidator cacheInvalidator;
+
+    public CacheController(CacheInvalidator cacheInvalidator) {
+        this.cacheInvalidator = cacheInvalidator;
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Get hit, miss and eviction counts per cache")
+    public List<CacheStatistics> getStats() {
+        return cacheInvalidator.getStatistics();
+    }
+}
@@ -1,20 +1,29 @@
 package com.example.raceapp.controller;
 
+import com.example.raceapp.dto.BulkImportResponse;
 import com.example.raceapp.dto.CarDto;
 import com.example.raceapp.dto.CarResponse;
+import com.example.raceapp.dto.CursorPage;
 import com.example.raceapp.exception.NotFoundException;
+import com.example.raceapp.service.BatchReadService;
+import com.example.raceapp.service.BulkImportService;
 import com.example.raceapp.service.CarService;
+import com.example.raceapp.service.ExportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.InputStream;
+import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -26,6 +35,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Controller for managing car entities.
@@ -37,10 +47,17 @@ import org.springframework.web.bind.annotation.RestController;
 public class CarController {
     public static final String CAR_NOT_FOUND = "Car not found";
     private final CarService carService;
+    private final BulkImportService bulkImportService;
+    private final ExportService exportService;
+    private final BatchReadService batchReadService;
 
     @Autowired
-    public CarController(CarService carService) {
+    public CarController(CarService carService, BulkImportService bulkImportService,
+                         ExportService exportService, BatchReadService batchReadService) {
         this.carService = carService;
+        this.bulkImportService = bulkImportService;
+        this.exportService = exportService;
+        this.batchReadService = batchReadService;
     }
 
     /**
@@ -79,6 +96,41 @@ public class CarController {
         return ResponseEntity.status(HttpStatus.CREATED).body(carService.createCar(carDto));
     }
 
+    /**
+     * Creates cars from a JSON array streamed from the request body.
+     *
+     * @param body the request body, a JSON array of cars or an object
+     *             with a {@code cars} array
+     * @return ResponseEntity containing the outcome of the import
+     */
+    @Operation(
+            summary = "Bulk create cars",
+            description = "Creates cars from a JSON array, or from the \"cars\" array of a JSON"
+                    + " object. The body is parsed incrementally and valid rows are written in"
+                    + " batched transactions; invalid rows are reported by their position.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Cars data",
+                    content = @Content(
+                            schema = @Schema(example = "{ \"cars\": [{ \"brand\": \"Red Bull\", "
+                                    + "\"model\": \"RB25\", \"power\": 980, \"ownerId\": 3 }] }")
+                    )
+            ),
+            responses = {
+                @ApiResponse(responseCode = "201", description = "All cars created",
+                            content = @Content(schema = @Schema(implementation =
+                                    BulkImportResponse.class))),
+                @ApiResponse(responseCode = "207", description = "Some cars rejected",
+                            content = @Content(schema = @Schema(implementation =
+                                    BulkImportResponse.class))),
+                @ApiResponse(responseCode = "400", description = "No car created",
+                            content = @Content(schema = @Schema(implementation =
+                                    BulkImportResponse.class)))
+            })
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkImportResponse> createCarsBulk(InputStream body) {
+        return BulkResponses.of(bulkImportService.importCars(body));
+    }
+
     /**
      * Returns cars with power greater than the specified value.
      *
@@ -112,6 +164,39 @@ public class CarController {
         return ResponseEntity.ok(carService.getCarsByPower(minPower, pageable));
     }
 
+    /**
+     * Returns cars with power greater than the specified value using keyset pagination.
+     *
+     * @param minPower The minimum power of the cars.
+     * @param after The cursor of the previous page, empty for the first page.
+     * @param size The page size.
+     * @return ResponseEntity with a cursor page of cars ordered by power and ID.
+     */
+    @Operation(
+            summary = "Get cars by minimum power with keyset pagination",
+            description = "Returns cars with power greater than the specified value in"
+                    + " ascending order of power and ID, without a total count. Selected"
+                    + " when the 'after' parameter is present.",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Cars retrieved",
+                            content = @Content(schema = @Schema(implementation =
+                                    CursorPage.class))),
+                @ApiResponse(responseCode = "400", description = "Invalid cursor or size",
+                            content = @Content(schema = @Schema(example = "{ \"error\":"
+                                    + "\"Invalid cursor\" }")))
+            }
+    )
+    @GetMapping(value = "/by-power", params = "after")
+    public ResponseEntity<CursorPage<CarResponse>> getCarsByPowerAfter(
+            @RequestParam Integer minPower,
+            @Parameter(description = "Cursor of the previous page, empty for the first page",
+                    required = true)
+            @RequestParam String after,
+            @Parameter(description = "Page size", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(carService.getCarsByPowerAfter(minPower, after, size));
+    }
+
     /**
      * Returns a list of cars with optional filters.
      *
@@ -151,6 +236,94 @@ public class CarController {
                 model, power, ownerId, pageable));
     }
 
+    /**
+     * Returns cars with optional filters using keyset pagination.
+     *
+     * @param brand The brand of the car.
+     * @param model The model of the car.
+     * @param power The power of the car.
+     * @param ownerId The owner ID of the car.
+     * @param after The cursor of the previous page, empty for the first page.
+     * @param size The page size.
+     * @return ResponseEntity with a cursor page of cars ordered by ID.
+     */
+    @Operation(
+            summary = "Get cars with filters and keyset pagination",
+            description = "Returns cars with optional filters in ascending ID order, without"
+                    + " a total count. Selected when the 'after' parameter is present.",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Cars retrieved",
+                            content = @Content(schema = @Schema(implementation =
+                                    CursorPage.class))),
+                @ApiResponse(responseCode = "400", description = "Invalid cursor or size",
+                            content = @Content(schema = @Schema(example = "{ \"error\":"
+                                    + "\"Invalid cursor\" }")))
+            }
+    )
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPage<CarResponse>> getCarsAfter(
+            @RequestParam(required = false) String brand,
+            @RequestParam(required = false) String model,
+            @RequestParam(required = false) Integer power,
+            @RequestParam(required = false) Long ownerId,
+            @Parameter(description = "Cursor of the previous page, empty for the first page",
+                    required = true)
+            @RequestParam String after,
+            @Parameter(description = "Page size", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(carService.searchCarsAfter(brand, model, power, ownerId,
+                after, size));
+    }
+
+    /**
+     * Streams all cars as newline-delimited JSON, one CarResponse per line.
+     *
+     * @return ResponseEntity whose body writes the cars while they are read
+     */
+    @Operation(
+            summary = "Export all cars",
+            description = "Streams every car as newline-delimited JSON in ascending ID order"
+                    + " from a single read-only database pass, without pagination.",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Cars streamed",
+                            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    schema = @Schema(implementation = CarResponse.class)))
+            }
+    )
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportCars() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(exportService::exportCars);
+    }
+
+    /**
+     * Retrieves several cars by their IDs in one request.
+     *
+     * @param ids the IDs of the cars to retrieve
+     * @return the cars found, in the order of the IDs
+     */
+    @Operation(
+            summary = "Get cars by IDs",
+            description = "Returns the cars with the given IDs in the order of the IDs,"
+                    + " skipping IDs that do not exist. Cached cars are read with one bulk"
+                    + " lookup and the others are loaded together.",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Cars retrieved",
+                            content = @Content(array = @ArraySchema(schema = @Schema(
+                                    implementation = CarResponse.class)))),
+                @ApiResponse(responseCode = "400", description = "No or too many IDs",
+                            content = @Content(schema = @Schema(example = "{ \"error\":"
+                                    + "\"Between 1 and 1000 IDs must be given\" }")))
+            }
+    )
+    @GetMapping("/batch")
+    public List<CarResponse> getCarsBatch(
+            @Parameter(description = "IDs of the cars", example = "1,2,3")
+            @RequestParam List<Long> ids) {
+        return batchReadService.getCars(ids);
+    }
+
     /**
      * Returns a single car by its ID.
      *
@@ -237,4 +410,32 @@ public class CarController {
     public void deleteCar(@PathVariable Long id) {
         carService.deleteCar(id);
     }
-}
\ No newline at end of file
+
+    /**
+     * Deletes several cars by their IDs.
+     *
+     * @param ids The IDs of the cars to delete.
+     */
+    @Operation(
+            summary = "Bulk delete cars",
+            description = "Deletes the cars with the given IDs and removes them from their"
+                    + " races in one transaction. Nothing is deleted if a car does not exist.",
+            responses = {
+                @ApiResponse(responseCode = "204", description = "Cars deleted"),
+                @ApiResponse(responseCode = "400", description = "No or too many IDs",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Between 1 and 1000 car IDs must be"
+                                            + " given\" }"))),
+                @ApiResponse(responseCode = "404", description = "Cars not found",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Cars not found: [7]\" }")))
+            }
+    )
+    @DeleteMapping("/bulk")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteCarsBulk(
+            @Parameter(description = "IDs of the cars", example = "1,2,3")
+            @RequestParam List<Long> ids) {
+        carService.deleteCars(ids);
+    }
+}
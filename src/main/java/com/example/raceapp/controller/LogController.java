@@ -1,9 +1,17 @@
 package com.example.raceapp.controller;
 
+import com.example.raceapp.dto.CursorPage;
+import com.example.raceapp.dto.LogEntry;
+import com.example.raceapp.dto.LogTaskStatus;
 import com.example.raceapp.exception.ApiException;
 import com.example.raceapp.exception.BadRequestException;
 import com.example.raceapp.exception.InternalServerException;
 import com.example.raceapp.exception.NotFoundException;
+import com.example.raceapp.log.GzipCompressingResource;
+import com.example.raceapp.log.LogArchiveResource;
+import com.example.raceapp.log.LogRegion;
+import com.example.raceapp.log.LogRegionResource;
+import com.example.raceapp.service.LogSearchService;
 import com.example.raceapp.service.LogService;
 import com.example.raceapp.service.LogTaskService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,7 +20,9 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -31,25 +41,39 @@ import java.util.concurrent.ExecutionException;
 @RequestMapping("/api/logs")
 @Tag(name = "Log API", description = "Get API Logs")
 public class LogController {
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
 
     private final LogService logService;
     private final LogTaskService logTaskService;
+    private final LogSearchService logSearchService;
 
     @Autowired
-    public LogController(LogService logService, LogTaskService logTaskService) {
+    public LogController(LogService logService, LogTaskService logTaskService,
+                         LogSearchService logSearchService) {
         this.logService = logService;
         this.logTaskService = logTaskService;
+        this.logSearchService = logSearchService;
     }
 
     /**
-     * Downloader of log file.
+     * Downloader of log file. The content is streamed from disk with a small buffer, and
+     * {@code Range} requests are answered with the requested bytes only. Clients accepting
+     * gzip get an archived day as the stored file and any other content compressed on the
+     * fly. Otherwise, when the container supports sendfile, the region of the log holding
+     * the requested date is handed to it and copied to the socket by the kernel.
      *
      * @param date requested date of logs.
+     * @param request current request, used to detect sendfile support.
      * @return log file.
      */
     @Operation(summary = "Download log file", responses = {
         @ApiResponse(responseCode = "200", description = "Log file retrieved",
                     content = @Content(schema = @Schema(type = "string", format = "binary"))),
+        @ApiResponse(responseCode = "206", description = "Requested range of the log file",
+                    content = @Content(schema = @Schema(type = "string", format = "binary"))),
         @ApiResponse(responseCode = "400", description = "Invalid date format",
                     content = @Content(schema = @Schema(example = "{ \"error\":"
                             + "\"Invalid date format\" }"))),
@@ -64,17 +88,13 @@ public class LogController {
     public ResponseEntity<Resource> downloadLogFile(
             @Parameter(description = "Date in dd.MM.yyyy format", required = true,
                     example = "01.01.2023")
-            @RequestParam String date) {
+            @RequestParam String date,
+            HttpServletRequest request) {
 
         try {
             Resource resource = logService.getLogFileForDate(date);
             String fileName = logService.parseDate(date).format(LogService.DATE_FORMATTER) + ".log";
-
-            return ResponseEntity.ok()
-                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\""
-                            + fileName + "\"")
-                    .body(resource);
+            return download(resource, fileName, request);
 
         } catch (BadRequestException | NotFoundException e) {
             throw e;
@@ -83,8 +103,64 @@ public class LogController {
         }
     }
 
+    /**
+     * Searches the log for entries matching all given filters, oldest first.
+     *
+     * @param from start of the time range, inclusive.
+     * @param to end of the time range, exclusive.
+     * @param level lowest level included.
+     * @param logger text the logger name must contain.
+     * @param text text the message must contain.
+     * @param regex whether {@code text} is a regular expression.
+     * @param after cursor of the previous page.
+     * @param size page size.
+     * @return a cursor page of log entries.
+     */
+    @Operation(summary = "Search log entries",
+            description = "Returns the entries of a time range, one day up to now by default,"
+                    + " filtered by minimum level, logger name and message text. Pages are"
+                    + " chained with the 'next' cursor.",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Entries retrieved",
+                            content = @Content(schema = @Schema(implementation =
+                                    CursorPage.class))),
+                @ApiResponse(responseCode = "400", description = "Invalid filter, cursor or size",
+                            content = @Content(schema = @Schema(example = "{ \"error\":"
+                                    + "\"Invalid level: TRACE2\" }")))
+            })
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<LogEntry>> searchLogs(
+            @Parameter(description = "Start of the range, inclusive",
+                    example = "2023-01-01T00:00:00")
+            @RequestParam(required = false) String from,
+            @Parameter(description = "End of the range, exclusive",
+                    example = "2023-01-02T00:00:00")
+            @RequestParam(required = false) String to,
+            @Parameter(description = "Lowest level included", example = "WARN")
+            @RequestParam(required = false) String level,
+            @Parameter(description = "Text the logger name must contain", example = "CarService")
+            @RequestParam(required = false) String logger,
+            @Parameter(description = "Text the message must contain")
+            @RequestParam(required = false) String text,
+            @Parameter(description = "Whether 'text' is a regular expression")
+            @RequestParam(defaultValue = "false") boolean regex,
+            @Parameter(description = "Cursor of the previous page, empty for the first page")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Page size", example = "100")
+            @RequestParam(defaultValue = "100") int size) {
+
+        LogSearchService.Query query =
+                logSearchService.parseQuery(from, to, level, logger, text, regex);
+        return ResponseEntity.ok(logSearchService.search(query, after, size));
+    }
+
     @PostMapping("/generate")
-    @Operation(summary = "Start log generation")
+    @Operation(summary = "Start log generation", responses = {
+        @ApiResponse(responseCode = "200", description = "Task queued"),
+        @ApiResponse(responseCode = "429", description = "Generation queue is full",
+                    content = @Content(schema = @Schema(example = "{ \"error\":"
+                            + "\"Log generation queue is full, retry later\" }")))
+    })
     public ResponseEntity<Map<String, String>> generateLog(
             @Parameter(description = "Date in dd.MM.yyyy format")
             @RequestParam String date) {
@@ -96,8 +172,8 @@ public class LogController {
     }
 
     @GetMapping("/status/{taskId}")
-    @Operation(summary = "Get task status")
-    public ResponseEntity<Map<String, String>> getStatus(
+    @Operation(summary = "Get task status and progress in bytes")
+    public ResponseEntity<LogTaskStatus> getStatus(
             @Parameter(description = "8-char task ID")
             @PathVariable String taskId) {
 
@@ -115,30 +191,71 @@ public class LogController {
                 throw new InternalServerException("Task failed: " + e.getMessage());
             }
         }
-        String status = logTaskService.getTaskStatus(taskId);
-        return ResponseEntity.ok(Collections.singletonMap(
-                "status", status
-        ));
+        return ResponseEntity.ok(logTaskService.getTaskProgress(taskId));
     }
 
     @GetMapping("/result/{taskId}")
     @Operation(summary = "Get generated log")
     public ResponseEntity<Resource> getResult(
             @Parameter(description = "8-char task ID")
-            @PathVariable String taskId) {
+            @PathVariable String taskId,
+            HttpServletRequest request) {
 
         try {
             Resource resource = logTaskService.getTaskResult(taskId);
             String filename = "logs_" + Instant.now().toString() + ".log";
-
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION,
-                            "attachment; filename=\"" + filename + "\"")
-                    .body(resource);
+            return download(resource, filename, request);
 
         } catch (IllegalStateException e) {
             throw new BadRequestException(e.getMessage());
         }
     }
 
+    /**
+     * Builds the response streaming a log resource. Range requests are left to Spring MVC,
+     * which answers them from the resource with 206 Partial Content.
+     */
+    private ResponseEntity<Resource> download(Resource resource, String fileName,
+                                              HttpServletRequest request) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\""
+                        + fileName + "\"")
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (request.getHeader(HttpHeaders.RANGE) != null) {
+            return response.body(resource);
+        }
+        if (acceptsGzip(request)) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            if (resource instanceof LogArchiveResource archive
+                    && archive.getGzipFile().isPresent()) {
+                return response.body(new FileSystemResource(archive.getGzipFile().get()));
+            }
+            return response.body(new GzipCompressingResource(resource));
+        }
+        if (resource instanceof LogRegionResource regionResource
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            LogRegion region = regionResource.getRegion();
+            request.setAttribute(SENDFILE_FILENAME, region.file().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, region.position());
+            request.setAttribute(SENDFILE_END, region.end());
+            return response.contentLength(region.length()).build();
+        }
+        return response.body(resource);
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.trim().split(";");
+            if (parameters[0].trim().equalsIgnoreCase("gzip")) {
+                return parameters.length == 1
+                        || !parameters[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
 }
@@ -1,9 +1,13 @@
 package com.example.raceapp.controller;
 
-import com.example.raceapp.dto.PilotBulkRequest;
+import com.example.raceapp.dto.BulkImportResponse;
+import com.example.raceapp.dto.CursorPage;
 import com.example.raceapp.dto.PilotDto;
 import com.example.raceapp.dto.PilotResponse;
 import com.example.raceapp.exception.NotFoundException;
+import com.example.raceapp.service.BatchReadService;
+import com.example.raceapp.service.BulkImportService;
+import com.example.raceapp.service.ExportService;
 import com.example.raceapp.service.PilotService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,11 +17,13 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.InputStream;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -29,6 +35,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Controller for managing pilot entities.
@@ -40,10 +47,17 @@ import org.springframework.web.bind.annotation.RestController;
 public class PilotController {
     public static final String PILOT_NOT_FOUND = "Pilot not found";
     private final PilotService pilotService;
+    private final BulkImportService bulkImportService;
+    private final ExportService exportService;
+    private final BatchReadService batchReadService;
 
     @Autowired
-    public PilotController(PilotService pilotService) {
+    public PilotController(PilotService pilotService, BulkImportService bulkImportService,
+                           ExportService exportService, BatchReadService batchReadService) {
         this.pilotService = pilotService;
+        this.bulkImportService = bulkImportService;
+        this.exportService = exportService;
+        this.batchReadService = batchReadService;
     }
     /**
      * Creates a new pilot.
@@ -78,22 +92,39 @@ public class PilotController {
         return ResponseEntity.status(HttpStatus.CREATED).body(pilotService.createPilot(pilotDto));
     }
 
+    /**
+     * Creates pilots from a JSON array streamed from the request body.
+     *
+     * @param body the request body, a JSON array of pilots or an object
+     *             with a {@code pilots} array
+     * @return ResponseEntity containing the outcome of the import
+     */
     @Operation(
             summary = "Bulk create pilots",
-            description = "Creates multiple pilots in a single request",
+            description = "Creates pilots from a JSON array, or from the \"pilots\" array of a JSON"
+                    + " object. The body is parsed incrementally and valid rows are written in"
+                    + " batched transactions; invalid rows are reported by their position.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Pilots data",
+                    content = @Content(
+                            schema = @Schema(example = "{ \"pilots\": [{ \"name\": "
+                                    + "\"Max Verstappen\", \"age\": 30, \"experience\": 5 }] }")
+                    )
+            ),
             responses = {
-                @ApiResponse(responseCode = "201", description = "Pilots created",
-                            content = @Content(array = @ArraySchema(schema = @Schema(implementation
-                                    = PilotResponse.class)))),
-                @ApiResponse(responseCode = "400", description = "Invalid input",
-                            content = @Content(schema = @Schema(example = "{ \"error\":"
-                                    + "\"Validation failed\" }")))
+                @ApiResponse(responseCode = "201", description = "All pilots created",
+                            content = @Content(schema = @Schema(implementation =
+                                    BulkImportResponse.class))),
+                @ApiResponse(responseCode = "207", description = "Some pilots rejected",
+                            content = @Content(schema = @Schema(implementation =
+                                    BulkImportResponse.class))),
+                @ApiResponse(responseCode = "400", description = "No pilot created",
+                            content = @Content(schema = @Schema(implementation =
+                                    BulkImportResponse.class)))
             })
-    @PostMapping("/bulk")
-    public ResponseEntity<List<PilotResponse>> createPilotsBulk(
-            @Valid @RequestBody PilotBulkRequest bulkRequest) {
-        List<PilotResponse> responses = pilotService.createPilotsBulk(bulkRequest.getPilots());
-        return ResponseEntity.status(HttpStatus.CREATED).body(responses);
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkImportResponse> createPilotsBulk(InputStream body) {
+        return BulkResponses.of(bulkImportService.importPilots(body));
     }
 
     /**
@@ -130,6 +161,43 @@ public class PilotController {
                 age, experience, pageable));
     }
 
+    /**
+     * Retrieves pilots with optional filters using keyset pagination.
+     *
+     * @param name       optional filter by pilot name
+     * @param age        optional filter by pilot age
+     * @param experience optional filter by pilot experience
+     * @param after      the cursor of the previous page, empty for the first page
+     * @param size       the page size
+     * @return ResponseEntity containing a cursor page of pilots ordered by ID
+     */
+    @Operation(
+            summary = "Get pilots with optional filters and keyset pagination",
+            description = "Returns pilots with optional filters in ascending ID order, without"
+                    + " a total count. Selected when the 'after' parameter is present.",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Pilots retrieved",
+                            content = @Content(schema = @Schema(implementation =
+                                    CursorPage.class))),
+                @ApiResponse(responseCode = "400", description = "Invalid cursor or size",
+                            content = @Content(schema = @Schema(example = "{ \"error\":"
+                                    + "\"Invalid cursor\" }")))
+            }
+    )
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPage<PilotResponse>> getPilotsAfter(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) Integer age,
+            @RequestParam(required = false) Integer experience,
+            @Parameter(description = "Cursor of the previous page, empty for the first page",
+                    required = true)
+            @RequestParam String after,
+            @Parameter(description = "Page size", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(pilotService.searchPilotsAfter(name, age, experience,
+                after, size));
+    }
+
     /**
      * Retrieves pilots filtered by car brand.
      *
@@ -154,6 +222,55 @@ public class PilotController {
         return ResponseEntity.ok(pilotService.getPilotsByCarBrandNative(brand, pageable));
     }
 
+    /**
+     * Streams all pilots as newline-delimited JSON, one PilotResponse per line.
+     *
+     * @return ResponseEntity whose body writes the pilots while they are read
+     */
+    @Operation(
+            summary = "Export all pilots",
+            description = "Streams every pilot as newline-delimited JSON in ascending ID order"
+                    + " from a single read-only database pass, without pagination.",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Pilots streamed",
+                            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    schema = @Schema(implementation = PilotResponse.class)))
+            }
+    )
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPilots() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(exportService::exportPilots);
+    }
+
+    /**
+     * Retrieves several pilots by their IDs in one request.
+     *
+     * @param ids the IDs of the pilots to retrieve
+     * @return the pilots found, in the order of the IDs
+     */
+    @Operation(
+            summary = "Get pilots by IDs",
+            description = "Returns the pilots with the given IDs in the order of the IDs,"
+                    + " skipping IDs that do not exist. Cached pilots are read with one bulk"
+                    + " lookup and the others are loaded together.",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Pilots retrieved",
+                            content = @Content(array = @ArraySchema(schema = @Schema(
+                                    implementation = PilotResponse.class)))),
+                @ApiResponse(responseCode = "400", description = "No or too many IDs",
+                            content = @Content(schema = @Schema(example = "{ \"error\":"
+                                    + "\"Between 1 and 1000 IDs must be given\" }")))
+            }
+    )
+    @GetMapping("/batch")
+    public List<PilotResponse> getPilotsBatch(
+            @Parameter(description = "IDs of the pilots", example = "1,2,3")
+            @RequestParam List<Long> ids) {
+        return batchReadService.getPilots(ids);
+    }
+
     /**
      * Retrieves a single pilot by their ID.
      *
@@ -226,4 +343,32 @@ public class PilotController {
     public void deletePilot(@PathVariable Long id) {
         pilotService.deletePilot(id);
     }
+
+    /**
+     * Deletes several pilots by their IDs.
+     *
+     * @param ids the IDs of the pilots to delete
+     */
+    @Operation(
+            summary = "Bulk delete pilots",
+            description = "Deletes the pilots with the given IDs in one transaction. They and"
+                    + " their cars are removed from their races and the cars lose their owner."
+                    + " Nothing is deleted if a pilot does not exist.",
+            responses = {
+                @ApiResponse(responseCode = "204", description = "Pilots deleted"),
+                @ApiResponse(responseCode = "400", description = "No or too many IDs",
+                            content = @Content(schema = @Schema(example = "{ \"error\":"
+                                    + "\"Between 1 and 1000 pilot IDs must be given\" }"))),
+                @ApiResponse(responseCode = "404", description = "Pilots not found",
+                            content = @Content(schema = @Schema(example = "{ \"error\":"
+                                    + "\"Pilots not found: [7]\" }")))
+            }
+    )
+    @DeleteMapping("/bulk")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deletePilotsBulk(
+            @Parameter(description = "IDs of the pilots", example = "1,2,3")
+            @RequestParam List<Long> ids) {
+        pilotService.deletePilots(ids);
+    }
 }
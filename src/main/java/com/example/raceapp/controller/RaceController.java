@@ -1,20 +1,29 @@
 package com.example.raceapp.controller;
 
+import com.example.raceapp.dto.BulkImportResponse;
+import com.example.raceapp.dto.CursorPage;
 import com.example.raceapp.dto.RaceDto;
 import com.example.raceapp.dto.RaceResponse;
 import com.example.raceapp.exception.NotFoundException;
+import com.example.raceapp.service.BatchReadService;
+import com.example.raceapp.service.BulkImportService;
+import com.example.raceapp.service.ExportService;
 import com.example.raceapp.service.RaceService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.InputStream;
+import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -23,8 +32,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Controller for managing race entities.
@@ -36,10 +47,17 @@ import org.springframework.web.bind.annotation.RestController;
 public class RaceController {
     public static final String RACE_NOT_FOUND = "Race not found";
     private final RaceService raceService;
+    private final BulkImportService bulkImportService;
+    private final ExportService exportService;
+    private final BatchReadService batchReadService;
 
     @Autowired
-    public RaceController(RaceService raceService) {
+    public RaceController(RaceService raceService, BulkImportService bulkImportService,
+                          ExportService exportService, BatchReadService batchReadService) {
         this.raceService = raceService;
+        this.bulkImportService = bulkImportService;
+        this.exportService = exportService;
+        this.batchReadService = batchReadService;
     }
 
     /**
@@ -75,6 +93,42 @@ public class RaceController {
         return ResponseEntity.status(HttpStatus.CREATED).body(raceService.createRace(raceDto));
     }
 
+    /**
+     * Creates races from a JSON array streamed from the request body.
+     *
+     * @param body the request body, a JSON array of races or an object
+     *             with a {@code races} array
+     * @return ResponseEntity containing the outcome of the import
+     */
+    @Operation(
+            summary = "Bulk create races",
+            description = "Creates races from a JSON array, or from the \"races\" array of a JSON"
+                    + " object. The body is parsed incrementally and valid rows are written in"
+                    + " batched transactions; invalid rows are reported by their position.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Races data",
+                    content = @Content(
+                            schema = @Schema(example = "{ \"races\": [{ \"name\": "
+                                    + "\"Grand Prix Miami\", \"year\": 2025, "
+                                    + "\"pilotIds\": [1,3], \"carIds\": [1,3] }] }")
+                    )
+            ),
+            responses = {
+                @ApiResponse(responseCode = "201", description = "All races created",
+                            content = @Content(schema = @Schema(implementation =
+                                    BulkImportResponse.class))),
+                @ApiResponse(responseCode = "207", description = "Some races rejected",
+                            content = @Content(schema = @Schema(implementation =
+                                    BulkImportResponse.class))),
+                @ApiResponse(responseCode = "400", description = "No race created",
+                            content = @Content(schema = @Schema(implementation =
+                                    BulkImportResponse.class)))
+            })
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkImportResponse> createRacesBulk(InputStream body) {
+        return BulkResponses.of(bulkImportService.importRaces(body));
+    }
+
     /**
      * Retrieves all races with pagination support.
      *
@@ -97,6 +151,85 @@ public class RaceController {
         return ResponseEntity.ok(raceService.getAllRaces(pageable));
     }
 
+    /**
+     * Retrieves races using keyset pagination.
+     *
+     * @param after the cursor of the previous page, empty for the first page
+     * @param size the page size
+     * @return a cursor page of races ordered by ID
+     */
+    @Operation(
+            summary = "Get races with keyset pagination",
+            description = "Returns races in ascending ID order, without a total count."
+                    + " Selected when the 'after' parameter is present.",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Races retrieved",
+                            content = @Content(schema = @Schema(implementation =
+                                    CursorPage.class))),
+                @ApiResponse(responseCode = "400", description = "Invalid cursor or size",
+                            content = @Content(schema = @Schema(example = "{ \"error\":"
+                                    + "\"Invalid cursor\" }")))
+            }
+    )
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPage<RaceResponse>> getRacesAfter(
+            @Parameter(description = "Cursor of the previous page, empty for the first page",
+                    required = true)
+            @RequestParam String after,
+            @Parameter(description = "Page size", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(raceService.getRacesAfter(after, size));
+    }
+
+    /**
+     * Streams all races as newline-delimited JSON, one RaceResponse per line.
+     *
+     * @return ResponseEntity whose body writes the races while they are read
+     */
+    @Operation(
+            summary = "Export all races",
+            description = "Streams every race as newline-delimited JSON in ascending ID order"
+                    + " from a single read-only database pass, without pagination.",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Races streamed",
+                            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    schema = @Schema(implementation = RaceResponse.class)))
+            }
+    )
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportRaces() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(exportService::exportRaces);
+    }
+
+    /**
+     * Retrieves several races by their IDs in one request.
+     *
+     * @param ids the IDs of the races to retrieve
+     * @return the races found, in the order of the IDs
+     */
+    @Operation(
+            summary = "Get races by IDs",
+            description = "Returns the races with the given IDs in the order of the IDs,"
+                    + " skipping IDs that do not exist. Cached races are read with one bulk"
+                    + " lookup and the others are loaded together.",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Races retrieved",
+                            content = @Content(array = @ArraySchema(schema = @Schema(
+                                    implementation = RaceResponse.class)))),
+                @ApiResponse(responseCode = "400", description = "No or too many IDs",
+                            content = @Content(schema = @Schema(example = "{ \"error\":"
+                                    + "\"Between 1 and 1000 IDs must be given\" }")))
+            }
+    )
+    @GetMapping("/batch")
+    public List<RaceResponse> getRacesBatch(
+            @Parameter(description = "IDs of the races", example = "1,2,3")
+            @RequestParam List<Long> ids) {
+        return batchReadService.getRaces(ids);
+    }
+
     /**
      * Retrieves a single race by its ID.
      *
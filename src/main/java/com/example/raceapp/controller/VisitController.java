@@ -1,21 +1,96 @@
 package com.example.raceapp.controller;
 
+import com.example.raceapp.exception.BadRequestException;
+import com.example.raceapp.service.EndpointMetricsService;
 import com.example.raceapp.service.VisitCounterService;
+import com.example.raceapp.service.VisitSnapshotService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.convert.DurationStyle;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 @RequestMapping("/visits")
 public class VisitController {
     private final VisitCounterService visitCounterService;
+    private final EndpointMetricsService endpointMetricsService;
+    private final VisitSnapshotService visitSnapshotService;
 
-    public VisitController(VisitCounterService visitCounterService) {
+    public VisitController(VisitCounterService visitCounterService,
+                           EndpointMetricsService endpointMetricsService,
+                           VisitSnapshotService visitSnapshotService) {
         this.visitCounterService = visitCounterService;
+        this.endpointMetricsService = endpointMetricsService;
+        this.visitSnapshotService = visitSnapshotService;
     }
 
     @GetMapping("/stats")
     public VisitCounterService.VisitStats getStats() {
         return visitCounterService.getStats();
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the visits of a recent time window, bucket by bucket.
+     *
+     * @param window length of the window ending now, such as {@code 5m} or {@code 24h}.
+     * @param resolution length of the buckets; defaults to the finest one covering the window.
+     * @return visits of every bucket and their totals.
+     */
+    @GetMapping("/stats/timeseries")
+    @Operation(summary = "Get visits of a recent time window")
+    public VisitCounterService.VisitTimeSeries getTimeSeries(
+            @Parameter(description = "Window ending now, e.g. 5m, 24h or PT1H", example = "1h")
+            @RequestParam(defaultValue = "1h") String window,
+            @Parameter(description = "Bucket length: MINUTE, HOUR or DAY")
+            @RequestParam(required = false) VisitCounterService.Resolution resolution) {
+
+        Duration duration;
+        try {
+            duration = DurationStyle.detectAndParse(window);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid window: " + window);
+        }
+        return visitCounterService.getTimeSeries(duration, resolution);
+    }
+
+    /**
+     * Returns the clients with the most visits since startup.
+     *
+     * @param limit number of clients to return.
+     * @return estimated visit counts of the busiest clients and their error bound.
+     */
+    @GetMapping("/top-clients")
+    @Operation(summary = "Get the clients with the most visits")
+    public VisitCounterService.TopClients getTopClients(
+            @Parameter(description = "Number of clients", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+        return visitCounterService.getTopClients(limit);
+    }
+
+    /**
+     * Returns the lifetime visits of all instances sharing the snapshot directory.
+     *
+     * @return totals of this instance merged with the last snapshot of every other.
+     */
+    @GetMapping("/stats/cluster")
+    @Operation(summary = "Get visit statistics across all instances")
+    public VisitSnapshotService.ClusterVisitStats getClusterStats() {
+        return visitSnapshotService.getClusterStats();
+    }
+
+    /**
+     * Returns the request count and latency percentiles of every route.
+     *
+     * @return statistics per method, route pattern and status class, busiest first.
+     */
+    @GetMapping("/stats/endpoints")
+    @Operation(summary = "Get request counts and latency percentiles per route")
+    public List<EndpointMetricsService.EndpointStats> getEndpointStats() {
+        return endpointMetricsService.getEndpointStats();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.raceapp.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO summarizing the outcome of a bulk import.
+ */
+@Schema(description = "Outcome of a bulk import")
+public class BulkImportResponse {
+
+    @Schema(description = "Number of rows read from the request", example = "120000")
+    private long total;
+
+    @Schema(description = "Number of rows written", example = "119998")
+    private long created;
+
+    @Schema(description = "Number of rows rejected", example = "2")
+    private long failed;
+
+    @Schema(description = "Rejected rows in the order they were detected")
+    private List<BulkRowError> errors = new ArrayList<>();
+
+    @Schema(description = "Whether rejected rows were left out of the error list",
+            example = "false")
+    private boolean errorsTruncated;
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public void setCreated(long created) {
+        this.created = created;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public List<BulkRowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<BulkRowError> errors) {
+        this.errors = errors;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+}
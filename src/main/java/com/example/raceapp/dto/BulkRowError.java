@@ -0,0 +1,42 @@
+package com.example.raceapp.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.Map;
+
+/**
+ * DTO describing why a single row of a bulk import was rejected.
+ */
+@Schema(description = "Rejected row of a bulk import")
+public class BulkRowError {
+
+    @Schema(description = "Zero-based position of the row in the request array", example = "17")
+    private long index;
+
+    @Schema(description = "Error messages by field",
+            example = "{ \"age\": \"Age must be at least 18\" }")
+    private Map<String, String> errors;
+
+    public BulkRowError() {
+    }
+
+    public BulkRowError(long index, Map<String, String> errors) {
+        this.index = index;
+        this.errors = errors;
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    public void setIndex(long index) {
+        this.index = index;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(Map<String, String> errors) {
+        this.errors = errors;
+    }
+}
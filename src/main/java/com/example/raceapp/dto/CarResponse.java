@@ -22,6 +22,35 @@ public class CarResponse {
     @Schema(description = "Owner information")
     private PilotSimpleResponse owner;
 
+    public CarResponse() {
+    }
+
+    /**
+     * Creates a response from the columns of a car and its owner, as selected by
+     * projection queries.
+     *
+     * @param id              the car ID
+     * @param brand           the car brand
+     * @param model           the car model
+     * @param power           the car power
+     * @param ownerId         the owner ID, or {@code null} if the car has no owner
+     * @param ownerName       the owner name
+     * @param ownerExperience the owner experience
+     */
+    public CarResponse(Long id, String brand, String model, Integer power, Long ownerId,
+                       String ownerName, Integer ownerExperience) {
+        this.id = id;
+        this.brand = brand;
+        this.model = model;
+        this.power = power;
+        if (ownerId != null) {
+            owner = new PilotSimpleResponse();
+            owner.setId(ownerId);
+            owner.setName(ownerName);
+            owner.setExperience(ownerExperience);
+        }
+    }
+
     public Long getId() {
         return id;
     }
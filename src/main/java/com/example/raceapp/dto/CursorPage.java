@@ -0,0 +1,57 @@
+package com.example.raceapp.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * DTO for one page of a keyset-paginated query. Unlike a {@code Page}, it has
+ * no total count; the next page is requested with the {@code next} cursor.
+ *
+ * @param <T> the type of the page content
+ */
+@Schema(description = "Page of a keyset-paginated query")
+public class CursorPage<T> {
+
+    @Schema(description = "Items of the page")
+    private List<T> content;
+
+    @Schema(description = "Requested page size", example = "20")
+    private int size;
+
+    @Schema(description = "Opaque cursor to pass as 'after' for the next page, "
+            + "absent on the last page", example = "MTA0Mg")
+    private String next;
+
+    public CursorPage() {
+    }
+
+    public CursorPage(List<T> content, int size, String next) {
+        this.content = content;
+        this.size = size;
+        this.next = next;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public void setNext(String next) {
+        this.next = next;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.raceapp.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+
+/**
+ * DTO for one entry of the application log.
+ */
+@Schema(description = "Entry of the application log")
+public class LogEntry {
+
+    @Schema(description = "Time the entry was logged", example = "2023-01-01T10:15:30.123")
+    private LocalDateTime timestamp;
+
+    @Schema(description = "Thread that logged the entry", example = "http-nio-8080-exec-1")
+    private String thread;
+
+    @Schema(description = "Level of the entry", example = "ERROR")
+    private String level;
+
+    @Schema(description = "Logger name as written to the log, possibly abbreviated",
+            example = "c.e.raceapp.service.CarService")
+    private String logger;
+
+    @Schema(description = "Message, followed by continuation lines such as a stack trace",
+            example = "Car not found")
+    private String message;
+
+    public LogEntry() {
+    }
+
+    public LogEntry(LocalDateTime timestamp, String thread, String level, String logger,
+                    String message) {
+        this.timestamp = timestamp;
+        this.thread = thread;
+        this.level = level;
+        this.logger = logger;
+        this.message = message;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public String getThread() {
+        return thread;
+    }
+
+    public void setThread(String thread) {
+        this.thread = thread;
+    }
+
+    public String getLevel() {
+        return level;
+    }
+
+    public void setLevel(String level) {
+        this.level = level;
+    }
+
+    public String getLogger() {
+        return logger;
+    }
+
+    public void setLogger(String logger) {
+        this.logger = logger;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
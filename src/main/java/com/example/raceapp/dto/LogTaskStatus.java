@@ -0,0 +1,54 @@
+package com.example.raceapp.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO for the state and progress of a log generation task.
+ */
+@Schema(description = "State and progress of a log generation task")
+public class LogTaskStatus {
+
+    @Schema(description = "Task state", example = "IN_PROGRESS",
+            allowableValues = {"QUEUED", "IN_PROGRESS", "COMPLETED", "FAILED", "EXPIRED"})
+    private String status;
+
+    @Schema(description = "Bytes of the log processed so far", example = "1048576")
+    private long bytesScanned;
+
+    @Schema(description = "Bytes of the log to process, absent until the task has started",
+            example = "4194304")
+    private Long totalBytes;
+
+    public LogTaskStatus() {
+    }
+
+    public LogTaskStatus(String status, long bytesScanned, Long totalBytes) {
+        this.status = status;
+        this.bytesScanned = bytesScanned;
+        this.totalBytes = totalBytes;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getBytesScanned() {
+        return bytesScanned;
+    }
+
+    public void setBytesScanned(long bytesScanned) {
+        this.bytesScanned = bytesScanned;
+    }
+
+    public Long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public void setTotalBytes(Long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+}
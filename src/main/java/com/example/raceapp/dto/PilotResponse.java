@@ -23,6 +23,25 @@ public class PilotResponse {
     @Schema(description = "List of associated cars")
     private List<CarSimpleResponse> cars;
 
+    public PilotResponse() {
+    }
+
+    /**
+     * Creates a response from the columns of a pilot, as selected by projection queries.
+     * The cars are set separately.
+     *
+     * @param id         the pilot ID
+     * @param name       the pilot name
+     * @param age        the pilot age
+     * @param experience the pilot experience
+     */
+    public PilotResponse(Long id, String name, Integer age, Integer experience) {
+        this.id = id;
+        this.name = name;
+        this.age = age;
+        this.experience = experience;
+    }
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
@@ -36,6 +36,7 @@ public class GlobalExceptionHandler {
         BadRequestException.class,
         NotFoundException.class,
         InternalServerException.class,
+        TooManyRequestsException.class,
         ValidationException.class
     })
     public ResponseEntity<Map<String, Object>> handleApiExceptions(ApiException ex) {
@@ -0,0 +1,26 @@
+package com.example.raceapp.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Represents a 429 Too Many Requests API error response.
+ * This exception should be thrown when a request is refused to protect a bounded
+ * resource, such as a full work queue. Common use cases include:
+ * Background task queues at capacity
+ * Rate limits exceeded by a client
+ *
+ * @see ApiException Base class for API exceptions
+ */
+public class TooManyRequestsException extends ApiException {
+
+    /**
+     * Constructs a new TooManyRequestsException with a descriptive message.
+     *
+     * @param message The human-readable error description that will be returned
+     *                in the API response. Should tell the client that the request
+     *                may be retried later (e.g., "Log generation queue is full").
+     */
+    public TooManyRequestsException(String message) {
+        super(message, HttpStatus.TOO_MANY_REQUESTS, "too_many_requests");
+    }
+}
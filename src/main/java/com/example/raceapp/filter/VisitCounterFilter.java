@@ -1,20 +1,28 @@
 package com.example.raceapp.filter;
 
+import com.example.raceapp.service.EndpointMetricsService;
 import com.example.raceapp.service.VisitCounterService;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
 import java.io.IOException;
 import java.util.List;
 
 public class VisitCounterFilter extends OncePerRequestFilter {
     private final VisitCounterService visitCounterService;
+    private final EndpointMetricsService endpointMetricsService;
     private final List<String> excludedUrls;
 
-    public VisitCounterFilter(VisitCounterService visitCounterService, List<String> excludedUrls) {
+    public VisitCounterFilter(VisitCounterService visitCounterService,
+                              EndpointMetricsService endpointMetricsService,
+                              List<String> excludedUrls) {
         this.visitCounterService = visitCounterService;
+        this.endpointMetricsService = endpointMetricsService;
         this.excludedUrls = excludedUrls;
     }
 
@@ -25,18 +33,77 @@ public class VisitCounterFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         String requestURI = request.getRequestURI();
 
-        if (!isExcluded(requestURI)) {
-            String clientId = request.getHeader("X-Client-Id");
-            if (clientId == null || clientId.isBlank()) {
-                clientId = "anonymous";
+        if (isExcluded(requestURI)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String clientId = request.getHeader("X-Client-Id");
+        if (clientId == null || clientId.isBlank()) {
+            clientId = "anonymous";
+        }
+        visitCounterService.recordVisit(clientId);
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                // Streaming responses finish after the filter chain has returned.
+                request.getAsyncContext().addListener(new CompletionListener(start));
+            } else {
+                record(request, response, start, failed);
             }
-            visitCounterService.recordVisit(clientId);
         }
+    }
 
-        filterChain.doFilter(request, response);
+    private void record(HttpServletRequest request, HttpServletResponse response,
+                        long start, boolean failed) {
+        int status = response.getStatus();
+        if (failed && status < HttpServletResponse.SC_INTERNAL_SERVER_ERROR) {
+            // The container turns the exception into an error response later on.
+            status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        }
+        String pattern = (String) request.getAttribute(
+                HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        endpointMetricsService.record(request.getMethod(), pattern, status,
+                System.nanoTime() - start);
     }
 
     private boolean isExcluded(String uri) {
-        return excludedUrls.stream().anyMatch(uri::startsWith);
+        for (String excludedUrl : excludedUrls) {
+            if (uri.startsWith(excludedUrl)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private final class CompletionListener implements AsyncListener {
+        private final long start;
+
+        private CompletionListener(long start) {
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            record((HttpServletRequest) event.getSuppliedRequest(),
+                    (HttpServletResponse) event.getSuppliedResponse(), start, false);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,142 @@
+package com.example.raceapp.log;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+
+/**
+ * Resource exposing the gzip compression of another resource, computed while it is read.
+ *
+ * <p>The source is compressed in small slices as the response is written, so neither the
+ * source nor its compression is ever held in memory. The compressed length is unknown
+ * up front, so the content is sent chunked.
+ */
+public class GzipCompressingResource extends AbstractResource {
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final Resource source;
+
+    /**
+     * Creates the compressed view of a resource.
+     *
+     * @param source the resource to compress.
+     */
+    public GzipCompressingResource(Resource source) {
+        this.source = source;
+    }
+
+    @Override
+    public boolean exists() {
+        return source.exists();
+    }
+
+    @Override
+    public long contentLength() {
+        return -1;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return new CompressingInputStream(source.getInputStream());
+    }
+
+    @Override
+    public String getDescription() {
+        return "gzip of " + source.getDescription();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof GzipCompressingResource that
+                && source.equals(that.source);
+    }
+
+    @Override
+    public int hashCode() {
+        return source.hashCode();
+    }
+
+    /**
+     * Pull-based gzip encoder: a header, the raw deflate stream of the source and a
+     * trailer with its CRC-32 and length, as defined by RFC 1952.
+     */
+    private static final class CompressingInputStream extends InputStream {
+        private static final byte[] HEADER =
+                {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+        private final InputStream source;
+        private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        private final CRC32 crc = new CRC32();
+        private final byte[] input = new byte[BUFFER_SIZE];
+        private byte[] pending = HEADER;
+        private int pendingOffset;
+        private boolean trailerWritten;
+
+        private CompressingInputStream(InputStream source) {
+            this.source = source;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            while (true) {
+                if (pendingOffset < pending.length) {
+                    int count = Math.min(length, pending.length - pendingOffset);
+                    System.arraycopy(pending, pendingOffset, buffer, offset, count);
+                    pendingOffset += count;
+                    return count;
+                }
+                if (!deflater.finished()) {
+                    if (deflater.needsInput()) {
+                        int read = source.read(input);
+                        if (read == -1) {
+                            deflater.finish();
+                        } else {
+                            crc.update(input, 0, read);
+                            deflater.setInput(input, 0, read);
+                        }
+                    }
+                    int produced = deflater.deflate(buffer, offset, length);
+                    if (produced > 0) {
+                        return produced;
+                    }
+                    continue;
+                }
+                if (trailerWritten) {
+                    return -1;
+                }
+                pending = trailer();
+                pendingOffset = 0;
+                trailerWritten = true;
+            }
+        }
+
+        private byte[] trailer() {
+            long checksum = crc.getValue();
+            long size = deflater.getBytesRead();
+            byte[] trailer = new byte[8];
+            for (int i = 0; i < 4; i++) {
+                trailer[i] = (byte) (checksum >>> (8 * i));
+                trailer[4 + i] = (byte) (size >>> (8 * i));
+            }
+            return trailer;
+        }
+
+        @Override
+        public void close() throws IOException {
+            deflater.end();
+            source.close();
+        }
+    }
+}
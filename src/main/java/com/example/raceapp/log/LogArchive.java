@@ -0,0 +1,123 @@
+package com.example.raceapp.log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Locates the rolled-over parts of the application log.
+ *
+ * <p>The rolling file appender closes the active log at midnight and whenever it exceeds
+ * its size cap, and moves it to {@code <stem>.<yyyy-MM-dd>.<n>.log.gz} next to it, where
+ * {@code <stem>} is the name of the active log without {@code .log}. The parts of a day
+ * are therefore found by their name alone, without opening any other file.
+ *
+ * <p>To roll over, the appender first renames the active log to
+ * {@code <stem>.<yyyy-MM-dd>.<n>.log<nanos>.tmp}, then gzips that file straight into the
+ * final {@code .log.gz} name and deletes it once done. While the {@code .tmp} file exists
+ * the {@code .gz} file is incomplete, so the part is read from the {@code .tmp} file
+ * instead. Parts written without compression end in {@code .log} and are read as they
+ * are.
+ */
+public class LogArchive {
+    private static final String COMPRESSED_SUFFIX = ".gz";
+    private static final Pattern PART_NAME = Pattern.compile(
+            "(\\d+)\\.log(\\.gz|\\d+\\.tmp)?");
+
+    private final Path directory;
+    private final String stem;
+
+    /**
+     * Creates the archive of an active log file.
+     *
+     * @param logFile the active log file.
+     */
+    public LogArchive(Path logFile) {
+        Path parent = logFile.toAbsolutePath().getParent();
+        String name = logFile.getFileName().toString();
+        this.directory = parent;
+        this.stem = name.endsWith(".log") ? name.substring(0, name.length() - 4) : name;
+    }
+
+    /**
+     * Finds the archived parts of a date.
+     *
+     * @param date the date of the entries.
+     * @return the parts in the order they were written; empty if none exist.
+     * @throws IOException if the log directory cannot be listed.
+     */
+    public List<Part> find(LocalDate date) throws IOException {
+        String prefix = stem + "." + date + ".";
+        Map<Integer, Part> parts = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, prefix + "*")) {
+            for (Path file : files) {
+                Matcher name = PART_NAME.matcher(
+                        file.getFileName().toString().substring(prefix.length()));
+                if (!name.matches()) {
+                    continue;
+                }
+                int number = Integer.parseInt(name.group(1));
+                String suffix = name.group(2);
+                if (suffix == null || !suffix.equals(COMPRESSED_SUFFIX)) {
+                    // a .tmp file holds the whole part while its .gz is being written
+                    parts.put(number, new Part(file, number, false));
+                } else {
+                    parts.putIfAbsent(number, new Part(file, number, true));
+                }
+            }
+        } catch (NoSuchFileException e) {
+            return List.of();
+        }
+        return new ArrayList<>(parts.values());
+    }
+
+    /**
+     * One rolled-over file of the log.
+     *
+     * @param file       path of the file
+     * @param number     position of the part within its day
+     * @param compressed whether the file is gzip-compressed
+     */
+    public record Part(Path file, int number, boolean compressed) {
+
+        /**
+         * Returns the size of the part once decompressed. For a compressed part it is
+         * read from the gzip trailer, which holds it modulo 2^32; parts are far smaller
+         * than that under any sensible size cap.
+         *
+         * @return the uncompressed size in bytes.
+         * @throws IOException if the file cannot be read.
+         */
+        public long uncompressedSize() throws IOException {
+            if (!compressed) {
+                return Files.size(file);
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size < 4) {
+                    throw new IOException("Truncated gzip file: " + file);
+                }
+                ByteBuffer trailer = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+                while (trailer.hasRemaining()) {
+                    if (channel.read(trailer, size - 4 + trailer.position()) < 0) {
+                        throw new IOException("Truncated gzip file: " + file);
+                    }
+                }
+                return Integer.toUnsignedLong(trailer.getInt(0));
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.raceapp.log;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import org.springframework.core.io.AbstractResource;
+
+/**
+ * Resource exposing the entries of one day spread over archived log parts and,
+ * optionally, the beginning of the active log.
+ *
+ * <p>Parts are opened one after the other while the content is read and decompressed on
+ * the fly, so serving a day costs a decompression buffer regardless of its size.
+ */
+public class LogArchiveResource extends AbstractResource {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final List<LogArchive.Part> parts;
+    private final LogRegion activeRegion;
+
+    /**
+     * Creates a resource over the parts of a day.
+     *
+     * @param parts        the archived parts, in the order they were written.
+     * @param activeRegion entries of the day still in the active log, or {@code null}.
+     */
+    public LogArchiveResource(List<LogArchive.Part> parts, LogRegion activeRegion) {
+        this.parts = List.copyOf(parts);
+        this.activeRegion = activeRegion;
+    }
+
+    public List<LogArchive.Part> getParts() {
+        return parts;
+    }
+
+    /**
+     * Returns the gzip file holding the whole content, which can be sent as it is to
+     * clients accepting gzip.
+     *
+     * @return the only part if it is compressed and no entries are in the active log.
+     */
+    public Optional<Path> getGzipFile() {
+        if (activeRegion != null || parts.size() != 1 || !parts.get(0).compressed()) {
+            return Optional.empty();
+        }
+        return Optional.of(parts.get(0).file());
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public long contentLength() throws IOException {
+        long length = activeRegion != null ? activeRegion.length() : 0;
+        for (LogArchive.Part part : parts) {
+            length += part.uncompressedSize();
+        }
+        return length;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        List<Segment> segments = new ArrayList<>(parts.size() + 1);
+        for (LogArchive.Part part : parts) {
+            segments.add(new Segment(part::uncompressedSize, () -> open(part)));
+        }
+        if (activeRegion != null) {
+            LogRegionResource region = new LogRegionResource(activeRegion);
+            segments.add(new Segment(region::contentLength, region::getInputStream));
+        }
+        return new PartsInputStream(segments.iterator());
+    }
+
+    @Override
+    public String getDescription() {
+        return "log archive " + parts + (activeRegion != null ? " and " + activeRegion : "");
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof LogArchiveResource that
+                && parts.equals(that.parts) && Objects.equals(activeRegion, that.activeRegion);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(parts, activeRegion);
+    }
+
+    private static InputStream open(LogArchive.Part part) throws IOException {
+        InputStream in = Files.newInputStream(part.file());
+        try {
+            return part.compressed()
+                    ? new GZIPInputStream(in, BUFFER_SIZE)
+                    : new BufferedInputStream(in, BUFFER_SIZE);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    @FunctionalInterface
+    private interface IoSupplier<T> {
+        T get() throws IOException;
+    }
+
+    private record Segment(IoSupplier<Long> size, IoSupplier<InputStream> opener) {
+    }
+
+    /**
+     * Concatenation of the parts that opens each one only when the previous one is
+     * exhausted, so at most one file is open at a time. Skipping passes over whole parts
+     * by their size without opening them, so a range request near the end of a day does
+     * not decompress the parts before it.
+     */
+    private static final class PartsInputStream extends InputStream {
+        private final Iterator<Segment> segments;
+        private InputStream current;
+
+        private PartsInputStream(Iterator<Segment> segments) {
+            this.segments = segments;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            while (current != null || segments.hasNext()) {
+                if (current == null) {
+                    current = segments.next().opener().get();
+                }
+                int read = current.read(buffer, offset, length);
+                if (read != -1) {
+                    return read;
+                }
+                current.close();
+                current = null;
+            }
+            return -1;
+        }
+
+        @Override
+        public long skip(long count) throws IOException {
+            long remaining = count;
+            while (remaining > 0 && (current != null || segments.hasNext())) {
+                if (current == null) {
+                    Segment segment = segments.next();
+                    long size = segment.size().get();
+                    if (size <= remaining) {
+                        remaining -= size;
+                        continue;
+                    }
+                    current = segment.opener().get();
+                }
+                long skipped = current.skip(remaining);
+                if (skipped > 0) {
+                    remaining -= skipped;
+                } else if (current.read() != -1) {
+                    remaining--;
+                } else {
+                    current.close();
+                    current = null;
+                }
+            }
+            return count - remaining;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (current != null) {
+                current.close();
+                current = null;
+            }
+        }
+    }
+}
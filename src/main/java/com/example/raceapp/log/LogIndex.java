@@ -0,0 +1,315 @@
+package com.example.raceapp.log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sparse index of the application log mapping every hour to the offset of its first entry.
+ *
+ * <p>Entries are appended in time order, so the lines of any range of hours, including
+ * continuation lines such as stack traces, form one contiguous byte range of the file.
+ * The index records only where each hour starts. It is built by scanning memory-mapped
+ * chunks of the log, extended incrementally as the log grows and persisted next to it,
+ * so neither a lookup nor a restart rescans data that has already been indexed. A log
+ * file that was replaced or truncated is detected by its file key and a checksum of its
+ * first bytes and is indexed again from the start.
+ */
+public class LogIndex {
+    private static final Logger logger = LoggerFactory.getLogger(LogIndex.class);
+
+    private static final int MAGIC = 0x4c4f4749;
+    private static final int VERSION = 1;
+    /** Length of the {@code yyyy-MM-dd HH} prefix every log entry starts with. */
+    private static final int HOUR_PREFIX_LENGTH = 13;
+    /** Number of leading bytes that identify the content of a log file. */
+    private static final int HEAD_LENGTH = 64;
+    private static final long MAX_MAPPING = 1L << 30;
+
+    private final Path logFile;
+    private final Path indexFile;
+    private final NavigableMap<Long, Long> hourOffsets = new TreeMap<>();
+    private String fileKey = "";
+    private long headChecksum;
+    private long indexedLength;
+    private boolean loaded;
+
+    /**
+     * Creates the index of a log file.
+     *
+     * @param logFile   the log file to index.
+     * @param indexFile file the index is persisted to.
+     */
+    public LogIndex(Path logFile, Path indexFile) {
+        this.logFile = logFile;
+        this.indexFile = indexFile;
+    }
+
+    /**
+     * Returns the indexed log file.
+     *
+     * @return path of the log file.
+     */
+    public Path getLogFile() {
+        return logFile;
+    }
+
+    /**
+     * Returns the generation of the log file. It changes whenever the file is replaced
+     * or truncated, so data derived from the log stays valid while it is unchanged.
+     *
+     * @return opaque identifier of the current log file content.
+     * @throws IOException if the log file cannot be read.
+     */
+    public synchronized String getGeneration() throws IOException {
+        refresh();
+        return fileKey + "/" + Long.toHexString(headChecksum);
+    }
+
+    /**
+     * Finds the entries logged on a date.
+     *
+     * @param date the date of the entries.
+     * @return byte range of the entries, or empty if nothing was logged on that date.
+     * @throws IOException if the log file cannot be read.
+     */
+    public Optional<LogRegion> find(LocalDate date) throws IOException {
+        return find(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Finds the entries logged in a time range. The range is widened to whole hours, the
+     * granularity of the index.
+     *
+     * @param from start of the range, inclusive.
+     * @param to   end of the range, exclusive.
+     * @return byte range of the entries, or empty if nothing was logged in the range.
+     * @throws IOException if the log file cannot be read.
+     */
+    public synchronized Optional<LogRegion> find(LocalDateTime from, LocalDateTime to)
+            throws IOException {
+        refresh();
+        long toHour = hourOf(to) + (to.equals(to.truncatedTo(ChronoUnit.HOURS)) ? 0 : 1);
+        Map.Entry<Long, Long> first = hourOffsets.ceilingEntry(hourOf(from));
+        if (first == null || first.getKey() >= toHour) {
+            return Optional.empty();
+        }
+        Map.Entry<Long, Long> next = hourOffsets.ceilingEntry(toHour);
+        long end = next != null ? next.getValue() : indexedLength;
+        return Optional.of(new LogRegion(logFile, first.getValue(), end - first.getValue()));
+    }
+
+    /**
+     * Brings the index up to date with the log file, scanning only the bytes appended
+     * since the last call. A trailing line that is still being written is left for the
+     * next call.
+     */
+    private void refresh() throws IOException {
+        if (!loaded) {
+            load();
+            loaded = true;
+        }
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(logFile, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            reset("");
+            return;
+        }
+        String currentKey = String.valueOf(attributes.fileKey());
+        long size = attributes.size();
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            if (!currentKey.equals(fileKey) || size < indexedLength
+                    || indexedLength > 0 && headChecksum(channel) != headChecksum) {
+                reset(currentKey);
+            }
+            if (size == indexedLength) {
+                return;
+            }
+            if (indexedLength == 0) {
+                headChecksum = headChecksum(channel);
+            }
+            long before = indexedLength;
+            scan(channel, size);
+            if (indexedLength != before) {
+                save();
+            }
+        }
+    }
+
+    private void scan(FileChannel channel, long size) throws IOException {
+        while (indexedLength < size) {
+            long length = Math.min(MAX_MAPPING, size - indexedLength);
+            MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY,
+                    indexedLength, length);
+            int consumed = indexLines(chunk, indexedLength);
+            if (consumed == 0) {
+                if (length < MAX_MAPPING) {
+                    return;
+                }
+                // A single line spans the whole mapping; it cannot start an hour.
+                consumed = (int) length;
+            }
+            indexedLength += consumed;
+        }
+    }
+
+    /**
+     * Records the hours starting in the complete lines of a chunk.
+     *
+     * @return number of bytes up to and including the last line break of the chunk.
+     */
+    private int indexLines(ByteBuffer chunk, long base) {
+        long lastHour = hourOffsets.isEmpty() ? Long.MIN_VALUE : hourOffsets.lastKey();
+        int lineStart = 0;
+        int limit = chunk.limit();
+        for (int i = 0; i < limit; i++) {
+            if (chunk.get(i) != '\n') {
+                continue;
+            }
+            long hour = parseHour(chunk, lineStart, i);
+            // Entries of concurrent threads may be a few milliseconds out of order around
+            // an hour boundary; the first one of the later hour starts it.
+            if (hour > lastHour) {
+                hourOffsets.put(hour, base + lineStart);
+                lastHour = hour;
+            }
+            lineStart = i + 1;
+        }
+        return lineStart;
+    }
+
+    /**
+     * Parses the {@code yyyy-MM-dd HH} prefix of a line.
+     *
+     * @return hours since the epoch, or {@link Long#MIN_VALUE} for continuation lines.
+     */
+    private static long parseHour(ByteBuffer chunk, int start, int end) {
+        if (end - start < HOUR_PREFIX_LENGTH
+                || chunk.get(start + 4) != '-' || chunk.get(start + 7) != '-'
+                || chunk.get(start + 10) != ' ') {
+            return Long.MIN_VALUE;
+        }
+        int year = digits(chunk, start, 4);
+        int month = digits(chunk, start + 5, 2);
+        int day = digits(chunk, start + 8, 2);
+        int hour = digits(chunk, start + 11, 2);
+        if (year < 0 || month < 0 || day < 0 || hour < 0 || hour > 23) {
+            return Long.MIN_VALUE;
+        }
+        try {
+            return LocalDate.of(year, month, day).toEpochDay() * 24 + hour;
+        } catch (DateTimeException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    private static int digits(ByteBuffer chunk, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = chunk.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static long hourOf(LocalDateTime time) {
+        return time.toLocalDate().toEpochDay() * 24 + time.getHour();
+    }
+
+    private static long headChecksum(FileChannel channel) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate(HEAD_LENGTH);
+        while (head.hasRemaining() && channel.read(head, head.position()) > 0) {
+            // Fill the buffer or stop at the end of a short file.
+        }
+        CRC32 checksum = new CRC32();
+        checksum.update(head.flip());
+        return checksum.getValue();
+    }
+
+    private void reset(String newFileKey) {
+        hourOffsets.clear();
+        fileKey = newFileKey;
+        headChecksum = 0;
+        indexedLength = 0;
+    }
+
+    /**
+     * Reads the persisted index. A missing or unreadable index file leaves the index
+     * empty, so the log is scanned again.
+     */
+    private void load() {
+        if (!Files.exists(indexFile)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                logger.warn("Ignoring log index {} with an unknown format", indexFile);
+                return;
+            }
+            fileKey = in.readUTF();
+            headChecksum = in.readLong();
+            indexedLength = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                hourOffsets.put(in.readLong(), in.readLong());
+            }
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable log index {}: {}", indexFile, e.getMessage());
+            reset("");
+        }
+    }
+
+    /**
+     * Persists the index. It only saves rescanning the log, so failures are logged
+     * and otherwise ignored.
+     */
+    private void save() {
+        Path temporary = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(fileKey);
+                out.writeLong(headChecksum);
+                out.writeLong(indexedLength);
+                out.writeInt(hourOffsets.size());
+                for (Map.Entry<Long, Long> entry : hourOffsets.entrySet()) {
+                    out.writeLong(entry.getKey());
+                    out.writeLong(entry.getValue());
+                }
+            }
+            Files.move(temporary, indexFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not persist log index {}: {}", indexFile, e.getMessage());
+        }
+    }
+}
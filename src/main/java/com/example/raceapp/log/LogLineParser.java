@@ -0,0 +1,113 @@
+package com.example.raceapp.log;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import org.slf4j.event.Level;
+
+/**
+ * Parser of the lines written with the layout configured in {@code logback-spring.xml}:
+ * {@code %d{yyyy-MM-dd HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n}.
+ *
+ * <p>A line that does not start with that header, such as a stack trace frame, continues
+ * the message of the entry before it. The header is taken apart by position and
+ * separator without regular expressions, so rejecting an entry on its time, level or
+ * logger costs little more than reading its line.
+ */
+public final class LogLineParser {
+    private static final int TIMESTAMP_LENGTH = 23;
+    private static final String THREAD_END = "] ";
+    private static final String MESSAGE_START = " - ";
+
+    private LogLineParser() {
+    }
+
+    /**
+     * Parses the header of a log entry.
+     *
+     * @param line a line of the log.
+     * @return the parsed entry, or {@code null} if the line continues a previous entry.
+     */
+    public static Header parse(String line) {
+        if (line.length() < TIMESTAMP_LENGTH + 2 || line.charAt(TIMESTAMP_LENGTH) != ' '
+                || line.charAt(TIMESTAMP_LENGTH + 1) != '[') {
+            return null;
+        }
+        LocalDateTime timestamp = parseTimestamp(line);
+        if (timestamp == null) {
+            return null;
+        }
+        int threadEnd = line.indexOf(THREAD_END, TIMESTAMP_LENGTH + 2);
+        if (threadEnd < 0) {
+            return null;
+        }
+        int levelStart = threadEnd + THREAD_END.length();
+        int levelEnd = line.indexOf(' ', levelStart);
+        if (levelEnd < 0) {
+            return null;
+        }
+        Level level;
+        try {
+            level = Level.valueOf(line.substring(levelStart, levelEnd));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        int loggerStart = levelEnd;
+        while (loggerStart < line.length() && line.charAt(loggerStart) == ' ') {
+            loggerStart++;
+        }
+        int loggerEnd = line.indexOf(MESSAGE_START, loggerStart);
+        if (loggerEnd < 0) {
+            return null;
+        }
+        return new Header(timestamp, line.substring(TIMESTAMP_LENGTH + 2, threadEnd), level,
+                line.substring(loggerStart, loggerEnd),
+                line.substring(loggerEnd + MESSAGE_START.length()));
+    }
+
+    private static LocalDateTime parseTimestamp(String line) {
+        if (line.charAt(4) != '-' || line.charAt(7) != '-' || line.charAt(10) != ' '
+                || line.charAt(13) != ':' || line.charAt(16) != ':' || line.charAt(19) != '.') {
+            return null;
+        }
+        int year = digits(line, 0, 4);
+        int month = digits(line, 5, 2);
+        int day = digits(line, 8, 2);
+        int hour = digits(line, 11, 2);
+        int minute = digits(line, 14, 2);
+        int second = digits(line, 17, 2);
+        int millis = digits(line, 20, 3);
+        if ((year | month | day | hour | minute | second | millis) < 0) {
+            return null;
+        }
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute, second, millis * 1_000_000);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static int digits(String line, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = line.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Header line of a log entry.
+     *
+     * @param timestamp time the entry was logged
+     * @param thread    name of the logging thread
+     * @param level     level of the entry
+     * @param logger    logger name, abbreviated as in the log
+     * @param message   first line of the message
+     */
+    public record Header(LocalDateTime timestamp, String thread, Level level, String logger,
+                         String message) {
+    }
+}
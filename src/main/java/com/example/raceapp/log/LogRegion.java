@@ -0,0 +1,22 @@
+package com.example.raceapp.log;
+
+import java.nio.file.Path;
+
+/**
+ * Contiguous byte range of the log file holding the entries of a time range.
+ *
+ * @param file     the log file
+ * @param position offset of the first byte of the range
+ * @param length   number of bytes in the range
+ */
+public record LogRegion(Path file, long position, long length) {
+
+    /**
+     * Offset just past the last byte of the range.
+     *
+     * @return exclusive end offset.
+     */
+    public long end() {
+        return position + length;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.raceapp.log;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import org.springframework.core.io.AbstractResource;
+
+/**
+ * Resource exposing a {@link LogRegion} without loading it into memory.
+ *
+ * <p>The content is read from the log file on demand, so serving a region costs a small
+ * copy buffer regardless of its size. Controllers running on a container that supports
+ * sendfile hand the region to the kernel instead of reading it at all.
+ */
+public class LogRegionResource extends AbstractResource {
+    private final LogRegion region;
+
+    /**
+     * Creates a resource over a region of the log file.
+     *
+     * @param region the byte range to expose.
+     */
+    public LogRegionResource(LogRegion region) {
+        this.region = region;
+    }
+
+    /**
+     * Returns the exposed byte range.
+     *
+     * @return region of the log file.
+     */
+    public LogRegion getRegion() {
+        return region;
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public long contentLength() {
+        return region.length();
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return new RegionInputStream(FileChannel.open(region.file(), StandardOpenOption.READ),
+                region.position(), region.end());
+    }
+
+    @Override
+    public String getDescription() {
+        return "log region [" + region.file() + ", " + region.position() + "-"
+                + region.end() + ")";
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof LogRegionResource that
+                && region.equals(that.region);
+    }
+
+    @Override
+    public int hashCode() {
+        return region.hashCode();
+    }
+
+    /**
+     * Stream of positional reads bounded by the end of the region, so data appended to
+     * the log after the lookup is never included.
+     */
+    private static final class RegionInputStream extends InputStream {
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+
+        private RegionInputStream(FileChannel channel, long position, long end) {
+            this.channel = channel;
+            this.position = position;
+            this.end = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (position >= end) {
+                return -1;
+            }
+            int count = (int) Math.min(length, end - position);
+            int read = channel.read(ByteBuffer.wrap(buffer, offset, count), position);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long count) {
+            long skipped = Math.max(0, Math.min(count, end - position));
+            position += skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, end - position);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.raceapp.log;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Cache of generated log files of closed days.
+ *
+ * <p>The entries of a day that has ended never change as long as the log file is not
+ * replaced, so a generated file stays valid for the pair of its date and the generation
+ * of the log it was cut from. The files themselves stay on disk; only their paths are
+ * held in memory. The total size of the cached files is bounded, and a file is deleted
+ * once its entry is evicted.
+ */
+public class LogResultCache {
+    private static final Logger logger = LoggerFactory.getLogger(LogResultCache.class);
+
+    private final long maximumBytes;
+    private final Cache<Key, Entry> results;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maximumSize upper bound of the total size of the cached files.
+     */
+    public LogResultCache(DataSize maximumSize) {
+        this.maximumBytes = maximumSize.toBytes();
+        this.results = Caffeine.newBuilder()
+                .maximumWeight(Math.max(1, maximumSize.toKilobytes()))
+                .weigher((Key key, Entry entry) ->
+                        (int) Math.min(Integer.MAX_VALUE, entry.size() / 1024 + 1))
+                .executor(Runnable::run)
+                .removalListener((Key key, Entry entry, RemovalCause cause) -> {
+                    if (entry != null) {
+                        delete(entry.file());
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Looks up the generated file of a date.
+     *
+     * @param date       the date of the entries.
+     * @param generation generation of the log file, see {@link LogIndex#getGeneration()}.
+     * @return the cached file, or empty if there is none.
+     */
+    public Optional<Entry> get(LocalDate date, String generation) {
+        Entry entry = results.getIfPresent(new Key(date, generation));
+        if (entry != null && !Files.exists(entry.file())) {
+            results.invalidate(new Key(date, generation));
+            return Optional.empty();
+        }
+        return Optional.ofNullable(entry);
+    }
+
+    /**
+     * Caches the generated file of a date. If another file was cached for the same key
+     * in the meantime, that one is kept and the given file is deleted.
+     *
+     * @param date       the date of the entries.
+     * @param generation generation of the log file the entries were read from.
+     * @param file       the generated file, owned by the cache once it is accepted.
+     * @return the cached entry for the date, or empty if the file exceeds the size of
+     *         the whole cache and stays owned by the caller.
+     * @throws IOException if the size of the file cannot be read.
+     */
+    public Optional<Entry> put(LocalDate date, String generation, Path file)
+            throws IOException {
+        Entry entry = new Entry(file, Files.size(file));
+        if (entry.size() > maximumBytes) {
+            return Optional.empty();
+        }
+        Entry cached = results.asMap().putIfAbsent(new Key(date, generation), entry);
+        if (cached != null && !cached.file().equals(file)) {
+            delete(file);
+            return Optional.of(cached);
+        }
+        return Optional.of(entry);
+    }
+
+    /**
+     * Drops all entries and deletes their files.
+     */
+    public void clear() {
+        results.invalidateAll();
+        results.cleanUp();
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete cached log file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private record Key(LocalDate date, String generation) {
+    }
+
+    /**
+     * Generated log file held by the cache.
+     *
+     * @param file the file
+     * @param size size of the file in bytes
+     */
+    public record Entry(Path file, long size) {
+    }
+}
@@ -6,6 +6,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.util.HashSet;
 import java.util.Set;
@@ -17,13 +18,14 @@ import java.util.Set;
 @Table(name = "pilots")
 public class Pilot {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pilots_seq")
+    @SequenceGenerator(name = "pilots_seq", sequenceName = "pilots_seq", allocationSize = 50)
     private Long id;
     private String name;
     private Integer age;
     private Integer experience;
 
-    @OneToMany(mappedBy = "owner", orphanRemoval = true)
+    @OneToMany(mappedBy = "owner")
     private Set<Car> cars = new HashSet<>();
 
     @ManyToMany(mappedBy = "pilots")
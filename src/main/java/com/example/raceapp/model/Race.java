@@ -8,6 +8,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.util.HashSet;
 import java.util.Set;
@@ -19,7 +20,8 @@ import java.util.Set;
 @Table(name = "races")
 public class Race {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "races_seq")
+    @SequenceGenerator(name = "races_seq", sequenceName = "races_seq", allocationSize = 50)
     private Long id;
     private String name;
     private Integer year;
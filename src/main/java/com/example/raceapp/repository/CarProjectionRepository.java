@@ -0,0 +1,23 @@
+package com.example.raceapp.repository;
+
+import com.example.raceapp.dto.CarResponse;
+import com.example.raceapp.model.Car;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Queries building {@link CarResponse} DTOs directly from the selected columns.
+ */
+public interface CarProjectionRepository {
+
+    /**
+     * Retrieves a page of cars matching a {@link Specification} with their owners,
+     * selecting only the columns of the response.
+     *
+     * @param spec     the {@link Specification} to filter the cars by.
+     * @param pageable the page and sort, by {@link Car} attributes.
+     * @return a {@link Page} of {@link CarResponse} DTOs.
+     */
+    Page<CarResponse> findResponses(Specification<Car> spec, Pageable pageable);
+}
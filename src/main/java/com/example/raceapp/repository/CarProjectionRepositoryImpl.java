@@ -0,0 +1,34 @@
+package com.example.raceapp.repository;
+
+import com.example.raceapp.dto.CarResponse;
+import com.example.raceapp.model.Car;
+import com.example.raceapp.model.Pilot;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Criteria implementation of {@link CarProjectionRepository}.
+ */
+class CarProjectionRepositoryImpl implements CarProjectionRepository {
+
+    private final EntityManager entityManager;
+
+    CarProjectionRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Page<CarResponse> findResponses(Specification<Car> spec, Pageable pageable) {
+        return ProjectionQueries.findPage(entityManager, Car.class, CarResponse.class, spec,
+                pageable, (car, cb) -> {
+                    Join<Car, Pilot> owner = car.join("owner", JoinType.LEFT);
+                    return cb.construct(CarResponse.class, car.get("id"), car.get("brand"),
+                            car.get("model"), car.get("power"), owner.get("id"),
+                            owner.get("name"), owner.get("experience"));
+                });
+    }
+}
@@ -1,8 +1,13 @@
 package com.example.raceapp.repository;
 
+import com.example.raceapp.dto.CarResponse;
 import com.example.raceapp.model.Car;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -10,6 +15,7 @@ import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 /**
@@ -17,7 +23,8 @@ import org.springframework.data.repository.query.Param;
  * Provides methods to query and manipulate car data,
  * including eager loading of associated owner entities.
  */
-public interface CarRepository extends JpaRepository<Car, Long>, JpaSpecificationExecutor<Car> {
+public interface CarRepository extends JpaRepository<Car, Long>, JpaSpecificationExecutor<Car>,
+        CarProjectionRepository {
 
     /**
      * Retrieves all {@link Car} entities with their associated owner eagerly loaded.
@@ -72,16 +79,59 @@ public interface CarRepository extends JpaRepository<Car, Long>, JpaSpecificatio
 
 
     /**
-     * Retrieves a paginated list of {@link Car} entities
-     * with a power greater than the specified {@code minPower}.
-     * This method uses a native SQL query to filter the cars based on their power.
+     * Retrieves a paginated list of cars with a power greater than the specified
+     * {@code minPower} as {@link CarResponse} DTOs built by a constructor expression,
+     * so only the columns of the response are selected and no entity is loaded.
      *
      * @param power the minimum power threshold for the cars to be retrieved.
      * @param pageable a {@link Pageable} object to apply pagination to the result.
-     * @return a {@link Page} of {@link Car} entities that
+     * @return a {@link Page} of {@link CarResponse} DTOs of the cars that
      *         have power greater than the specified minimum power.
      */
-    @Query(value = "SELECT * FROM cars WHERE power > :minPower", nativeQuery = true)
-    Page<Car> findCarsByPowerNative(@Param("minPower") Integer power, Pageable pageable);
+    @Query(value = "SELECT new com.example.raceapp.dto.CarResponse("
+            + "c.id, c.brand, c.model, c.power, o.id, o.name, o.experience) "
+            + "FROM Car c LEFT JOIN c.owner o WHERE c.power > :minPower",
+            countQuery = "SELECT COUNT(c) FROM Car c WHERE c.power > :minPower")
+    Page<CarResponse> findResponsesByPower(@Param("minPower") Integer power, Pageable pageable);
+
+    /**
+     * Streams all {@link Car} entities in ascending ID order with their owners
+     * fetched in the same query, from a database cursor fetching 500 rows at a time.
+     * The entities are loaded read-only. Must be consumed inside a transaction.
+     *
+     * @return a {@link Stream} of cars to be closed by the caller.
+     */
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Car c LEFT JOIN FETCH c.owner ORDER BY c.id")
+    Stream<Car> streamAllWithOwner();
+
+    /**
+     * Retrieves which of the given car IDs exist.
+     *
+     * @param ids the car IDs.
+     * @return the IDs of the existing cars.
+     */
+    @Query("SELECT c.id FROM Car c WHERE c.id IN :ids")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
 
+    /**
+     * Retrieves the distinct IDs of the owners of the given cars.
+     *
+     * @param ids the car IDs.
+     * @return the IDs of the pilots owning any of the cars.
+     */
+    @Query("SELECT DISTINCT o.id FROM Car c JOIN c.owner o WHERE c.id IN :ids")
+    List<Long> findOwnerIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Retrieves cars by their IDs with their owners fetched in the same query.
+     *
+     * @param ids the car IDs.
+     * @return the cars with initialized owners.
+     */
+    @Query("SELECT c FROM Car c LEFT JOIN FETCH c.owner WHERE c.id IN :ids")
+    List<Car> findAllWithOwnerByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,30 @@
+package com.example.raceapp.repository;
+
+import com.example.raceapp.dto.CarSimpleResponse;
+
+/**
+ * Columns of a car selected together with the ID of its owner, so the cars of a page
+ * of pilots can be loaded with one query and grouped by pilot.
+ *
+ * @param ownerId the ID of the owning pilot
+ * @param id      the car ID
+ * @param brand   the car brand
+ * @param model   the car model
+ * @param power   the car power
+ */
+public record OwnedCar(Long ownerId, Long id, String brand, String model, Integer power) {
+
+    /**
+     * Converts the row to the car representation nested in pilot responses.
+     *
+     * @return the {@link CarSimpleResponse} of the car
+     */
+    public CarSimpleResponse toResponse() {
+        CarSimpleResponse response = new CarSimpleResponse();
+        response.setId(id);
+        response.setBrand(brand);
+        response.setModel(model);
+        response.setPower(power);
+        return response;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.raceapp.repository;
+
+import com.example.raceapp.dto.PilotResponse;
+import com.example.raceapp.model.Pilot;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Queries building {@link PilotResponse} DTOs directly from the selected columns.
+ */
+public interface PilotProjectionRepository {
+
+    /**
+     * Retrieves a page of pilots matching a {@link Specification}, selecting only the
+     * columns of the response. The cars of the responses are not set.
+     *
+     * @param spec     the {@link Specification} to filter the pilots by.
+     * @param pageable the page and sort, by {@link Pilot} attributes.
+     * @return a {@link Page} of {@link PilotResponse} DTOs without cars.
+     */
+    Page<PilotResponse> findResponses(Specification<Pilot> spec, Pageable pageable);
+}
@@ -0,0 +1,27 @@
+package com.example.raceapp.repository;
+
+import com.example.raceapp.dto.PilotResponse;
+import com.example.raceapp.model.Pilot;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Criteria implementation of {@link PilotProjectionRepository}.
+ */
+class PilotProjectionRepositoryImpl implements PilotProjectionRepository {
+
+    private final EntityManager entityManager;
+
+    PilotProjectionRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Page<PilotResponse> findResponses(Specification<Pilot> spec, Pageable pageable) {
+        return ProjectionQueries.findPage(entityManager, Pilot.class, PilotResponse.class, spec,
+                pageable, (pilot, cb) -> cb.construct(PilotResponse.class, pilot.get("id"),
+                        pilot.get("name"), pilot.get("age"), pilot.get("experience")));
+    }
+}
@@ -1,14 +1,21 @@
 package com.example.raceapp.repository;
 
+import com.example.raceapp.dto.PilotResponse;
 import com.example.raceapp.model.Pilot;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 /**
@@ -16,7 +23,7 @@ import org.springframework.data.repository.query.Param;
  * Provides methods to perform CRUD operations and custom queries.
  */
 public interface PilotRepository extends JpaRepository<Pilot, Long>,
-        JpaSpecificationExecutor<Pilot> {
+        JpaSpecificationExecutor<Pilot>, PilotProjectionRepository {
 
     /**
      * Retrieves all pilots with their associated cars eagerly loaded.
@@ -48,21 +55,80 @@ public interface PilotRepository extends JpaRepository<Pilot, Long>,
     Page<Pilot> findPilotsByCarBrand(@Param("brand") String brand, Pageable pageable);
 
     /**
-     * Finds pilots who own a car of a specified brand using a native SQL query.
+     * Finds pilots who own a car of a specified brand as {@link PilotResponse} DTOs
+     * built by a constructor expression. The cars of the responses are not set.
      *
      * @param brand The brand of the car.
      * @param pageable Pagination information.
      * @return A paginated list of pilots with cars of the specified brand.
      */
-    @Query(value = "SELECT DISTINCT p.* FROM pilots p "
-            + "JOIN cars c ON p.id = c.pilot_id "
-            + "WHERE c.brand = :brand",
-            countQuery = "SELECT COUNT(DISTINCT p.id) FROM pilots p "
-                    + "JOIN cars c ON p.id = c.pilot_id "
-                    + "WHERE c.brand = :brand",
-            nativeQuery = true)
-    Page<Pilot> findPilotsByCarBrandNative(@Param("brand") String brand, Pageable pageable);
+    @Query(value = "SELECT new com.example.raceapp.dto.PilotResponse("
+            + "p.id, p.name, p.age, p.experience) FROM Pilot p "
+            + "WHERE EXISTS (SELECT 1 FROM Car c WHERE c.owner = p AND c.brand = :brand)",
+            countQuery = "SELECT COUNT(p) FROM Pilot p "
+                    + "WHERE EXISTS (SELECT 1 FROM Car c WHERE c.owner = p AND c.brand = :brand)")
+    Page<PilotResponse> findResponsesByCarBrand(@Param("brand") String brand, Pageable pageable);
 
-}
+    /**
+     * Retrieves the cars of the given pilots with the ID of their owner, selecting only
+     * the columns of the nested car responses.
+     *
+     * @param ownerIds The pilot IDs.
+     * @return The cars of the pilots in ascending ID order.
+     */
+    @Query("SELECT new com.example.raceapp.repository.OwnedCar("
+            + "c.owner.id, c.id, c.brand, c.model, c.power) "
+            + "FROM Car c WHERE c.owner.id IN :ownerIds ORDER BY c.id")
+    List<OwnedCar> findOwnedCars(@Param("ownerIds") Collection<Long> ownerIds);
+
+    /**
+     * Retrieves pilots by their IDs with their cars fetched in the same query.
+     *
+     * @param ids The pilot IDs.
+     * @return The pilots with initialized car collections.
+     */
+    @Query("SELECT DISTINCT p FROM Pilot p LEFT JOIN FETCH p.cars WHERE p.id IN :ids")
+    List<Pilot> findAllWithCarsByIdIn(@Param("ids") Collection<Long> ids);
 
+    /**
+     * Streams the IDs of all pilots in ascending order from a database cursor
+     * fetching 500 rows at a time. Must be consumed inside a transaction.
+     *
+     * @return A stream of pilot IDs to be closed by the caller.
+     */
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.id FROM Pilot p ORDER BY p.id")
+    Stream<Long> streamAllIds();
 
+    /**
+     * Retrieves which of the given pilot IDs exist.
+     *
+     * @param ids The pilot IDs.
+     * @return The IDs of the existing pilots.
+     */
+    @Query("SELECT p.id FROM Pilot p WHERE p.id IN :ids")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Retrieves the IDs of the cars owned by the given pilots.
+     *
+     * @param ownerIds The pilot IDs.
+     * @return The IDs of their cars.
+     */
+    @Query("SELECT c.id FROM Car c WHERE c.owner.id IN :ownerIds")
+    List<Long> findCarIdsByOwnerIdIn(@Param("ownerIds") Collection<Long> ownerIds);
+
+    /**
+     * Clears the owner of all cars of the given pilots with one statement, bypassing
+     * the persistence context.
+     *
+     * @param ownerIds The pilot IDs.
+     * @return The number of updated cars.
+     */
+    @Modifying
+    @Query("UPDATE Car c SET c.owner = NULL WHERE c.owner.id IN :ownerIds")
+    int releaseCars(@Param("ownerIds") Collection<Long> ownerIds);
+}
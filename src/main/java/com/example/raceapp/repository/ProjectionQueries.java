@@ -0,0 +1,75 @@
+package com.example.raceapp.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.function.BiFunction;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+/**
+ * Pages of a {@link Specification} query that select DTOs through a constructor
+ * expression instead of entities. Only the selected columns are read, and the rows never
+ * enter the persistence context.
+ */
+final class ProjectionQueries {
+
+    private ProjectionQueries() {
+    }
+
+    /**
+     * Runs a specification query selecting DTOs, with the same paging and sorting
+     * semantics as {@code JpaSpecificationExecutor.findAll(spec, pageable)}.
+     *
+     * @param entityManager the entity manager
+     * @param domainClass   the queried entity
+     * @param resultClass   the DTO built from each row
+     * @param spec          the filter
+     * @param pageable      the page and sort
+     * @param selection     builds the constructor expression from the query root
+     * @return the page of DTOs
+     */
+    static <T, R> Page<R> findPage(EntityManager entityManager, Class<T> domainClass,
+                                   Class<R> resultClass, Specification<T> spec,
+                                   Pageable pageable,
+                                   BiFunction<Root<T>, CriteriaBuilder,
+                                           CompoundSelection<R>> selection) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = cb.createQuery(resultClass);
+        Root<T> root = query.from(domainClass);
+        query.select(selection.apply(root, cb));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<R> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable,
+                () -> count(entityManager, domainClass, spec));
+    }
+
+    private static <T> long count(EntityManager entityManager, Class<T> domainClass,
+                                  Specification<T> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(domainClass);
+        query.select(cb.count(root));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
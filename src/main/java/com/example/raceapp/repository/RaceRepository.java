@@ -2,13 +2,20 @@ package com.example.raceapp.repository;
 
 import com.example.raceapp.model.Pilot;
 import com.example.raceapp.model.Race;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -17,7 +24,8 @@ import org.springframework.stereotype.Repository;
  * Provides methods to perform CRUD operations and custom queries
  * with optimized data fetching using EntityGraph.
  */
-public interface RaceRepository extends JpaRepository<Race, Long> {
+public interface RaceRepository extends JpaRepository<Race, Long>,
+        JpaSpecificationExecutor<Race> {
 
     /**
      * Retrieves all races with their associated pilots and cars eagerly loaded.
@@ -56,6 +64,38 @@ public interface RaceRepository extends JpaRepository<Race, Long> {
 
     List<Race> findByPilotsContaining(Pilot pilot);
 
+    /**
+     * Retrieves one page of race IDs. This is the first step of the race read path:
+     * associations are then batch-loaded for exactly the IDs of the page, which
+     * avoids both lazy loading per race and in-memory pagination of fetch joins.
+     *
+     * @param pageable Pagination and sorting details.
+     * @return A page of race IDs.
+     */
+    @Query("SELECT r.id FROM Race r")
+    Page<Long> findPageOfIds(Pageable pageable);
+
+    /**
+     * Retrieves races by their IDs with their pilots fetched in the same query.
+     *
+     * @param ids The race IDs.
+     * @return The races with initialized pilot collections.
+     */
+    @Query("SELECT DISTINCT r FROM Race r LEFT JOIN FETCH r.pilots WHERE r.id IN :ids")
+    List<Race> findAllWithPilotsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Retrieves races by their IDs with their cars and the cars' owners fetched
+     * in the same query. Issued separately from the pilot fetch to avoid a
+     * cartesian product of pilots and cars.
+     *
+     * @param ids The race IDs.
+     * @return The races with initialized car collections.
+     */
+    @Query("SELECT DISTINCT r FROM Race r LEFT JOIN FETCH r.cars c LEFT JOIN FETCH c.owner "
+            + "WHERE r.id IN :ids")
+    List<Race> findAllWithCarsByIdIn(@Param("ids") Collection<Long> ids);
+
     /**
      * Retrieves races that occurred within the specified year range.
      * Uses JPQL instead of native SQL.
@@ -70,4 +110,40 @@ public interface RaceRepository extends JpaRepository<Race, Long> {
                                     @Param("end") Integer end,
                                     Pageable pageable);
 
+    /**
+     * Streams the IDs of all races in ascending order from a database cursor
+     * fetching 500 rows at a time. Must be consumed inside a transaction.
+     *
+     * @return A stream of race IDs to be closed by the caller.
+     */
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r.id FROM Race r ORDER BY r.id")
+    Stream<Long> streamAllIds();
+
+    /**
+     * Removes the given pilots from all their races with one statement. The join table
+     * rows are deleted directly, so races already loaded by the current persistence
+     * context are not updated.
+     *
+     * @param pilotIds The pilot IDs.
+     * @return The number of deleted race entries.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM race_pilot WHERE pilot_id IN (:pilotIds)", nativeQuery = true)
+    int deletePilotEntries(@Param("pilotIds") Collection<Long> pilotIds);
+
+    /**
+     * Removes the given cars from all their races with one statement. The join table
+     * rows are deleted directly, so races already loaded by the current persistence
+     * context are not updated.
+     *
+     * @param carIds The car IDs.
+     * @return The number of deleted race entries.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM race_car WHERE car_id IN (:carIds)", nativeQuery = true)
+    int deleteCarEntries(@Param("carIds") Collection<Long> carIds);
 }
@@ -0,0 +1,82 @@
+package com.example.raceapp.service;
+
+import com.example.raceapp.cache.BatchCacheLoader;
+import com.example.raceapp.cache.EntityType;
+import com.example.raceapp.dto.CarResponse;
+import com.example.raceapp.dto.PilotResponse;
+import com.example.raceapp.dto.RaceResponse;
+import com.example.raceapp.exception.BadRequestException;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service retrieving many pilots, cars or races by ID in one call, such as all
+ * participants of a race grid. The responses come from the same cache entries as the
+ * get-by-ID methods: present entries are read with one bulk lookup and only the missing
+ * IDs are loaded, with one call of the entity service. No transaction is started when
+ * every entry is cached.
+ */
+@Service
+public class BatchReadService {
+    /** Largest number of IDs accepted by one call. */
+    static final int MAX_SIZE = 1000;
+
+    private final BatchCacheLoader batchCacheLoader;
+    private final PilotService pilotService;
+    private final CarService carService;
+    private final RaceService raceService;
+
+    public BatchReadService(BatchCacheLoader batchCacheLoader, PilotService pilotService,
+                            CarService carService, RaceService raceService) {
+        this.batchCacheLoader = batchCacheLoader;
+        this.pilotService = pilotService;
+        this.carService = carService;
+        this.raceService = raceService;
+    }
+
+    /**
+     * Retrieves pilots by their IDs.
+     *
+     * @param ids the pilot IDs
+     * @return the pilots found in the order of {@code ids}, without missing IDs and duplicates
+     * @throws BadRequestException if no or more than {@link #MAX_SIZE} IDs are given
+     */
+    public List<PilotResponse> getPilots(Collection<Long> ids) {
+        checkSize(ids);
+        return batchCacheLoader.getAll(EntityType.PILOT, ids,
+                pilotService::getPilotResponsesByIds, PilotResponse::getId);
+    }
+
+    /**
+     * Retrieves cars by their IDs.
+     *
+     * @param ids the car IDs
+     * @return the cars found in the order of {@code ids}, without missing IDs and duplicates
+     * @throws BadRequestException if no or more than {@link #MAX_SIZE} IDs are given
+     */
+    public List<CarResponse> getCars(Collection<Long> ids) {
+        checkSize(ids);
+        return batchCacheLoader.getAll(EntityType.CAR, ids,
+                carService::getCarResponsesByIds, CarResponse::getId);
+    }
+
+    /**
+     * Retrieves races by their IDs.
+     *
+     * @param ids the race IDs
+     * @return the races found in the order of {@code ids}, without missing IDs and duplicates
+     * @throws BadRequestException if no or more than {@link #MAX_SIZE} IDs are given
+     */
+    public List<RaceResponse> getRaces(Collection<Long> ids) {
+        checkSize(ids);
+        return batchCacheLoader.getAll(EntityType.RACE, ids,
+                raceService::getRaceResponsesByIds, RaceResponse::getId);
+    }
+
+    private static void checkSize(Collection<Long> ids) {
+        if (ids.isEmpty() || ids.size() > MAX_SIZE) {
+            throw new BadRequestException("Between 1 and " + MAX_SIZE + " IDs must be given");
+        }
+    }
+}
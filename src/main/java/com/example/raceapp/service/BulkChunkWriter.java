@@ -0,0 +1,21 @@
+package com.example.raceapp.service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes one chunk of validated bulk import rows in a single transaction.
+ *
+ * @param <T> the row type
+ */
+@FunctionalInterface
+public interface BulkChunkWriter<T> {
+
+    /**
+     * Writes the rows that can be written and reports the others.
+     *
+     * @param rows the validated rows of the chunk
+     * @return error messages by field of the rejected rows, keyed by their position in {@code rows}
+     */
+    Map<Integer, Map<String, String>> write(List<T> rows);
+}
@@ -0,0 +1,262 @@
+package com.example.raceapp.service;
+
+import com.example.raceapp.config.BulkImportProperties;
+import com.example.raceapp.dto.BulkImportResponse;
+import com.example.raceapp.dto.BulkRowError;
+import com.example.raceapp.dto.CarDto;
+import com.example.raceapp.dto.PilotDto;
+import com.example.raceapp.dto.RaceDto;
+import com.example.raceapp.exception.BadRequestException;
+import com.example.raceapp.exception.InternalServerException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+
+/**
+ * Service importing large arrays of pilots, cars and races. The request body is
+ * read element by element with the Jackson streaming parser, every row is
+ * validated on its own, and valid rows are written in chunks of
+ * {@code app.bulk.batch-size}, each in its own transaction. Only the current
+ * chunk and a bounded list of row errors are held in memory, whatever the size
+ * of the payload.
+ */
+@Service
+public class BulkImportService {
+
+    private static final String ROW = "row";
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final PilotService pilotService;
+    private final CarService carService;
+    private final RaceService raceService;
+    private final BulkImportProperties properties;
+
+    @Autowired
+    public BulkImportService(ObjectMapper objectMapper, Validator validator,
+                             EntityManager entityManager, PilotService pilotService,
+                             CarService carService, RaceService raceService,
+                             BulkImportProperties properties) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.pilotService = pilotService;
+        this.carService = carService;
+        this.raceService = raceService;
+        this.properties = properties;
+    }
+
+    /**
+     * Imports pilots from a JSON array, or from the {@code pilots} array of a JSON object.
+     *
+     * @param body the request body
+     * @return the outcome of the import
+     */
+    public BulkImportResponse importPilots(InputStream body) {
+        return importRows(body, "pilots", PilotDto.class, pilotService::importPilots);
+    }
+
+    /**
+     * Imports cars from a JSON array, or from the {@code cars} array of a JSON object.
+     *
+     * @param body the request body
+     * @return the outcome of the import
+     */
+    public BulkImportResponse importCars(InputStream body) {
+        return importRows(body, "cars", CarDto.class, carService::importCars);
+    }
+
+    /**
+     * Imports races from a JSON array, or from the {@code races} array of a JSON object.
+     *
+     * @param body the request body
+     * @return the outcome of the import
+     */
+    public BulkImportResponse importRaces(InputStream body) {
+        return importRows(body, "races", RaceDto.class, raceService::importRaces);
+    }
+
+    /**
+     * Streams the rows of the body through validation into the writer.
+     * Rows written before a malformed part of the body stay written.
+     *
+     * @param body   the request body
+     * @param field  the name of the array when the body is a JSON object
+     * @param type   the row type
+     * @param writer the writer of validated chunks
+     * @param <T>    the row type
+     * @return the outcome of the import
+     * @throws BadRequestException if the body is not well-formed or contains no rows
+     */
+    <T> BulkImportResponse importRows(InputStream body, String field, Class<T> type,
+                                      BulkChunkWriter<T> writer) {
+        BulkImportResponse response = new BulkImportResponse();
+        Chunk<T> chunk = new Chunk<>(properties.getBatchSize());
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            moveToArray(parser, field);
+            long index = 0;
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY;
+                 token = parser.nextToken()) {
+                if (token == null) {
+                    throw new BadRequestException("Unexpected end of the '" + field + "' array");
+                }
+                JsonNode node = parser.readValueAsTree();
+                readRow(node, index++, type, chunk, response);
+                if (chunk.isFull()) {
+                    writeChunk(chunk, writer, response);
+                }
+            }
+            response.setTotal(index);
+            writeChunk(chunk, writer, response);
+        } catch (JsonProcessingException e) {
+            BadRequestException exception = new BadRequestException(
+                    "Invalid JSON format: " + e.getOriginalMessage());
+            exception.withDetail("created", response.getCreated());
+            throw exception;
+        } catch (IOException e) {
+            throw new InternalServerException("Failed to read the request body");
+        }
+        if (response.getTotal() == 0) {
+            throw new BadRequestException("The '" + field + "' array cannot be empty");
+        }
+        return response;
+    }
+
+    private void moveToArray(JsonParser parser, String field) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_ARRAY) {
+            return;
+        }
+        if (token == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (field.equals(name) && value == JsonToken.START_ARRAY) {
+                    return;
+                }
+                parser.skipChildren();
+            }
+        }
+        throw new BadRequestException("Request body must be a JSON array or contain a '"
+                + field + "' array");
+    }
+
+    private <T> void readRow(JsonNode node, long index, Class<T> type, Chunk<T> chunk,
+                             BulkImportResponse response) {
+        T row;
+        try {
+            row = objectMapper.treeToValue(node, type);
+        } catch (JsonProcessingException e) {
+            reject(response, index, Map.of(fieldOf(e), "Invalid value"));
+            return;
+        }
+        if (row == null) {
+            reject(response, index, Map.of(ROW, "Row cannot be null"));
+            return;
+        }
+        Map<String, String> violations = validator.validate(row).stream()
+                .collect(Collectors.toMap(
+                        violation -> violation.getPropertyPath().toString(),
+                        ConstraintViolation::getMessage,
+                        (first, second) -> first,
+                        LinkedHashMap::new));
+        if (violations.isEmpty()) {
+            chunk.add(index, row);
+        } else {
+            reject(response, index, violations);
+        }
+    }
+
+    private <T> void writeChunk(Chunk<T> chunk, BulkChunkWriter<T> writer,
+                                BulkImportResponse response) {
+        if (chunk.rows.isEmpty()) {
+            return;
+        }
+        Map<Integer, Map<String, String>> rejected;
+        try {
+            rejected = writer.write(chunk.rows);
+        } catch (DataAccessException | TransactionException e) {
+            rejected = new LinkedHashMap<>();
+            for (int i = 0; i < chunk.rows.size(); i++) {
+                rejected.put(i, Map.of(ROW, "Could not be written: "
+                        + NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+            }
+        }
+        rejected.forEach((position, errors) ->
+                reject(response, chunk.indexes.get(position), errors));
+        response.setCreated(response.getCreated() + chunk.rows.size() - rejected.size());
+        // Detach the written entities so the persistence context does not grow
+        // with the import when it outlives the chunk transaction (open-in-view).
+        entityManager.clear();
+        chunk.clear();
+    }
+
+    private void reject(BulkImportResponse response, long index, Map<String, String> errors) {
+        response.setFailed(response.getFailed() + 1);
+        if (response.getErrors().size() < properties.getMaxReportedErrors()) {
+            response.getErrors().add(new BulkRowError(index, errors));
+        } else {
+            response.setErrorsTruncated(true);
+        }
+    }
+
+    private static String fieldOf(JsonProcessingException e) {
+        if (e instanceof JsonMappingException mappingException
+                && !mappingException.getPath().isEmpty()) {
+            return mappingException.getPath().stream()
+                    .map(reference -> reference.getFieldName() != null
+                            ? reference.getFieldName()
+                            : String.valueOf(reference.getIndex()))
+                    .collect(Collectors.joining("."));
+        }
+        return ROW;
+    }
+
+    /**
+     * Valid rows waiting to be written, with their positions in the request array.
+     */
+    private static final class Chunk<T> {
+        private final int capacity;
+        private final List<T> rows;
+        private final List<Long> indexes;
+
+        private Chunk(int capacity) {
+            this.capacity = capacity;
+            this.rows = new ArrayList<>(capacity);
+            this.indexes = new ArrayList<>(capacity);
+        }
+
+        private void add(long index, T row) {
+            rows.add(row);
+            indexes.add(index);
+        }
+
+        private boolean isFull() {
+            return rows.size() >= capacity;
+        }
+
+        private void clear() {
+            rows.clear();
+            indexes.clear();
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package com.example.raceapp.service;
 
+import com.example.raceapp.cache.CacheInvalidator;
+import com.example.raceapp.cache.CacheNames;
+import com.example.raceapp.cache.EntityType;
 import com.example.raceapp.dto.CarDto;
 import com.example.raceapp.dto.CarResponse;
+import com.example.raceapp.dto.CursorPage;
+import com.example.raceapp.exception.BadRequestException;
 import com.example.raceapp.exception.NotFoundException;
 import com.example.raceapp.model.Car;
 import com.example.raceapp.model.Pilot;
@@ -10,14 +15,19 @@ import com.example.raceapp.repository.PilotRepository;
 import com.example.raceapp.repository.RaceRepository;
 import jakarta.persistence.criteria.Predicate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -30,15 +40,23 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 @Transactional
 public class CarService {
+    /** Largest number of cars deleted at once. */
+    static final int MAX_DELETE_SIZE = 1000;
+    private static final KeysetPagination.Order BY_POWER = new KeysetPagination.Order(
+            List.of("power", "id"), List.of(Integer.class, Long.class));
+
     private final CarRepository carRepository;
     private final PilotRepository pilotRepository;
     private final RaceRepository raceRepository;
+    private final CacheInvalidator cacheInvalidator;
 
     @Autowired
-    public CarService(CarRepository carRepository, PilotRepository pilotRepository, RaceRepository raceRepository) {
+    public CarService(CarRepository carRepository, PilotRepository pilotRepository,
+                      RaceRepository raceRepository, CacheInvalidator cacheInvalidator) {
         this.carRepository = carRepository;
         this.pilotRepository = pilotRepository;
         this.raceRepository = raceRepository;
+        this.cacheInvalidator = cacheInvalidator;
     }
 
     /**
@@ -65,13 +83,54 @@ public class CarService {
      * @param request the CarDto containing the car data
      * @return a CarResponse DTO of the newly created car
      */
-    @Caching(evict = {
-        @CacheEvict(value = "cars", allEntries = true),
-        @CacheEvict(value = "pilots", allEntries = true)
-    })
     public CarResponse createCar(CarDto request) {
         Car car = new Car();
-        return getCarResponse(request, car);
+        CarResponse response = getCarResponse(request, car);
+        cacheInvalidator.evictEntities(EntityType.PILOT, request.getOwnerId());
+        cacheInvalidator.evictQueries(EntityType.CAR);
+        cacheInvalidator.evictQueries(EntityType.PILOT);
+        return response;
+    }
+
+    /**
+     * Creates one chunk of cars of a bulk import. The owners of the whole chunk
+     * are loaded with a single query; rows whose owner does not exist are rejected.
+     *
+     * @param requests the validated car data
+     * @return error messages of the rejected rows keyed by their position in {@code requests}
+     * @see BulkImportService
+     */
+    public Map<Integer, Map<String, String>> importCars(List<CarDto> requests) {
+        Set<Long> ownerIds = requests.stream()
+                .map(CarDto::getOwnerId)
+                .collect(Collectors.toSet());
+        Map<Long, Pilot> owners = pilotRepository.findAllById(ownerIds).stream()
+                .collect(Collectors.toMap(Pilot::getId, Function.identity()));
+
+        Map<Integer, Map<String, String>> rejected = new LinkedHashMap<>();
+        List<Car> cars = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            CarDto request = requests.get(i);
+            Pilot owner = owners.get(request.getOwnerId());
+            if (owner == null) {
+                rejected.put(i, Map.of("ownerId", "Pilot not found"));
+                continue;
+            }
+            Car car = new Car();
+            car.setBrand(request.getBrand());
+            car.setModel(request.getModel());
+            car.setPower(request.getPower());
+            car.setOwner(owner);
+            cars.add(car);
+        }
+
+        carRepository.saveAllAndFlush(cars);
+        cacheInvalidator.evictEntities(EntityType.PILOT, cars.stream()
+                .map(car -> car.getOwner().getId())
+                .toList());
+        cacheInvalidator.evictQueries(EntityType.CAR);
+        cacheInvalidator.evictQueries(EntityType.PILOT);
+        return rejected;
     }
 
     /**
@@ -100,10 +159,10 @@ public class CarService {
      * @param pageable the pagination details
      * @return a Page of CarResponse DTOs matching the filter
      */
-    @Cacheable(value = "cars", key = "{#minPower, #pageable.pageNumber, #pageable.pageSize}")
+    @Cacheable(CacheNames.CAR_PAGES)
+    @Transactional(readOnly = true)
     public Page<CarResponse> getCarsByPower(Integer minPower, Pageable pageable) {
-        return carRepository.findCarsByPowerNative(minPower, pageable)
-                .map(this::mapToResponse);
+        return carRepository.findResponsesByPower(minPower, pageable);
     }
 
     /**
@@ -116,8 +175,8 @@ public class CarService {
      * @param pageable the pagination details
      * @return a Page of CarResponse DTOs matching the filter
      */
-    @Cacheable(value = "cars", key = "{#brand, #model, #power, #ownerId,"
-            + "#pageable.pageNumber, #pageable.pageSize}")
+    @Cacheable(CacheNames.CAR_PAGES)
+    @Transactional(readOnly = true)
     public Page<CarResponse> searchCarsWithPagination(
             String brand,
             String model,
@@ -125,7 +184,50 @@ public class CarService {
             Long ownerId,
             Pageable pageable
     ) {
-        Specification<Car> spec = (root, query, cb) -> {
+        return carRepository.findResponses(filter(brand, model, power, ownerId), pageable);
+    }
+
+    /**
+     * Searches for cars based on the given filter criteria with keyset pagination
+     * in ascending ID order.
+     *
+     * @param brand the brand of the cars to search for
+     * @param model the model of the cars to search for
+     * @param power the power of the cars to search for
+     * @param ownerId the owner ID to filter cars by
+     * @param after the cursor of the previous page, or blank for the first page
+     * @param size the page size
+     * @return a CursorPage of CarResponse DTOs matching the filter
+     */
+    @Cacheable(CacheNames.CAR_PAGES)
+    @Transactional(readOnly = true)
+    public CursorPage<CarResponse> searchCarsAfter(String brand, String model, Integer power,
+                                                   Long ownerId, String after, int size) {
+        return KeysetPagination.scroll(carRepository, filter(brand, model, power, ownerId),
+                KeysetPagination.Order.BY_ID, after, size, this::mapToResponses);
+    }
+
+    /**
+     * Retrieves cars with a power greater than the given minimum with keyset
+     * pagination in ascending order of power and ID.
+     *
+     * @param minPower the minimum power of the cars to be retrieved
+     * @param after the cursor of the previous page, or blank for the first page
+     * @param size the page size
+     * @return a CursorPage of CarResponse DTOs matching the filter
+     */
+    @Cacheable(CacheNames.CAR_PAGES)
+    @Transactional(readOnly = true)
+    public CursorPage<CarResponse> getCarsByPowerAfter(Integer minPower, String after, int size) {
+        Specification<Car> spec = (root, query, cb) ->
+                cb.greaterThan(root.<Integer>get("power"), minPower);
+        return KeysetPagination.scroll(carRepository, spec, BY_POWER, after, size,
+                this::mapToResponses);
+    }
+
+    private static Specification<Car> filter(String brand, String model, Integer power,
+                                             Long ownerId) {
+        return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
             if (brand != null) {
                 predicates.add(cb.equal(root.get("brand"), brand));
@@ -141,8 +243,25 @@ public class CarService {
             }
             return cb.and(predicates.toArray(new Predicate[0]));
         };
+    }
 
-        return carRepository.findAll(spec, pageable).map(this::mapToResponse);
+    /**
+     * Maps a page of cars, loading all their owners with one query first.
+     *
+     * @param cars the cars of a page
+     * @return the CarResponse DTOs in the order of {@code cars}
+     */
+    private List<CarResponse> mapToResponses(List<Car> cars) {
+        Set<Long> ownerIds = cars.stream()
+                .map(Car::getOwner)
+                .filter(Objects::nonNull)
+                .map(Pilot::getId)
+                .collect(Collectors.toSet());
+        if (!ownerIds.isEmpty()) {
+            // Initializes the owner proxies already held by the persistence context.
+            pilotRepository.findAllById(ownerIds);
+        }
+        return cars.stream().map(this::mapToResponse).toList();
     }
 
     /**
@@ -161,11 +280,26 @@ public class CarService {
      * @param id the ID of the car to retrieve
      * @return an Optional containing the CarResponse DTO if found, otherwise empty
      */
-    @Cacheable(value = "cars", key = "#id")
+    @Cacheable(value = CacheNames.CARS, key = "#id")
+    @Transactional(readOnly = true)
     public Optional<CarResponse> getCarById(Long id) {
         return carRepository.findById(id).map(this::mapToResponse);
     }
 
+    /**
+     * Retrieves cars by their IDs with one query.
+     *
+     * @param ids the IDs of the cars to retrieve
+     * @return the CarResponse DTOs of the cars found, in no particular order
+     * @see BatchReadService
+     */
+    @Transactional(readOnly = true)
+    public List<CarResponse> getCarResponsesByIds(Collection<Long> ids) {
+        return carRepository.findAllWithOwnerByIdIn(ids).stream()
+                .map(this::mapToResponse)
+                .toList();
+    }
+
     /**
      * Updates an existing car with new data.
      *
@@ -173,38 +307,68 @@ public class CarService {
      * @param request the CarDto containing the new data
      * @return an Optional containing the updated CarResponse DTO if the car is found
      */
-    @Caching(evict = {
-        @CacheEvict(value = "cars", allEntries = true),
-        @CacheEvict(value = "pilots", allEntries = true)
-    })
     public Optional<CarResponse> updateCar(Long id, CarDto request) {
-        return carRepository.findById(id).map(car -> getCarResponse(request, car));
+        return carRepository.findById(id).map(car -> {
+            Long previousOwnerId = car.getOwner() != null ? car.getOwner().getId() : null;
+            boolean ownershipChanged = !Objects.equals(car.getBrand(), request.getBrand())
+                    || !Objects.equals(previousOwnerId, request.getOwnerId());
+            boolean attributesChanged = ownershipChanged
+                    || !Objects.equals(car.getModel(), request.getModel())
+                    || !Objects.equals(car.getPower(), request.getPower());
+
+            CarResponse response = getCarResponse(request, car);
+            cacheInvalidator.evictEntities(EntityType.CAR, id);
+            cacheInvalidator.evictEntities(EntityType.PILOT, previousOwnerId, request.getOwnerId());
+            if (attributesChanged) {
+                cacheInvalidator.evictQueries(EntityType.CAR);
+            }
+            if (ownershipChanged) {
+                cacheInvalidator.evictQueries(EntityType.PILOT);
+            }
+            return response;
+        });
     }
 
     /**
      * Deletes a car by its ID and removes references to it in related entities.
      *
      * @param id the ID of the car to delete
+     * @throws NotFoundException if the car does not exist
      */
-    @Caching(evict = {
-        @CacheEvict(value = "cars", allEntries = true),
-        @CacheEvict(value = "pilots", allEntries = true),
-        @CacheEvict(value = "races", allEntries = true)
-    })
     public void deleteCar(Long id) {
-        Car car = carRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Car not found"));
-
-        car.getRaces().forEach(race -> {
-            race.getCars().remove(car);
-            raceRepository.save(race);
-        });
+        deleteCars(List.of(id));
+    }
 
-        if (car.getOwner() != null) {
-            car.getOwner().getCars().remove(car);
-            pilotRepository.save(car.getOwner());
+    /**
+     * Deletes cars by their IDs in one transaction. The cars are removed from their races
+     * with one statement, however many races they took part in. Nothing is deleted if a
+     * car does not exist.
+     *
+     * @param ids the IDs of the cars to delete
+     * @throws BadRequestException if no or more than {@link #MAX_DELETE_SIZE} IDs are given
+     * @throws NotFoundException if a car does not exist
+     */
+    public void deleteCars(Collection<Long> ids) {
+        Set<Long> carIds = new LinkedHashSet<>(ids);
+        if (carIds.isEmpty() || carIds.size() > MAX_DELETE_SIZE) {
+            throw new BadRequestException("Between 1 and " + MAX_DELETE_SIZE
+                    + " car IDs must be given");
+        }
+        List<Long> existing = carRepository.findIdsByIdIn(carIds);
+        if (existing.size() < carIds.size()) {
+            Set<Long> missing = new LinkedHashSet<>(carIds);
+            existing.forEach(missing::remove);
+            throw new NotFoundException(carIds.size() == 1
+                    ? "Car not found" : "Cars not found: " + missing);
         }
 
-        carRepository.delete(car);
+        List<Long> ownerIds = carRepository.findOwnerIdsByIdIn(carIds);
+        raceRepository.deleteCarEntries(carIds);
+        carRepository.deleteAllByIdInBatch(carIds);
+
+        cacheInvalidator.evictEntities(EntityType.CAR, carIds);
+        cacheInvalidator.evictEntities(EntityType.PILOT, ownerIds);
+        cacheInvalidator.evictQueries(EntityType.CAR);
+        cacheInvalidator.evictQueries(EntityType.PILOT);
     }
 }
@@ -0,0 +1,168 @@
+package com.example.raceapp.service;
+
+import com.example.raceapp.stats.LatencyHistogram;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service keeping a request counter and a {@link LatencyHistogram} per route.
+ *
+ * <p>A route is the HTTP method, the matched Spring MVC pattern (such as
+ * {@code /cars/{id}}, never the raw URI, so the number of routes stays bounded) and the
+ * status class of the response. Routes are looked up by the pattern string and two
+ * array indexes, so recording a request allocates nothing once its route has been seen.
+ * New routes are also published as {@code visits.endpoint.requests} and
+ * {@code visits.endpoint.latency} metrics.
+ */
+@Service
+public class EndpointMetricsService {
+    /** Pattern reported for requests that no handler matched. */
+    public static final String UNMATCHED = "UNMATCHED";
+
+    private static final String[] METHODS =
+        {"GET", "POST", "PUT", "PATCH", "DELETE", "HEAD", "OPTIONS", "OTHER"};
+    private static final String[] STATUS_CLASSES = {"1xx", "2xx", "3xx", "4xx", "5xx"};
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99, 0.999};
+
+    private final ConcurrentHashMap<String, AtomicReferenceArray<Endpoint>> routes =
+            new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public EndpointMetricsService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Records a finished request.
+     *
+     * @param method      HTTP method of the request.
+     * @param pattern     matched route pattern, or {@code null} if no handler matched.
+     * @param status      status code of the response.
+     * @param nanos       time taken in nanoseconds.
+     */
+    public void record(String method, String pattern, int status, long nanos) {
+        String route = pattern != null ? pattern : UNMATCHED;
+        AtomicReferenceArray<Endpoint> endpoints = routes.get(route);
+        if (endpoints == null) {
+            endpoints = routes.computeIfAbsent(route,
+                    key -> new AtomicReferenceArray<>(METHODS.length * STATUS_CLASSES.length));
+        }
+        int slot = methodIndex(method) * STATUS_CLASSES.length + statusClassIndex(status);
+        Endpoint endpoint = endpoints.get(slot);
+        if (endpoint == null) {
+            endpoint = register(endpoints, slot, route);
+        }
+        endpoint.histogram.record(nanos / 1000);
+    }
+
+    /**
+     * Returns the statistics of every route seen so far, busiest first.
+     *
+     * @return request counts and latency percentiles per route.
+     */
+    public List<EndpointStats> getEndpointStats() {
+        List<EndpointStats> stats = new ArrayList<>();
+        routes.forEach((route, endpoints) -> {
+            for (int i = 0; i < endpoints.length(); i++) {
+                Endpoint endpoint = endpoints.get(i);
+                if (endpoint != null) {
+                    stats.add(endpoint.toStats());
+                }
+            }
+        });
+        stats.sort(Comparator.comparingLong(EndpointStats::count).reversed());
+        return stats;
+    }
+
+    private Endpoint register(AtomicReferenceArray<Endpoint> endpoints, int slot, String route) {
+        Endpoint created = new Endpoint(METHODS[slot / STATUS_CLASSES.length], route,
+                STATUS_CLASSES[slot % STATUS_CLASSES.length]);
+        Endpoint existing = endpoints.compareAndExchange(slot, null, created);
+        if (existing != null) {
+            return existing;
+        }
+        Tags tags = Tags.of("method", created.method, "route", created.route,
+                "status", created.status);
+        FunctionCounter.builder("visits.endpoint.requests", created.histogram,
+                        LatencyHistogram::getCount)
+                .description("Requests per route")
+                .tags(tags)
+                .register(meterRegistry);
+        for (double quantile : QUANTILES) {
+            Gauge.builder("visits.endpoint.latency", created.histogram,
+                            histogram -> histogram.getValueAtQuantile(quantile) / 1000.0)
+                    .description("Latency percentile per route")
+                    .baseUnit("milliseconds")
+                    .tags(tags.and("quantile", String.valueOf(quantile)))
+                    .strongReference(true)
+                    .register(meterRegistry);
+        }
+        return created;
+    }
+
+    private static int methodIndex(String method) {
+        return switch (method) {
+            case "GET" -> 0;
+            case "POST" -> 1;
+            case "PUT" -> 2;
+            case "PATCH" -> 3;
+            case "DELETE" -> 4;
+            case "HEAD" -> 5;
+            case "OPTIONS" -> 6;
+            default -> 7;
+        };
+    }
+
+    private static int statusClassIndex(int status) {
+        return Math.min(Math.max(status / 100 - 1, 0), STATUS_CLASSES.length - 1);
+    }
+
+    private static final class Endpoint {
+        private final String method;
+        private final String route;
+        private final String status;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        private Endpoint(String method, String route, String status) {
+            this.method = method;
+            this.route = route;
+            this.status = status;
+        }
+
+        private EndpointStats toStats() {
+            return new EndpointStats(method, route, status, histogram.getCount(),
+                    histogram.getMean() / 1000.0,
+                    histogram.getValueAtQuantile(0.5) / 1000.0,
+                    histogram.getValueAtQuantile(0.95) / 1000.0,
+                    histogram.getValueAtQuantile(0.99) / 1000.0,
+                    histogram.getValueAtQuantile(0.999) / 1000.0,
+                    histogram.getMax() / 1000.0);
+        }
+    }
+
+    /**
+     * Request count and latencies of one route, in milliseconds.
+     *
+     * @param method  HTTP method
+     * @param route   matched route pattern
+     * @param status  status class of the responses, such as {@code 2xx}
+     * @param count   number of requests
+     * @param mean    mean latency
+     * @param p50     median latency
+     * @param p95     95th percentile latency
+     * @param p99     99th percentile latency
+     * @param p999    99.9th percentile latency
+     * @param max     highest latency
+     */
+    public record EndpointStats(String method, String route, String status, long count,
+                                double mean, double p50, double p95, double p99,
+                                double p999, double max) {}
+}
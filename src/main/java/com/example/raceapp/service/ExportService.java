@@ -0,0 +1,156 @@
+package com.example.raceapp.service;
+
+import com.example.raceapp.model.Car;
+import com.example.raceapp.model.Pilot;
+import com.example.raceapp.repository.CarRepository;
+import com.example.raceapp.repository.PilotRepository;
+import com.example.raceapp.repository.RaceRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service writing all pilots, cars or races as newline-delimited JSON in a single
+ * pass. Rows are read from a database cursor inside a read-only transaction and
+ * rendered in chunks of {@link #CHUNK_SIZE}; the persistence context is cleared
+ * after every chunk, so memory use does not depend on the size of the tables.
+ * Every line holds the same response DTO as the corresponding single-entity endpoint.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ExportService {
+
+    /**
+     * Number of rows rendered between two clears of the persistence context.
+     * Matches the fetch size of the streaming repository queries.
+     */
+    static final int CHUNK_SIZE = 500;
+
+    private final PilotRepository pilotRepository;
+    private final CarRepository carRepository;
+    private final RaceRepository raceRepository;
+    private final PilotService pilotService;
+    private final CarService carService;
+    private final RaceService raceService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+
+    @Autowired
+    public ExportService(PilotRepository pilotRepository, CarRepository carRepository,
+                         RaceRepository raceRepository, PilotService pilotService,
+                         CarService carService, RaceService raceService,
+                         EntityManager entityManager, ObjectMapper objectMapper) {
+        this.pilotRepository = pilotRepository;
+        this.carRepository = carRepository;
+        this.raceRepository = raceRepository;
+        this.pilotService = pilotService;
+        this.carService = carService;
+        this.raceService = raceService;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.rowWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Writes every pilot with their cars, in ascending ID order.
+     *
+     * @param out the stream to write to, left open
+     * @throws IOException if writing fails
+     */
+    public void exportPilots(OutputStream out) throws IOException {
+        try (Stream<Long> ids = pilotRepository.streamAllIds()) {
+            writeInChunks(ids, out, chunk -> {
+                Map<Long, Pilot> pilots = pilotRepository.findAllWithCarsByIdIn(chunk).stream()
+                        .collect(Collectors.toMap(Pilot::getId, Function.identity()));
+                return chunk.stream()
+                        .map(pilots::get)
+                        .filter(Objects::nonNull)
+                        .map(pilotService::mapToResponse)
+                        .toList();
+            });
+        }
+    }
+
+    /**
+     * Writes every car with its owner, in ascending ID order.
+     *
+     * @param out the stream to write to, left open
+     * @throws IOException if writing fails
+     */
+    public void exportCars(OutputStream out) throws IOException {
+        try (Stream<Car> cars = carRepository.streamAllWithOwner();
+             JsonGenerator generator = createGenerator(out)) {
+            Iterator<Car> iterator = cars.iterator();
+            int rendered = 0;
+            while (iterator.hasNext()) {
+                writeRow(generator, carService.mapToResponse(iterator.next()));
+                if (++rendered % CHUNK_SIZE == 0) {
+                    generator.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes every race with its pilots and cars, in ascending ID order.
+     * Each chunk is loaded with the same bounded number of queries as a race page.
+     *
+     * @param out the stream to write to, left open
+     * @throws IOException if writing fails
+     */
+    public void exportRaces(OutputStream out) throws IOException {
+        try (Stream<Long> ids = raceRepository.streamAllIds()) {
+            writeInChunks(ids, out, raceService::loadResponses);
+        }
+    }
+
+    private void writeInChunks(Stream<Long> ids, OutputStream out,
+                               Function<List<Long>, List<?>> loader) throws IOException {
+        try (JsonGenerator generator = createGenerator(out)) {
+            Iterator<Long> iterator = ids.iterator();
+            List<Long> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == CHUNK_SIZE || !iterator.hasNext()) {
+                    for (Object row : loader.apply(chunk)) {
+                        writeRow(generator, row);
+                    }
+                    generator.flush();
+                    entityManager.clear();
+                    chunk.clear();
+                }
+            }
+        }
+    }
+
+    private JsonGenerator createGenerator(OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(new SerializedString(""));
+        return generator;
+    }
+
+    private void writeRow(JsonGenerator generator, Object row) throws IOException {
+        rowWriter.writeValue(generator, row);
+        generator.writeRaw('\n');
+    }
+}
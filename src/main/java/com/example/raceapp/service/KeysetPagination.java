@@ -0,0 +1,130 @@
+package com.example.raceapp.service;
+
+import com.example.raceapp.dto.CursorPage;
+import com.example.raceapp.exception.BadRequestException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+/**
+ * Keyset (seek) pagination over specification queries. A page is read with
+ * {@code WHERE key > last OR (key = last AND id > lastId) ORDER BY key, id LIMIT size + 1},
+ * so its cost does not depend on how deep it is, and no count query is run.
+ * The position of the last row is handed to the client as an opaque cursor:
+ * the URL-safe Base64 encoding of its sort key values.
+ */
+final class KeysetPagination {
+
+    /**
+     * Largest page size accepted.
+     */
+    static final int MAX_SIZE = 1000;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String SEPARATOR = ",";
+
+    private KeysetPagination() {
+    }
+
+    /**
+     * Ascending order over entity attributes, the last one being the ID. The attributes
+     * before it need not be unique: the ID breaks their ties, which is what makes the
+     * order unique. They must however be non-null in every row the query selects, as
+     * the comparisons of the keyset predicate never match a null, so such rows would
+     * be skipped. {@code power} qualifies for the by-power pages because their filter
+     * already excludes cars without a power.
+     *
+     * @param properties the attribute names in order of precedence
+     * @param types      the attribute types, used to decode cursors
+     */
+    record Order(List<String> properties, List<Class<?>> types) {
+
+        static final Order BY_ID = new Order(List.of("id"), List.of(Long.class));
+
+        Sort sort() {
+            return Sort.by(properties.toArray(String[]::new));
+        }
+    }
+
+    /**
+     * Reads the page following the cursor.
+     *
+     * @param repository the repository to query
+     * @param spec       the filter
+     * @param order      the keyset order
+     * @param after      the cursor of the previous page, or blank for the first page
+     * @param size       the page size
+     * @param renderer   maps the entities of the page to their responses
+     * @param <T>        the entity type
+     * @param <R>        the response type
+     * @return the page with the cursor of the next one
+     * @throws BadRequestException if the cursor is malformed or the size out of range
+     */
+    static <T, R> CursorPage<R> scroll(JpaSpecificationExecutor<T> repository,
+                                       Specification<T> spec, Order order, String after,
+                                       int size, Function<List<T>, List<R>> renderer) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new BadRequestException("Size must be between 1 and " + MAX_SIZE);
+        }
+        ScrollPosition position = decode(after, order);
+        Window<T> window = repository.findBy(spec, query -> query
+                .sortBy(order.sort())
+                .limit(size)
+                .scroll(position));
+        String next = window.hasNext()
+                ? encode((KeysetScrollPosition) window.positionAt(window.size() - 1), order)
+                : null;
+        return new CursorPage<>(renderer.apply(window.getContent()), size, next);
+    }
+
+    static String encode(KeysetScrollPosition position, Order order) {
+        List<String> values = new ArrayList<>(order.properties().size());
+        for (String property : order.properties()) {
+            values.add(URLEncoder.encode(String.valueOf(position.getKeys().get(property)),
+                    StandardCharsets.UTF_8));
+        }
+        return ENCODER.encodeToString(String.join(SEPARATOR, values)
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ScrollPosition decode(String cursor, Order order) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String[] values = new String(DECODER.decode(cursor), StandardCharsets.UTF_8)
+                    .split(SEPARATOR, -1);
+            if (values.length != order.properties().size()) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (int i = 0; i < values.length; i++) {
+                Object value = DefaultConversionService.getSharedInstance().convert(
+                        URLDecoder.decode(values[i], StandardCharsets.UTF_8),
+                        order.types().get(i));
+                if (value == null) {
+                    throw new BadRequestException("Invalid cursor");
+                }
+                keys.put(order.properties().get(i), value);
+            }
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | ConversionException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
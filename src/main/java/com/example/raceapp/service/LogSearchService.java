@@ -0,0 +1,310 @@
+package com.example.raceapp.service;
+
+import com.example.raceapp.dto.CursorPage;
+import com.example.raceapp.dto.LogEntry;
+import com.example.raceapp.exception.BadRequestException;
+import com.example.raceapp.exception.InternalServerException;
+import com.example.raceapp.log.LogArchive;
+import com.example.raceapp.log.LogArchiveResource;
+import com.example.raceapp.log.LogIndex;
+import com.example.raceapp.log.LogLineParser;
+import com.example.raceapp.log.LogRegion;
+import com.example.raceapp.log.LogRegionResource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import org.slf4j.event.Level;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service searching the application log by time range, level, logger and text.
+ *
+ * <p>Only the files that can hold the range are read: the archived parts of its days,
+ * found by name, and the part of the active log located through its {@link LogIndex}.
+ * They are read in one streaming pass in time order. Time, level and logger are checked
+ * on the header line of an entry, so rejected entries are never assembled; the text
+ * filter is checked on the whole message. The pass ends at the end of the range or as
+ * soon as one entry more than the page size has matched.
+ */
+@Service
+public class LogSearchService {
+    /** Largest page size accepted. */
+    static final int MAX_SIZE = 1000;
+    /** Longest time range accepted, the retention of the log archive. */
+    static final Duration MAX_RANGE = Duration.ofDays(31);
+    /** Time range searched when none is given. */
+    static final Duration DEFAULT_RANGE = Duration.ofDays(1);
+    private static final int MAX_MESSAGE_LENGTH = 16 * 1024;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final LogIndex logIndex;
+    private final LogArchive logArchive;
+
+    public LogSearchService(LogIndex logIndex, LogArchive logArchive) {
+        this.logIndex = logIndex;
+        this.logArchive = logArchive;
+    }
+
+    /**
+     * Builds a query from request parameters. Without {@code to} the range ends now, and
+     * without {@code from} it starts {@link #DEFAULT_RANGE} before its end.
+     *
+     * @param from   start of the range in ISO format, or blank.
+     * @param to     end of the range in ISO format, or blank.
+     * @param level  lowest level included, or blank for all levels.
+     * @param logger text the logger name must contain, or blank.
+     * @param text   text or regular expression the message must contain, or blank.
+     * @param regex  whether {@code text} is a regular expression.
+     * @return the query.
+     * @throws BadRequestException if a time or the level is invalid.
+     */
+    public Query parseQuery(String from, String to, String level, String logger, String text,
+                            boolean regex) {
+        LocalDateTime end = isBlank(to) ? LocalDateTime.now() : parseTime(to, "to");
+        LocalDateTime start = isBlank(from) ? end.minus(DEFAULT_RANGE) : parseTime(from, "from");
+        Level minLevel = null;
+        if (!isBlank(level)) {
+            try {
+                minLevel = Level.valueOf(level.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Invalid level: " + level);
+            }
+        }
+        return new Query(start, end, minLevel, isBlank(logger) ? null : logger,
+                isBlank(text) ? null : text, regex);
+    }
+
+    private static LocalDateTime parseTime(String value, String name) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid '" + name + "' format, use yyyy-MM-ddTHH:mm:ss");
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * Finds the entries matching a query, oldest first.
+     *
+     * @param query filters of the search.
+     * @param after cursor of the previous page, or blank for the first page.
+     * @param size  maximum number of entries of the page.
+     * @return the matching entries with the cursor of the next page.
+     * @throws BadRequestException if the query, cursor or size is invalid.
+     * @throws InternalServerException if the log cannot be read.
+     */
+    public CursorPage<LogEntry> search(Query query, String after, int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new BadRequestException("Size must be between 1 and " + MAX_SIZE);
+        }
+        if (!query.from().isBefore(query.to())) {
+            throw new BadRequestException("'from' must be before 'to'");
+        }
+        if (Duration.between(query.from(), query.to()).compareTo(MAX_RANGE) > 0) {
+            throw new BadRequestException("Time range must not exceed " + MAX_RANGE.toDays()
+                    + " days");
+        }
+        Cursor cursor = Cursor.decode(after);
+        LocalDateTime start = cursor != null && cursor.timestamp().isAfter(query.from())
+                ? cursor.timestamp() : query.from();
+        Scan scan = new Scan(query, start, cursor, size);
+
+        try {
+            for (LocalDate day = start.toLocalDate(); !scan.done
+                    && day.atStartOfDay().isBefore(query.to()); day = day.plusDays(1)) {
+                for (LogArchive.Part part : logArchive.find(day)) {
+                    scan.read(new LogArchiveResource(List.of(part), null));
+                    if (scan.done) {
+                        break;
+                    }
+                }
+            }
+            if (!scan.done) {
+                Optional<LogRegion> region = logIndex.find(start, query.to());
+                if (region.isPresent()) {
+                    scan.read(new LogRegionResource(region.get()));
+                }
+            }
+        } catch (IOException e) {
+            throw new InternalServerException("Error reading log file: " + e.getMessage());
+        }
+        return scan.page();
+    }
+
+    /**
+     * Filters of a log search.
+     *
+     * @param from   start of the time range, inclusive
+     * @param to     end of the time range, exclusive
+     * @param level  lowest level included, or {@code null} for all levels
+     * @param logger text the logger name must contain, or {@code null}
+     * @param text   text the message must contain, or {@code null}
+     * @param regex  whether {@code text} is a regular expression to find in the message
+     */
+    public record Query(LocalDateTime from, LocalDateTime to, Level level, String logger,
+                        String text, boolean regex) {
+    }
+
+    /**
+     * Position after the last returned entry: its timestamp and how many matching
+     * entries with that same timestamp have been returned.
+     */
+    private record Cursor(LocalDateTime timestamp, int returned) {
+
+        static Cursor decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return null;
+            }
+            try {
+                String[] values = new String(DECODER.decode(cursor), StandardCharsets.UTF_8)
+                        .split(",", -1);
+                if (values.length != 2) {
+                    throw new BadRequestException("Invalid cursor");
+                }
+                return new Cursor(LocalDateTime.parse(values[0]), Integer.parseInt(values[1]));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+
+        String encode() {
+            return ENCODER.encodeToString((timestamp + "," + returned)
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * State of one streaming pass over the files of a search.
+     */
+    private static final class Scan {
+        private final Query query;
+        private final LocalDateTime start;
+        private final Cursor cursor;
+        private final int size;
+        private final Pattern pattern;
+        private final List<LogEntry> entries;
+        private int skipped;
+        private boolean done;
+
+        private LogLineParser.Header current;
+        private StringBuilder message;
+
+        private Scan(Query query, LocalDateTime start, Cursor cursor, int size) {
+            this.query = query;
+            this.start = start;
+            this.cursor = cursor;
+            this.size = size;
+            this.entries = new ArrayList<>(size + 1);
+            this.pattern = query.regex() && query.text() != null ? compile(query.text()) : null;
+        }
+
+        private static Pattern compile(String regex) {
+            try {
+                return Pattern.compile(regex);
+            } catch (PatternSyntaxException e) {
+                throw new BadRequestException("Invalid regular expression: "
+                        + e.getDescription());
+            }
+        }
+
+        void read(Resource resource) throws IOException {
+            try (InputStream in = resource.getInputStream();
+                 BufferedReader reader = new BufferedReader(
+                         new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                String line;
+                while (!done && (line = reader.readLine()) != null) {
+                    accept(line);
+                }
+            }
+            // Entries never span files.
+            complete();
+        }
+
+        private void accept(String line) {
+            LogLineParser.Header header = LogLineParser.parse(line);
+            if (header == null) {
+                if (current != null && message.length() < MAX_MESSAGE_LENGTH) {
+                    message.append('\n').append(line, 0,
+                            Math.min(line.length(), MAX_MESSAGE_LENGTH - message.length()));
+                }
+                return;
+            }
+            complete();
+            if (!header.timestamp().isBefore(query.to())) {
+                done = true;
+                return;
+            }
+            if (matchesHeader(header)) {
+                current = header;
+                message = new StringBuilder(header.message());
+            }
+        }
+
+        private boolean matchesHeader(LogLineParser.Header header) {
+            return !header.timestamp().isBefore(start)
+                    && (query.level() == null
+                        || header.level().toInt() >= query.level().toInt())
+                    && (query.logger() == null || header.logger().contains(query.logger()));
+        }
+
+        private void complete() {
+            LogLineParser.Header header = current;
+            if (header == null) {
+                return;
+            }
+            current = null;
+            String text = message.toString();
+            message = null;
+            if (query.text() != null && !(pattern != null
+                    ? pattern.matcher(text).find() : text.contains(query.text()))) {
+                return;
+            }
+            if (cursor != null && header.timestamp().equals(cursor.timestamp())
+                    && skipped < cursor.returned()) {
+                skipped++;
+                return;
+            }
+            entries.add(new LogEntry(header.timestamp(), header.thread(),
+                    header.level().toString(), header.logger(), text));
+            if (entries.size() > size) {
+                done = true;
+            }
+        }
+
+        CursorPage<LogEntry> page() {
+            if (entries.size() <= size) {
+                return new CursorPage<>(entries, size, null);
+            }
+            List<LogEntry> content = new ArrayList<>(entries.subList(0, size));
+            LocalDateTime last = content.get(size - 1).getTimestamp();
+            int returned = 0;
+            for (LogEntry entry : content) {
+                if (entry.getTimestamp().equals(last)) {
+                    returned++;
+                }
+            }
+            if (cursor != null && cursor.timestamp().equals(last)) {
+                returned += cursor.returned();
+            }
+            return new CursorPage<>(content, size, new Cursor(last, returned).encode());
+        }
+    }
+}
@@ -3,34 +3,49 @@ package com.example.raceapp.service;
 import com.example.raceapp.exception.BadRequestException;
 import com.example.raceapp.exception.InternalServerException;
 import com.example.raceapp.exception.NotFoundException;
+import com.example.raceapp.log.LogArchive;
+import com.example.raceapp.log.LogArchiveResource;
+import com.example.raceapp.log.LogIndex;
+import com.example.raceapp.log.LogRegion;
+import com.example.raceapp.log.LogRegionResource;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.List;
-import java.util.stream.Stream;
-import org.springframework.core.io.ByteArrayResource;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 
 /**
  * Service class responsible for handling operations related to log files.
  * This service provides functionality to retrieve log entries for a specific date.
+ * Closed days are read from their rolled-over parts, found by name in the
+ * {@link LogArchive}; entries still in the active log are located through its sparse
+ * {@link LogIndex}. A lookup therefore never depends on the size of the whole log.
  */
 @Service
 public class LogService {
-    private static final String LOG_FILE_PATH = "logs/application.log";
     public static final DateTimeFormatter DATE_FORMATTER =
             DateTimeFormatter.ofPattern("dd.MM.yyyy");
 
+    private final LogIndex logIndex;
+    private final LogArchive logArchive;
+
+    @Autowired
+    public LogService(LogIndex logIndex, LogArchive logArchive) {
+        this.logIndex = logIndex;
+        this.logArchive = logArchive;
+    }
+
     /**
      * Retrieves the log file content for a specific date.
      *
      * @param date The date for which to retrieve the logs in the format "dd.MM.yyyy".
-     * @return A Resource containing the log entries for the specified date.
+     * @return A {@link LogRegionResource} over the entries if they are all in the active
+     *         log, otherwise a {@link LogArchiveResource} over the parts of the date.
      * @throws NotFoundException with HttpStatus.NOT_FOUND if no logs are found for the given date.
      * @throws InternalServerException with HttpStatus.INTERNAL_SERVER_ERROR if there is an error
      *         reading the log file.
@@ -44,19 +59,40 @@ public class LogService {
         }
         LocalDate targetDate = parseDate(date);
 
-        try (Stream<String> stream = Files.lines(Paths.get(LOG_FILE_PATH))) {
-            List<String> filteredLines = stream
-                    .filter(line -> line.startsWith(targetDate.toString()))
-                    .toList();
-
-            if (filteredLines.isEmpty()) {
-                throw new NotFoundException("No logs found for date: " + date);
+        try {
+            List<LogArchive.Part> parts = logArchive.find(targetDate);
+            Optional<LogRegion> region = logIndex.find(targetDate);
+            if (parts.isEmpty()) {
+                return new LogRegionResource(region.orElseThrow(
+                        () -> new NotFoundException("No logs found for date: " + date)));
             }
+            return new LogArchiveResource(parts, region.orElse(null));
+        } catch (IOException e) {
+            throw new InternalServerException("Error reading log file: " + e.getMessage());
+        }
+    }
 
-            return new ByteArrayResource(
-                    String.join("\n", filteredLines).getBytes(StandardCharsets.UTF_8)
-            );
-
+    /**
+     * Returns the generation of the log files of a date, which changes whenever one of
+     * them is added, replaced or truncated. Once a day has been rolled over completely,
+     * it no longer depends on the active log.
+     *
+     * @param date the date of the entries.
+     * @return opaque identifier of the current content of the date.
+     * @throws InternalServerException with HttpStatus.INTERNAL_SERVER_ERROR if there is an error
+     *         reading the log files.
+     */
+    public String getLogGeneration(LocalDate date) {
+        try {
+            StringBuilder generation = new StringBuilder();
+            for (LogArchive.Part part : logArchive.find(date)) {
+                generation.append(part.file().getFileName()).append(':')
+                        .append(Files.size(part.file())).append('/');
+            }
+            if (logIndex.find(date).isPresent()) {
+                generation.append(logIndex.getGeneration());
+            }
+            return generation.toString();
         } catch (IOException e) {
             throw new InternalServerException("Error reading log file: " + e.getMessage());
         }
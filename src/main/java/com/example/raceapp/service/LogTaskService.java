@@ -1,43 +1,123 @@
 package com.example.raceapp.service;
 
+import com.example.raceapp.config.LogProperties;
+import com.example.raceapp.dto.LogTaskStatus;
 import com.example.raceapp.exception.BadRequestException;
 import com.example.raceapp.exception.InternalServerException;
 import com.example.raceapp.exception.NotFoundException;
-import org.springframework.core.io.Resource;
-import org.springframework.stereotype.Service;
+import com.example.raceapp.exception.TooManyRequestsException;
+import com.example.raceapp.log.LogResultCache;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
 
+/**
+ * Service generating log files for a date in the background.
+ *
+ * <p>Tasks run on a dedicated pool with a bounded queue, so a burst of requests can
+ * neither exhaust shared threads nor pile up without limit: once the queue is full,
+ * new tasks are rejected with 429 Too Many Requests. Each task copies the entries of
+ * its date into a file of its own and reports the bytes copied so far.
+ *
+ * <p>Requests for a date that is already being generated join the running task. The
+ * files of closed days are kept in a {@link LogResultCache}, so requesting such a day
+ * again completes at once until the log file is replaced.
+ */
 @Service
 public class LogTaskService {
+    private static final int TTL_MINUTES = 60;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
     private final Map<String, TaskWrapper> tasks = new ConcurrentHashMap<>();
+    private final Map<LocalDate, String> taskIdsByDate = new ConcurrentHashMap<>();
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+    private final ThreadPoolExecutor generationExecutor;
     private final LogService logService;
+    private final Duration timeout;
+    private final Path resultDirectory;
+    private final LogResultCache resultCache;
 
-    private static final int TTL_MINUTES = 60;
-
-    public LogTaskService(LogService logService) {
+    public LogTaskService(LogService logService, LogProperties properties) {
         this.logService = logService;
+        LogProperties.Generation generation = properties.getGeneration();
+        this.generationExecutor = new ThreadPoolExecutor(
+                generation.getThreads(), generation.getThreads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(generation.getQueueCapacity()),
+                new CustomizableThreadFactory("log-generation-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeout = generation.getTimeout();
+        this.resultDirectory = Paths.get(generation.getDirectory());
+        this.resultCache = new LogResultCache(generation.getCacheMaximumSize());
         startTaskCleanupScheduler();
     }
 
+    /**
+     * Queues the generation of the log file for a date. If the date is already being
+     * generated, or its file is cached, the ID of that task is returned instead.
+     *
+     * @param date the date in the format "dd.MM.yyyy".
+     * @return ID of the task.
+     * @throws BadRequestException if the date format is invalid.
+     * @throws TooManyRequestsException if the generation queue is full.
+     */
     public String startLogGeneration(String date) {
-        String taskId = generateShortId();
-        CompletableFuture<Resource> future = CompletableFuture.supplyAsync(() -> {
-            try {
-                Thread.sleep(5000);
-                return logService.getLogFileForDate(date);
-            } catch (NotFoundException | BadRequestException e) {
-                throw new CompletionException(e);
-            } catch (Exception e) {
-                throw new CompletionException(new InternalServerException("Log generation failed"));
+        LocalDate day = logService.parseDate(date);
+        // Only closed days are final; the generation tells whether their files changed.
+        String generation = day.isBefore(LocalDate.now()) ? logService.getLogGeneration(day) : null;
+
+        return taskIdsByDate.compute(day, (key, currentId) -> {
+            TaskWrapper current = currentId != null ? tasks.get(currentId) : null;
+            if (current != null && current.canServe(generation)) {
+                return currentId;
+            }
+            if (generation != null) {
+                LogResultCache.Entry cached = resultCache.get(day, generation).orElse(null);
+                if (cached != null) {
+                    return register(generateShortId(), TaskWrapper.cached(cached, generation));
+                }
             }
-        }).orTimeout(30, TimeUnit.SECONDS);
+            return submit(day, date, generation);
+        });
+    }
 
-        tasks.put(taskId, new TaskWrapper(future));
+    private String submit(LocalDate day, String date, String generation) {
+        String taskId = generateShortId();
+        TaskWrapper wrapper = new TaskWrapper(new CompletableFuture<>());
+        try {
+            generationExecutor.execute(() -> run(taskId, day, date, generation, wrapper));
+        } catch (RejectedExecutionException e) {
+            throw new TooManyRequestsException("Log generation queue is full, retry later");
+        }
+        wrapper.future.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        return register(taskId, wrapper);
+    }
+
+    private String register(String taskId, TaskWrapper wrapper) {
+        tasks.put(taskId, wrapper);
         return taskId;
     }
 
@@ -46,11 +126,39 @@ public class LogTaskService {
         if (wrapper == null) return "NOT_FOUND";
 
         if (wrapper.future.isDone()) {
-            return wrapper.future.isCompletedExceptionally() ? "FAILED" : "COMPLETED";
+            if (wrapper.future.isCompletedExceptionally()) {
+                return "FAILED";
+            }
+            return wrapper.isEvicted() ? "EXPIRED" : "COMPLETED";
         }
-        return "IN_PROGRESS";
+        return wrapper.started ? "IN_PROGRESS" : "QUEUED";
     }
 
+    /**
+     * Returns the state of a task together with the bytes it has processed.
+     *
+     * @param taskId ID of the task.
+     * @return state and progress of the task.
+     * @throws NotFoundException if there is no such task.
+     */
+    public LogTaskStatus getTaskProgress(String taskId) {
+        TaskWrapper wrapper = tasks.get(taskId);
+        if (wrapper == null) throw new NotFoundException("Task not found");
+
+        long totalBytes = wrapper.totalBytes;
+        return new LogTaskStatus(getTaskStatus(taskId), wrapper.bytesScanned.get(),
+                totalBytes < 0 ? null : totalBytes);
+    }
+
+    /**
+     * Returns the file generated by a task.
+     *
+     * @param taskId ID of the task.
+     * @return the generated file.
+     * @throws NotFoundException if there is no such task, or its file was evicted from
+     *         the result cache since; the date must then be generated again.
+     * @throws IllegalStateException if the task has not completed yet.
+     */
     public Resource getTaskResult(String taskId) {
         TaskWrapper wrapper = tasks.get(taskId);
         if (wrapper == null) throw new NotFoundException("Task not found");
@@ -58,14 +166,76 @@ public class LogTaskService {
         if (!wrapper.future.isDone()) {
             throw new IllegalStateException("Task not completed");
         }
-        return wrapper.future.join();
+        Resource result = wrapper.future.join();
+        if (wrapper.isEvicted()) {
+            throw new NotFoundException("Task result expired, start the generation again");
+        }
+        return result;
+    }
+
+    private void run(String taskId, LocalDate day, String date, String generation,
+                     TaskWrapper wrapper) {
+        if (wrapper.future.isDone()) {
+            // Timed out while waiting in the queue.
+            return;
+        }
+        wrapper.started = true;
+        try {
+            Path result = generate(taskId, date, wrapper);
+            if (generation != null) {
+                LogResultCache.Entry cached = resultCache.put(day, generation, result)
+                        .orElse(null);
+                if (cached != null) {
+                    // The cache owns the file now and deletes it on eviction.
+                    wrapper.resultFile = null;
+                    wrapper.cachedFile = cached.file();
+                    wrapper.generation = generation;
+                    result = cached.file();
+                }
+            }
+            wrapper.future.complete(new FileSystemResource(result));
+        } catch (NotFoundException | BadRequestException e) {
+            wrapper.future.completeExceptionally(e);
+        } catch (Exception e) {
+            wrapper.deleteResult();
+            wrapper.future.completeExceptionally(
+                    new InternalServerException("Log generation failed"));
+        }
+    }
+
+    private Path generate(String taskId, String date, TaskWrapper wrapper) throws IOException {
+        Resource source = logService.getLogFileForDate(date);
+        wrapper.totalBytes = source.contentLength();
+
+        Files.createDirectories(resultDirectory);
+        Path target = resultDirectory.resolve(taskId + ".log");
+        wrapper.resultFile = target;
+        try (InputStream in = source.getInputStream();
+             OutputStream out = Files.newOutputStream(target)) {
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                if (wrapper.future.isDone()) {
+                    throw new InterruptedIOException("Log generation timed out");
+                }
+                out.write(buffer, 0, read);
+                wrapper.bytesScanned.addAndGet(read);
+            }
+        }
+        return target;
     }
 
     private void startTaskCleanupScheduler() {
-        scheduler.scheduleAtFixedRate(() ->
-                tasks.entrySet().removeIf(entry ->
-                        entry.getValue().isExpired()
-                ), 1, 1, TimeUnit.HOURS);
+        scheduler.scheduleAtFixedRate(() -> {
+            tasks.values().removeIf(wrapper -> {
+                if (!wrapper.isExpired()) {
+                    return false;
+                }
+                wrapper.deleteResult();
+                return true;
+            });
+            taskIdsByDate.values().removeIf(taskId -> !tasks.containsKey(taskId));
+        }, 1, 1, TimeUnit.HOURS);
     }
 
     private String generateShortId() {
@@ -75,23 +245,80 @@ public class LogTaskService {
                 .toLowerCase();
     }
 
+    @PreDestroy
+    void shutdown() {
+        generationExecutor.shutdownNow();
+        scheduler.shutdownNow();
+        resultCache.clear();
+    }
+
     public static class TaskWrapper {
         public final CompletableFuture<Resource> future;
         final Instant creationTime;
+        final AtomicLong bytesScanned = new AtomicLong();
+        volatile long totalBytes = -1;
+        volatile boolean started;
+        volatile Path resultFile;
+        volatile Path cachedFile;
+        volatile String generation;
 
         TaskWrapper(CompletableFuture<Resource> future) {
             this.future = future;
             this.creationTime = Instant.now();
         }
 
+        static TaskWrapper cached(LogResultCache.Entry entry, String generation) {
+            TaskWrapper wrapper = new TaskWrapper(
+                    CompletableFuture.completedFuture(new FileSystemResource(entry.file())));
+            wrapper.started = true;
+            wrapper.totalBytes = entry.size();
+            wrapper.bytesScanned.set(entry.size());
+            wrapper.cachedFile = entry.file();
+            wrapper.generation = generation;
+            return wrapper;
+        }
+
+        /**
+         * Tells whether a new request for the same date can share this task: either it
+         * is still running, or its file is cached for the current log generation.
+         */
+        boolean canServe(String currentGeneration) {
+            if (!future.isDone()) {
+                return true;
+            }
+            Path file = cachedFile;
+            return file != null && currentGeneration != null
+                    && currentGeneration.equals(generation) && Files.exists(file);
+        }
+
+        /**
+         * Tells whether the file of this task was cached and has been deleted by the
+         * cache since.
+         */
+        boolean isEvicted() {
+            Path file = cachedFile;
+            return file != null && !Files.exists(file);
+        }
+
         boolean isExpired() {
             return Instant.now().isAfter(
                     creationTime.plus(TTL_MINUTES, ChronoUnit.MINUTES)
             );
         }
+
+        void deleteResult() {
+            Path file = resultFile;
+            if (file != null) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException ignored) {
+                    // Removed by the next cleanup or together with the directory.
+                }
+            }
+        }
     }
 
     public Map<String, TaskWrapper> getTasks() {
         return tasks;
     }
-}
\ No newline at end of file
+}
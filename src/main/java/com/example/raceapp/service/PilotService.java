@@ -1,24 +1,32 @@
 package com.example.raceapp.service;
 
+import com.example.raceapp.cache.CacheInvalidator;
+import com.example.raceapp.cache.CacheNames;
+import com.example.raceapp.cache.EntityType;
 import com.example.raceapp.dto.CarSimpleResponse;
+import com.example.raceapp.dto.CursorPage;
 import com.example.raceapp.dto.PilotDto;
 import com.example.raceapp.dto.PilotResponse;
+import com.example.raceapp.exception.BadRequestException;
 import com.example.raceapp.exception.NotFoundException;
 import com.example.raceapp.model.Car;
 import com.example.raceapp.model.Pilot;
+import com.example.raceapp.repository.OwnedCar;
 import com.example.raceapp.repository.PilotRepository;
 import com.example.raceapp.repository.RaceRepository;
 import jakarta.persistence.criteria.Predicate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -32,13 +40,19 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 @Transactional
 public class PilotService {
+    /** Largest number of pilots deleted at once. */
+    static final int MAX_DELETE_SIZE = 1000;
 
     private final PilotRepository pilotRepository;
     private final RaceRepository raceRepository;
+    private final CacheInvalidator cacheInvalidator;
+
     @Autowired
-    public PilotService(PilotRepository pilotRepository, RaceRepository raceRepository) {
+    public PilotService(PilotRepository pilotRepository, RaceRepository raceRepository,
+                        CacheInvalidator cacheInvalidator) {
         this.pilotRepository = pilotRepository;
         this.raceRepository = raceRepository;
+        this.cacheInvalidator = cacheInvalidator;
     }
 
     /**
@@ -80,37 +94,36 @@ public class PilotService {
      * @param request the DTO containing the new pilot's details
      * @return the created pilot's response as a {@link PilotResponse}
      */
-    @Caching(evict = {
-        @CacheEvict(value = "pilots", allEntries = true),
-        @CacheEvict(value = "cars", allEntries = true)
-    })
     public PilotResponse createPilot(PilotDto request) {
         Pilot pilot = new Pilot();
         pilot.setName(request.getName());
         pilot.setAge(request.getAge());
         pilot.setExperience(request.getExperience());
-        return mapToResponse(pilotRepository.save(pilot));
-    }
-
-    @Caching(evict = {
-            @CacheEvict(value = "pilots", allEntries = true),
-            @CacheEvict(value = "cars", allEntries = true)
-    })
-    public List<PilotResponse> createPilotsBulk(List<PilotDto> requests) {
-        List<Pilot> pilots = requests.stream()
-                .map(request -> {
-                    Pilot pilot = new Pilot();
-                    pilot.setName(request.getName());
-                    pilot.setAge(request.getAge());
-                    pilot.setExperience(request.getExperience());
-                    return pilot;
-                })
-                .collect(Collectors.toList());
-
-        List<Pilot> savedPilots = pilotRepository.saveAll(pilots);
-        return savedPilots.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        PilotResponse response = mapToResponse(pilotRepository.save(pilot));
+        cacheInvalidator.evictQueries(EntityType.PILOT);
+        return response;
+    }
+
+    /**
+     * Creates one chunk of pilots of a bulk import. Pilots do not reference other
+     * entities, so every validated row is written.
+     *
+     * @param requests the validated pilot data
+     * @return an empty map, as no row is rejected
+     * @see BulkImportService
+     */
+    public Map<Integer, Map<String, String>> importPilots(List<PilotDto> requests) {
+        pilotRepository.saveAllAndFlush(requests.stream().map(this::toEntity).toList());
+        cacheInvalidator.evictQueries(EntityType.PILOT);
+        return Map.of();
+    }
+
+    private Pilot toEntity(PilotDto request) {
+        Pilot pilot = new Pilot();
+        pilot.setName(request.getName());
+        pilot.setAge(request.getAge());
+        pilot.setExperience(request.getExperience());
+        return pilot;
     }
 
     /**
@@ -120,10 +133,10 @@ public class PilotService {
      * @param pageable the pagination details
      * @return a paginated list of {@link PilotResponse} objects
      */
-    @Cacheable(value = "pilots", key = "{#brand, #pageable.pageNumber, #pageable.pageSize}")
+    @Cacheable(CacheNames.PILOT_PAGES)
+    @Transactional(readOnly = true)
     public Page<PilotResponse> getPilotsByCarBrandNative(String brand, Pageable pageable) {
-        return pilotRepository.findPilotsByCarBrandNative(brand, pageable)
-                .map(this::mapToResponse);
+        return withCars(pilotRepository.findResponsesByCarBrand(brand, pageable));
     }
 
     /**
@@ -136,15 +149,69 @@ public class PilotService {
      * @param pageable   the pagination details
      * @return a paginated list of {@link PilotResponse} objects that match the search criteria
      */
-    @Cacheable(value = "pilots", key = "{#name, #age, #experience, "
-            + "#pageable.pageNumber, #pageable.pageSize}")
+    @Cacheable(CacheNames.PILOT_PAGES)
+    @Transactional(readOnly = true)
     public Page<PilotResponse> searchPilotsWithPagination(
             String name,
             Integer age,
             Integer experience,
             Pageable pageable
     ) {
-        Specification<Pilot> spec = (root, query, cb) -> {
+        return withCars(pilotRepository.findResponses(filter(name, age, experience), pageable));
+    }
+
+    /**
+     * Sets the cars of a page of pilot responses built by a projection query, loading
+     * the cars of all pilots with one query.
+     *
+     * @param page the pilot responses without cars
+     * @return the same page with the cars of every pilot set
+     */
+    private Page<PilotResponse> withCars(Page<PilotResponse> page) {
+        if (page.isEmpty()) {
+            return page;
+        }
+        Map<Long, List<CarSimpleResponse>> carsByOwner = pilotRepository
+                .findOwnedCars(page.getContent().stream().map(PilotResponse::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(OwnedCar::ownerId,
+                        Collectors.mapping(OwnedCar::toResponse, Collectors.toList())));
+        page.forEach(pilot -> pilot.setCars(
+                carsByOwner.getOrDefault(pilot.getId(), List.of())));
+        return page;
+    }
+
+    /**
+     * Searches for pilots based on provided filters (name, age, experience)
+     * with keyset pagination in ascending ID order.
+     *
+     * @param name       the name to search by
+     * @param age        the age to search by
+     * @param experience the experience level to search by
+     * @param after      the cursor of the previous page, or blank for the first page
+     * @param size       the page size
+     * @return a {@link CursorPage} of {@link PilotResponse} objects that match the criteria
+     */
+    @Cacheable(CacheNames.PILOT_PAGES)
+    @Transactional(readOnly = true)
+    public CursorPage<PilotResponse> searchPilotsAfter(String name, Integer age,
+                                                       Integer experience, String after,
+                                                       int size) {
+        return KeysetPagination.scroll(pilotRepository, filter(name, age, experience),
+                KeysetPagination.Order.BY_ID, after, size, pilots -> {
+                    if (!pilots.isEmpty()) {
+                        // Initializes the car collections of the pilots already held
+                        // by the persistence context with one query.
+                        pilotRepository.findAllWithCarsByIdIn(pilots.stream()
+                                .map(Pilot::getId)
+                                .toList());
+                    }
+                    return pilots.stream().map(this::mapToResponse).toList();
+                });
+    }
+
+    private static Specification<Pilot> filter(String name, Integer age, Integer experience) {
+        return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
             if (name != null) {
                 predicates.add(cb.equal(root.get("name"), name));
@@ -157,8 +224,6 @@ public class PilotService {
             }
             return cb.and(predicates.toArray(new Predicate[0]));
         };
-
-        return pilotRepository.findAll(spec, pageable).map(this::mapToResponse);
     }
 
     /**
@@ -168,11 +233,26 @@ public class PilotService {
      * @return an {@link Optional} containing the {@link PilotResponse}
      *          if found, or empty if not found
      */
-    @Cacheable(value = "pilots", key = "#id")
+    @Cacheable(value = CacheNames.PILOTS, key = "#id")
+    @Transactional(readOnly = true)
     public Optional<PilotResponse> getPilotById(Long id) {
         return pilotRepository.findById(id).map(this::mapToResponse);
     }
 
+    /**
+     * Retrieves pilots by their IDs with their cars in one query.
+     *
+     * @param ids the IDs of the pilots to retrieve
+     * @return the {@link PilotResponse} DTOs of the pilots found, in no particular order
+     * @see BatchReadService
+     */
+    @Transactional(readOnly = true)
+    public List<PilotResponse> getPilotResponsesByIds(Collection<Long> ids) {
+        return pilotRepository.findAllWithCarsByIdIn(ids).stream()
+                .map(this::mapToResponse)
+                .toList();
+    }
+
     /**
      * Retrieves pilots by their IDs.
      *
@@ -190,16 +270,20 @@ public class PilotService {
      * @param request the DTO containing the updated details
      * @return an {@link Optional} containing the updated {@link PilotResponse} if successful
      */
-    @Caching(evict = {
-        @CacheEvict(value = "pilots", allEntries = true),
-        @CacheEvict(value = "cars", allEntries = true)
-    })
     public Optional<PilotResponse> updatePilot(Long id, PilotDto request) {
         return pilotRepository.findById(id).map(pilot -> {
+            boolean attributesChanged = !Objects.equals(pilot.getName(), request.getName())
+                    || !Objects.equals(pilot.getAge(), request.getAge())
+                    || !Objects.equals(pilot.getExperience(), request.getExperience());
             pilot.setName(request.getName());
             pilot.setAge(request.getAge());
             pilot.setExperience(request.getExperience());
-            return mapToResponse(pilotRepository.save(pilot));
+            PilotResponse response = mapToResponse(pilotRepository.save(pilot));
+            cacheInvalidator.evictEntities(EntityType.PILOT, id);
+            if (attributesChanged) {
+                cacheInvalidator.evictQueries(EntityType.PILOT);
+            }
+            return response;
         });
     }
 
@@ -207,29 +291,47 @@ public class PilotService {
      * Deletes a pilot by their ID and removes them from any associated cars and races.
      *
      * @param id the ID of the pilot to delete
+     * @throws NotFoundException if the pilot does not exist
      */
-    @Caching(evict = {
-        @CacheEvict(value = "pilots", allEntries = true),
-        @CacheEvict(value = "cars", allEntries = true),
-        @CacheEvict(value = "races", allEntries = true)
-    })
     public void deletePilot(Long id) {
-        Pilot pilot = pilotRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Pilot not found"));
-
-        pilot.getCars().forEach(car -> {
-            car.setOwner(null);
-            car.getRaces().forEach(race -> {
-                race.getCars().remove(car);
-                raceRepository.save(race);
-            });
-        });
+        deletePilots(List.of(id));
+    }
 
-        pilot.getRaces().forEach(race -> {
-            race.getPilots().remove(pilot);
-            raceRepository.save(race);
-        });
+    /**
+     * Deletes pilots by their IDs in one transaction. The pilots and their cars are
+     * removed from their races and the cars lose their owner with one statement each,
+     * however many races and cars are involved. Nothing is deleted if a pilot does not
+     * exist.
+     *
+     * @param ids the IDs of the pilots to delete
+     * @throws BadRequestException if no or more than {@link #MAX_DELETE_SIZE} IDs are given
+     * @throws NotFoundException if a pilot does not exist
+     */
+    public void deletePilots(Collection<Long> ids) {
+        Set<Long> pilotIds = new LinkedHashSet<>(ids);
+        if (pilotIds.isEmpty() || pilotIds.size() > MAX_DELETE_SIZE) {
+            throw new BadRequestException("Between 1 and " + MAX_DELETE_SIZE
+                    + " pilot IDs must be given");
+        }
+        List<Long> existing = pilotRepository.findIdsByIdIn(pilotIds);
+        if (existing.size() < pilotIds.size()) {
+            Set<Long> missing = new LinkedHashSet<>(pilotIds);
+            existing.forEach(missing::remove);
+            throw new NotFoundException(pilotIds.size() == 1
+                    ? "Pilot not found" : "Pilots not found: " + missing);
+        }
+
+        List<Long> carIds = pilotRepository.findCarIdsByOwnerIdIn(pilotIds);
+        raceRepository.deletePilotEntries(pilotIds);
+        if (!carIds.isEmpty()) {
+            raceRepository.deleteCarEntries(carIds);
+            pilotRepository.releaseCars(pilotIds);
+        }
+        pilotRepository.deleteAllByIdInBatch(pilotIds);
 
-        pilotRepository.delete(pilot);
+        cacheInvalidator.evictEntities(EntityType.PILOT, pilotIds);
+        cacheInvalidator.evictEntities(EntityType.CAR, carIds);
+        cacheInvalidator.evictQueries(EntityType.PILOT);
+        cacheInvalidator.evictQueries(EntityType.CAR);
     }
-}
\ No newline at end of file
+}
@@ -1,19 +1,33 @@
 package com.example.raceapp.service;
 
+import com.example.raceapp.cache.CacheInvalidator;
+import com.example.raceapp.cache.CacheNames;
+import com.example.raceapp.cache.EntityType;
+import com.example.raceapp.dto.CursorPage;
 import com.example.raceapp.dto.PilotSimpleResponse;
 import com.example.raceapp.dto.RaceDto;
 import com.example.raceapp.dto.RaceResponse;
 import com.example.raceapp.exception.NotFoundException;
+import com.example.raceapp.model.Car;
 import com.example.raceapp.model.Pilot;
 import com.example.raceapp.model.Race;
+import com.example.raceapp.repository.PilotRepository;
 import com.example.raceapp.repository.RaceRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,14 +41,20 @@ import org.springframework.transaction.annotation.Transactional;
 public class RaceService {
 
     private final RaceRepository raceRepository;
+    private final PilotRepository pilotRepository;
     private final PilotService pilotService;
     private final CarService carService;
+    private final CacheInvalidator cacheInvalidator;
 
     @Autowired
-    public RaceService(RaceRepository raceRepository, PilotService pilotService, CarService carService) {
+    public RaceService(RaceRepository raceRepository, PilotRepository pilotRepository,
+                       PilotService pilotService, CarService carService,
+                       CacheInvalidator cacheInvalidator) {
         this.raceRepository = raceRepository;
+        this.pilotRepository = pilotRepository;
         this.pilotService = pilotService;
         this.carService = carService;
+        this.cacheInvalidator = cacheInvalidator;
     }
 
     /**
@@ -77,18 +97,77 @@ public class RaceService {
      * @param request the RaceDto containing race data
      * @return the created RaceResponse DTO
      */
-    @Caching(evict = {
-        @CacheEvict(value = "races", allEntries = true),
-        @CacheEvict(value = "pilots", allEntries = true),
-        @CacheEvict(value = "cars", allEntries = true)
-    })
     public RaceResponse createRace(RaceDto request) {
         Race race = new Race();
         race.setName(request.getName());
         race.setYear(request.getYear());
         race.setPilots(pilotService.getPilotsByIds(request.getPilotIds()));
         race.setCars(carService.getCarsByIds(request.getCarIds()));
-        return mapToResponse(raceRepository.save(race));
+        RaceResponse response = mapToResponse(raceRepository.save(race));
+        cacheInvalidator.evictQueries(EntityType.RACE);
+        return response;
+    }
+
+    /**
+     * Creates one chunk of races of a bulk import. The pilots and cars of the whole
+     * chunk are loaded with one query each; rows referencing a pilot or car that
+     * does not exist are rejected.
+     *
+     * @param requests the validated race data
+     * @return error messages of the rejected rows keyed by their position in {@code requests}
+     * @see BulkImportService
+     */
+    public Map<Integer, Map<String, String>> importRaces(List<RaceDto> requests) {
+        Map<Long, Pilot> pilots = pilotService.getPilotsByIds(requests.stream()
+                        .map(RaceDto::getPilotIds)
+                        .flatMap(Collection::stream)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Pilot::getId, Function.identity()));
+        Map<Long, Car> cars = carService.getCarsByIds(requests.stream()
+                        .map(RaceDto::getCarIds)
+                        .flatMap(Collection::stream)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Car::getId, Function.identity()));
+
+        Map<Integer, Map<String, String>> rejected = new LinkedHashMap<>();
+        List<Race> races = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            RaceDto request = requests.get(i);
+            Map<String, String> errors = new LinkedHashMap<>();
+            Set<Pilot> racePilots = resolve(request.getPilotIds(), pilots, "pilotIds",
+                    "Pilots not found: ", errors);
+            Set<Car> raceCars = resolve(request.getCarIds(), cars, "carIds",
+                    "Cars not found: ", errors);
+            if (!errors.isEmpty()) {
+                rejected.put(i, errors);
+                continue;
+            }
+            Race race = new Race();
+            race.setName(request.getName());
+            race.setYear(request.getYear());
+            race.setPilots(racePilots);
+            race.setCars(raceCars);
+            races.add(race);
+        }
+
+        raceRepository.saveAllAndFlush(races);
+        cacheInvalidator.evictQueries(EntityType.RACE);
+        return rejected;
+    }
+
+    private static <E> Set<E> resolve(Set<Long> ids, Map<Long, E> entities, String field,
+                                      String message, Map<String, String> errors) {
+        List<Long> missing = ids.stream()
+                .filter(id -> !entities.containsKey(id))
+                .sorted()
+                .toList();
+        if (!missing.isEmpty()) {
+            errors.put(field, message + missing);
+        }
+        return ids.stream()
+                .map(entities::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(HashSet::new));
     }
 
     /**
@@ -97,9 +176,27 @@ public class RaceService {
      * @param pageable the pagination information
      * @return a page of RaceResponse DTOs
      */
-    @Cacheable(value = "races", key = "#pageable.pageNumber + '-' + #pageable.pageSize")
+    @Cacheable(CacheNames.RACE_PAGES)
+    @Transactional(readOnly = true)
     public Page<RaceResponse> getAllRaces(Pageable pageable) {
-        return raceRepository.findAll(pageable).map(this::mapToResponse);
+        Page<Long> ids = raceRepository.findPageOfIds(pageable);
+        return new PageImpl<>(loadResponses(ids.getContent()), pageable, ids.getTotalElements());
+    }
+
+    /**
+     * Retrieves races with keyset pagination in ascending ID order.
+     *
+     * @param after the cursor of the previous page, or blank for the first page
+     * @param size the page size
+     * @return a cursor page of RaceResponse DTOs
+     */
+    @Cacheable(CacheNames.RACE_PAGES)
+    @Transactional(readOnly = true)
+    public CursorPage<RaceResponse> getRacesAfter(String after, int size) {
+        return KeysetPagination.scroll(raceRepository, (root, query, cb) -> cb.conjunction(),
+                KeysetPagination.Order.BY_ID, after, size, races -> loadResponses(races.stream()
+                        .map(Race::getId)
+                        .toList()));
     }
 
     /**
@@ -108,9 +205,56 @@ public class RaceService {
      * @param id the race ID
      * @return an Optional containing the RaceResponse DTO if found
      */
-    @Cacheable(value = "races", key = "#id")
+    @Cacheable(value = CacheNames.RACES, key = "#id")
+    @Transactional(readOnly = true)
     public Optional<RaceResponse> getRaceById(Long id) {
-        return raceRepository.findById(id).map(this::mapToResponse);
+        return loadResponses(List.of(id)).stream().findFirst();
+    }
+
+    /**
+     * Retrieves races by their IDs with the fixed number of queries of
+     * {@link #loadResponses(List)}.
+     *
+     * @param ids the race IDs
+     * @return the RaceResponse DTOs of the races found, in the order of {@code ids}
+     * @see BatchReadService
+     */
+    @Transactional(readOnly = true)
+    public List<RaceResponse> getRaceResponsesByIds(Collection<Long> ids) {
+        return loadResponses(List.copyOf(ids));
+    }
+
+    /**
+     * Loads races with all data rendered into their responses using a fixed number
+     * of queries regardless of how many races, pilots and cars are involved:
+     * races with pilots, races with cars and owners, and the pilots' cars.
+     *
+     * @param ids the race IDs in the order the responses should be returned
+     * @return the RaceResponse DTOs of the races found, in the order of {@code ids}
+     */
+    List<RaceResponse> loadResponses(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Race> races = raceRepository.findAllWithPilotsByIdIn(ids).stream()
+                .collect(Collectors.toMap(Race::getId, Function.identity()));
+        // The following fetches initialize collections of the entities already
+        // held by the persistence context, so their results need not be used.
+        raceRepository.findAllWithCarsByIdIn(ids);
+        List<Long> pilotIds = races.values().stream()
+                .map(Race::getPilots)
+                .flatMap(Collection::stream)
+                .map(Pilot::getId)
+                .distinct()
+                .toList();
+        if (!pilotIds.isEmpty()) {
+            pilotRepository.findAllWithCarsByIdIn(pilotIds);
+        }
+        return ids.stream()
+                .map(races::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToResponse)
+                .toList();
     }
 
     /**
@@ -120,18 +264,20 @@ public class RaceService {
      * @param request the RaceDto containing updated race data
      * @return an Optional containing the updated RaceResponse DTO if the race was found
      */
-    @Caching(evict = {
-        @CacheEvict(value = "races", allEntries = true),
-        @CacheEvict(value = "pilots", allEntries = true),
-        @CacheEvict(value = "cars", allEntries = true)
-    })
     public Optional<RaceResponse> updateRace(Long id, RaceDto request) {
         return raceRepository.findById(id).map(race -> {
+            boolean attributesChanged = !Objects.equals(race.getName(), request.getName())
+                    || !Objects.equals(race.getYear(), request.getYear());
             race.setName(request.getName());
             race.setYear(request.getYear());
             race.setPilots(pilotService.getPilotsByIds(request.getPilotIds()));
             race.setCars(carService.getCarsByIds(request.getCarIds()));
-            return mapToResponse(raceRepository.save(race));
+            RaceResponse response = mapToResponse(raceRepository.save(race));
+            cacheInvalidator.evictEntities(EntityType.RACE, id);
+            if (attributesChanged) {
+                cacheInvalidator.evictQueries(EntityType.RACE);
+            }
+            return response;
         });
     }
 
@@ -141,16 +287,13 @@ public class RaceService {
      * @param id the race ID
      * @throws IllegalArgumentException if the race with the specified ID is not found
      */
-    @Caching(evict = {
-        @CacheEvict(value = "races", allEntries = true),
-        @CacheEvict(value = "pilots", allEntries = true),
-        @CacheEvict(value = "cars", allEntries = true)
-    })
     public void deleteRace(Long id) {
         Race race = raceRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Race not found"));
         race.getPilots().clear();
         race.getCars().clear();
         raceRepository.delete(race);
+        cacheInvalidator.evictEntities(EntityType.RACE, id);
+        cacheInvalidator.evictQueries(EntityType.RACE);
     }
 }
@@ -1,23 +1,251 @@
 package com.example.raceapp.service;
 
+import com.example.raceapp.config.VisitProperties;
+import com.example.raceapp.exception.BadRequestException;
+import com.example.raceapp.stats.HeavyHitters;
+import com.example.raceapp.stats.HyperLogLog;
+import com.example.raceapp.stats.TimeBucketRing;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Service counting the requests passing the {@code VisitCounterFilter}.
+ *
+ * <p>The total is kept in a striped {@link LongAdder} and the unique clients in a
+ * {@link HyperLogLog} sketch, so recording a visit takes no lock and the memory stays
+ * fixed however many distinct {@code X-Client-Id} values arrive. The same visits are
+ * also recorded in a {@link TimeBucketRing} per {@link Resolution}, from which the
+ * statistics of recent time windows are merged. The busiest clients are ranked by a
+ * {@link HeavyHitters} tracker, again in fixed memory.
+ */
 @Service
 public class VisitCounterService {
-    private final AtomicLong totalCounter = new AtomicLong(0);
-    private final Set<String> uniqueClients = ConcurrentHashMap.newKeySet();
+    private static final int TOP_CLIENTS_DEPTH = 5;
 
-    public synchronized void recordVisit(String clientId) {
-        totalCounter.incrementAndGet();
-        uniqueClients.add(clientId);
+    private final LongAdder totalCounter = new LongAdder();
+    private final HyperLogLog uniqueClients;
+    private final HeavyHitters topClients;
+    private final TimeBucketRing[] rings = new TimeBucketRing[Resolution.values().length];
+    private final Clock clock;
+
+    @Autowired
+    public VisitCounterService(VisitProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    VisitCounterService(VisitProperties properties, Clock clock) {
+        this.clock = clock;
+        this.uniqueClients = new HyperLogLog(
+                HyperLogLog.precisionFor(properties.getUniqueError()));
+        this.topClients = new HeavyHitters(properties.getTopClientsCapacity(),
+                properties.getTopClientsError(), TOP_CLIENTS_DEPTH);
+        int bucketPrecision = HyperLogLog.precisionFor(properties.getBucketUniqueError());
+        for (Resolution resolution : Resolution.values()) {
+            rings[resolution.ordinal()] = new TimeBucketRing(
+                    resolution.bucket.toMillis(), resolution.buckets, bucketPrecision);
+        }
+    }
+
+    public void recordVisit(String clientId) {
+        long hash = HyperLogLog.hash(clientId);
+        long now = clock.millis();
+        totalCounter.increment();
+        uniqueClients.addHash(hash);
+        topClients.add(clientId, hash);
+        for (TimeBucketRing ring : rings) {
+            ring.record(now, hash);
+        }
     }
 
     public VisitStats getStats() {
-        return new VisitStats(totalCounter.get(), uniqueClients.size());
+        return new VisitStats(totalCounter.sum(), uniqueClients.estimate(),
+                uniqueClients.getRelativeError());
+    }
+
+    /**
+     * Returns the clients with the most visits and their estimated visit counts.
+     *
+     * @param limit number of clients, between 1 and the configured capacity.
+     * @return the busiest clients, busiest first, and the error bound of their counts.
+     * @throws BadRequestException if the limit is out of range.
+     */
+    public TopClients getTopClients(int limit) {
+        if (limit < 1 || limit > topClients.getCapacity()) {
+            throw new BadRequestException("Limit must be between 1 and "
+                    + topClients.getCapacity());
+        }
+        long errorBound = topClients.getErrorBound();
+        List<TopClient> clients = new ArrayList<>(limit);
+        for (HeavyHitters.Entry entry : topClients.top(limit)) {
+            clients.add(new TopClient(entry.value(), entry.estimate(),
+                    Math.max(0, entry.estimate() - errorBound)));
+        }
+        return new TopClients(topClients.getTotal(), errorBound,
+                topClients.getConfidence(), clients);
+    }
+
+    /**
+     * Copies the lifetime counters. Visits recorded while copying may or may not be
+     * included.
+     *
+     * @return the total and a copy of the unique client sketch.
+     */
+    public VisitSnapshot snapshot() {
+        return new VisitSnapshot(totalCounter.sum(), uniqueClients.copy());
+    }
+
+    /**
+     * Adds previously saved lifetime counters to the current ones.
+     *
+     * @param snapshot counters saved by {@link #snapshot()}.
+     * @throws IllegalArgumentException if the sketch precision differs from the
+     *         configured one.
+     */
+    public void restore(VisitSnapshot snapshot) {
+        uniqueClients.merge(snapshot.uniqueClients());
+        totalCounter.add(snapshot.totalVisits());
+    }
+
+    /**
+     * Returns the visits of the most recent time window, bucket by bucket.
+     *
+     * @param window     length of the window ending now.
+     * @param resolution length of the buckets, or {@code null} for the finest one
+     *                   that still covers the window.
+     * @return the visits of every bucket of the window and their totals.
+     * @throws BadRequestException if the window is not positive or reaches further
+     *         back than the buckets of the resolution are kept.
+     */
+    public VisitTimeSeries getTimeSeries(Duration window, Resolution resolution) {
+        if (window.isNegative() || window.isZero()) {
+            throw new BadRequestException("Window must be positive");
+        }
+        Resolution chosen = resolution != null ? resolution : Resolution.covering(window);
+        if (!chosen.covers(window)) {
+            throw new BadRequestException("Window exceeds the " + chosen.retention()
+                    + " kept at " + chosen + " resolution");
+        }
+
+        TimeBucketRing ring = rings[chosen.ordinal()];
+        HyperLogLog union = new HyperLogLog(ring.getPrecision());
+        long now = clock.millis();
+        List<TimeBucketRing.Snapshot> snapshots = ring.read(now, chosen.bucketsFor(window), union);
+
+        long total = 0;
+        List<VisitBucket> buckets = new ArrayList<>(snapshots.size());
+        for (TimeBucketRing.Snapshot snapshot : snapshots) {
+            total += snapshot.events();
+            buckets.add(new VisitBucket(Instant.ofEpochMilli(snapshot.startMillis()),
+                    snapshot.events(), snapshot.distinct()));
+        }
+        return new VisitTimeSeries(chosen, buckets.get(0).start(),
+                Instant.ofEpochMilli(now), total, union.estimate(), union.getRelativeError(),
+                buckets);
+    }
+
+    /**
+     * Bucket lengths of the visit time series and how many buckets of each are kept.
+     * Buckets are aligned to UTC.
+     */
+    public enum Resolution {
+        MINUTE(Duration.ofMinutes(1), 120),
+        HOUR(Duration.ofHours(1), 48),
+        DAY(Duration.ofDays(1), 31);
+
+        private final Duration bucket;
+        private final int buckets;
+
+        Resolution(Duration bucket, int buckets) {
+            this.bucket = bucket;
+            this.buckets = buckets;
+        }
+
+        Duration retention() {
+            return bucket.multipliedBy(buckets);
+        }
+
+        int bucketsFor(Duration window) {
+            return (int) Math.ceilDiv(window.toMillis(), bucket.toMillis());
+        }
+
+        boolean covers(Duration window) {
+            return bucketsFor(window) <= buckets;
+        }
+
+        static Resolution covering(Duration window) {
+            for (Resolution resolution : values()) {
+                if (resolution.covers(window)) {
+                    return resolution;
+                }
+            }
+            return DAY;
+        }
     }
 
-    public record VisitStats(long totalVisits, long uniqueVisits) {}
-}
\ No newline at end of file
+    /**
+     * Lifetime visit statistics.
+     *
+     * @param totalVisits        number of recorded visits
+     * @param uniqueVisits       estimated number of distinct clients
+     * @param uniqueVisitsError  relative standard error of {@code uniqueVisits}
+     */
+    public record VisitStats(long totalVisits, long uniqueVisits, double uniqueVisitsError) {}
+
+    /**
+     * Busiest clients since startup.
+     *
+     * @param totalVisits  number of visits ranked
+     * @param errorBound   number of visits by which any estimate may exceed the true count
+     * @param confidence   probability that an estimate stays within {@code errorBound}
+     * @param clients      the busiest clients, busiest first
+     */
+    public record TopClients(long totalVisits, long errorBound, double confidence,
+                             List<TopClient> clients) {}
+
+    /**
+     * Estimated visits of one client.
+     *
+     * @param clientId         value of the {@code X-Client-Id} header
+     * @param estimatedVisits  estimated number of visits, never below the true count
+     * @param minimumVisits    lower bound of the true count within the confidence
+     */
+    public record TopClient(String clientId, long estimatedVisits, long minimumVisits) {}
+
+    /**
+     * Lifetime counters in a mergeable form.
+     *
+     * @param totalVisits    number of recorded visits
+     * @param uniqueClients  sketch of the distinct clients
+     */
+    public record VisitSnapshot(long totalVisits, HyperLogLog uniqueClients) {}
+
+    /**
+     * Visit statistics of a time window.
+     *
+     * @param resolution         length of the buckets
+     * @param from               start of the oldest bucket
+     * @param to                 end of the window
+     * @param totalVisits        number of visits in the window
+     * @param uniqueVisits       estimated number of distinct clients in the window
+     * @param uniqueVisitsError  relative standard error of the distinct client counts
+     * @param buckets            the buckets of the window, oldest first
+     */
+    public record VisitTimeSeries(Resolution resolution, Instant from, Instant to,
+                                  long totalVisits, long uniqueVisits,
+                                  double uniqueVisitsError, List<VisitBucket> buckets) {}
+
+    /**
+     * Visits of one bucket.
+     *
+     * @param start         start of the bucket
+     * @param visits        number of visits
+     * @param uniqueVisits  estimated number of distinct clients
+     */
+    public record VisitBucket(Instant start, long visits, long uniqueVisits) {}
+}
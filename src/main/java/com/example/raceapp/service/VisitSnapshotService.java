@@ -0,0 +1,235 @@
+package com.example.raceapp.service;
+
+import com.example.raceapp.config.VisitProperties;
+import com.example.raceapp.stats.HyperLogLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service saving the lifetime visit counters to disk and restoring them on startup.
+ *
+ * <p>Every instance writes its counters to {@code <directory>/<instanceId>.visits} on a
+ * background thread at a fixed interval, never on the request path, so a crash loses at
+ * most one interval of visits. A file holds the total and the serialized
+ * {@link HyperLogLog} sketch of the unique clients, a few kilobytes regardless of the
+ * traffic. Since sketches of the same precision merge without loss, the files of all
+ * instances sharing the directory add up to a cluster-wide unique client count.
+ *
+ * <p>The instance ID must be configured and stay the same across restarts, since it is
+ * what finds the file to restore. A file whose instance is gone for good keeps counting
+ * in the cluster statistics until it is deleted.
+ */
+@Service
+public class VisitSnapshotService {
+    private static final Logger logger = LoggerFactory.getLogger(VisitSnapshotService.class);
+    private static final int MAGIC = 0x56495354;
+    private static final int VERSION = 1;
+    private static final String SUFFIX = ".visits";
+
+    private final VisitCounterService visitCounterService;
+    private final boolean enabled;
+    private final Duration interval;
+    private final Path directory;
+    private final Path snapshotFile;
+    private ScheduledExecutorService scheduler;
+    private long lastWrittenTotal;
+
+    public VisitSnapshotService(VisitCounterService visitCounterService,
+                                VisitProperties properties) {
+        this.visitCounterService = visitCounterService;
+        VisitProperties.Snapshot snapshot = properties.getSnapshot();
+        this.enabled = snapshot.isEnabled();
+        this.interval = snapshot.getInterval();
+        this.directory = Paths.get(snapshot.getDirectory());
+        String instanceId = snapshot.getInstanceId();
+        if (enabled && (instanceId == null || instanceId.isBlank())) {
+            throw new IllegalArgumentException(
+                    "app.visits.snapshot.instance-id must be set when snapshots are enabled");
+        }
+        this.snapshotFile = enabled ? directory.resolve(
+                instanceId.replaceAll("[^A-Za-z0-9._-]", "_") + SUFFIX) : null;
+    }
+
+    /**
+     * Restores the counters saved by the previous run of this instance and starts the
+     * periodic snapshots.
+     */
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        restore();
+        lastWrittenTotal = visitCounterService.getStats().totalVisits();
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                new CustomizableThreadFactory("visit-snapshot-"));
+        long millis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, millis, millis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes the current counters unless nothing was recorded since the last write.
+     * The file is replaced atomically, so readers never see a partial snapshot.
+     *
+     * @throws IOException if the snapshot cannot be written.
+     */
+    synchronized void flush() throws IOException {
+        VisitCounterService.VisitSnapshot snapshot = visitCounterService.snapshot();
+        if (snapshot.totalVisits() == lastWrittenTotal) {
+            return;
+        }
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, snapshotFile.getFileName().toString(),
+                ".tmp");
+        try {
+            write(temp, snapshot);
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        lastWrittenTotal = snapshot.totalVisits();
+    }
+
+    /**
+     * Returns the lifetime statistics of all instances sharing the snapshot directory:
+     * the live counters of this instance merged with the last snapshot of every other.
+     *
+     * @return the cluster-wide visit statistics.
+     */
+    public ClusterVisitStats getClusterStats() {
+        VisitCounterService.VisitSnapshot own = visitCounterService.snapshot();
+        HyperLogLog union = own.uniqueClients();
+        long total = own.totalVisits();
+        int instances = 1;
+        if (enabled && Files.isDirectory(directory)) {
+            try (DirectoryStream<Path> files =
+                         Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+                for (Path file : files) {
+                    if (file.getFileName().equals(snapshotFile.getFileName())) {
+                        continue;
+                    }
+                    VisitCounterService.VisitSnapshot other = readQuietly(file);
+                    if (other == null) {
+                        continue;
+                    }
+                    if (other.uniqueClients().getPrecision() != union.getPrecision()) {
+                        logger.warn("Skipping visit snapshot {} of a different precision",
+                                file);
+                        continue;
+                    }
+                    union.merge(other.uniqueClients());
+                    total += other.totalVisits();
+                    instances++;
+                }
+            } catch (IOException e) {
+                logger.warn("Could not list visit snapshots in {}", directory, e);
+            }
+        }
+        return new ClusterVisitStats(instances, total, union.estimate(),
+                union.getRelativeError());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+    }
+
+    private void restore() {
+        if (!Files.exists(snapshotFile)) {
+            return;
+        }
+        VisitCounterService.VisitSnapshot saved = readQuietly(snapshotFile);
+        if (saved == null) {
+            return;
+        }
+        try {
+            visitCounterService.restore(saved);
+            logger.info("Restored {} visits from {}", saved.totalVisits(), snapshotFile);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Discarding visit snapshot {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException e) {
+            logger.warn("Could not write visit snapshot {}", snapshotFile, e);
+        }
+    }
+
+    private static void write(Path file, VisitCounterService.VisitSnapshot snapshot)
+            throws IOException {
+        byte[] sketch = snapshot.uniqueClients().toBytes();
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(System.currentTimeMillis());
+            out.writeLong(snapshot.totalVisits());
+            out.writeInt(sketch.length);
+            out.write(sketch);
+        }
+    }
+
+    private static VisitCounterService.VisitSnapshot readQuietly(Path file) {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a visit snapshot");
+            }
+            in.readLong();
+            long total = in.readLong();
+            int length = in.readInt();
+            if (length < 1 || length > 1 + (1 << HyperLogLog.MAX_PRECISION)) {
+                throw new IOException("Invalid sketch length " + length);
+            }
+            byte[] sketch = new byte[length];
+            in.readFully(sketch);
+            return new VisitCounterService.VisitSnapshot(total, HyperLogLog.fromBytes(sketch));
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Could not read visit snapshot {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Lifetime visit statistics of all instances.
+     *
+     * @param instances          number of instances whose counters were merged
+     * @param totalVisits        number of visits recorded by all instances
+     * @param uniqueVisits       estimated number of distinct clients across instances
+     * @param uniqueVisitsError  relative standard error of {@code uniqueVisits}
+     */
+    public record ClusterVisitStats(int instances, long totalVisits, long uniqueVisits,
+                                    double uniqueVisitsError) {}
+}
@@ -0,0 +1,114 @@
+package com.example.raceapp.stats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent count-min sketch estimating how often each value was added to it.
+ *
+ * <p>The sketch is a fixed table of {@code depth} rows of {@code width} counters. Adding
+ * a value increments one counter per row, picked by the value's hash; its estimate is the
+ * smallest of those counters. Collisions only ever add to a counter, so an estimate never
+ * falls below the true count, and with probability {@code 1 - e^-depth} it exceeds it by
+ * at most {@code e / width} of the total. Updates are atomic increments and never
+ * allocate.
+ */
+public class CountMinSketch {
+    private final int depth;
+    private final int width;
+    private final AtomicLongArray counters;
+    private final LongAdder total = new LongAdder();
+
+    /**
+     * Creates an empty sketch.
+     *
+     * @param relativeError bound on the overestimate as a fraction of the total count,
+     *                      for example {@code 0.001}.
+     * @param depth         number of rows; the bound holds with probability
+     *                      {@code 1 - e^-depth}.
+     */
+    public CountMinSketch(double relativeError, int depth) {
+        if (!(relativeError > 0 && relativeError < 1)) {
+            throw new IllegalArgumentException("Relative error must be between 0 and 1: "
+                    + relativeError);
+        }
+        if (depth < 1 || depth > 16) {
+            throw new IllegalArgumentException("Depth must be between 1 and 16: " + depth);
+        }
+        int needed = (int) Math.ceil(Math.E / relativeError);
+        this.depth = depth;
+        this.width = Integer.highestOneBit(needed - 1) << 1;
+        this.counters = new AtomicLongArray(depth * width);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Returns the number of values added so far.
+     *
+     * @return the total count.
+     */
+    public long getTotal() {
+        return total.sum();
+    }
+
+    /**
+     * Returns the bound on the overestimate of any value as a fraction of the total.
+     *
+     * @return {@code e / width}.
+     */
+    public double getRelativeError() {
+        return Math.E / width;
+    }
+
+    /**
+     * Returns the probability that an estimate stays within the error bound.
+     *
+     * @return {@code 1 - e^-depth}.
+     */
+    public double getConfidence() {
+        return 1 - Math.exp(-depth);
+    }
+
+    /**
+     * Adds one occurrence of a value and returns its new estimate.
+     *
+     * @param hash hash of the value, see {@link HyperLogLog#hash}.
+     * @return the estimated number of occurrences, including this one.
+     */
+    public long add(long hash) {
+        total.increment();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(indexOf(hash, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Estimates how often a value was added.
+     *
+     * @param hash hash of the value, see {@link HyperLogLog#hash}.
+     * @return the estimated number of occurrences; never below the true count.
+     */
+    public long estimate(long hash) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(indexOf(hash, row)));
+        }
+        return estimate;
+    }
+
+    private int indexOf(long hash, int row) {
+        // Double hashing derives the row hashes from the two halves of one 64-bit hash.
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return row * width + ((h1 + row * h2) & (width - 1));
+    }
+}
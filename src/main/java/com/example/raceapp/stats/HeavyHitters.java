@@ -0,0 +1,116 @@
+package com.example.raceapp.stats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the most frequent values of a stream in bounded memory.
+ *
+ * <p>Frequencies are estimated by a {@link CountMinSketch}; next to it, a candidate set
+ * keeps the {@code capacity} values with the highest estimates seen so far. A value whose
+ * estimate does not exceed the lowest candidate's is dropped after the sketch update, so
+ * the common case, a light value in a long tail, takes no lock. Only a value entering the
+ * candidate set evicts the lowest one under the monitor of this object.
+ */
+public class HeavyHitters {
+    private final CountMinSketch sketch;
+    private final int capacity;
+    private final Map<String, Long> candidates = new ConcurrentHashMap<>();
+    private volatile long threshold;
+
+    /**
+     * Creates an empty tracker.
+     *
+     * @param capacity      number of values tracked.
+     * @param relativeError bound on the overestimate of a count as a fraction of the
+     *                      total, see {@link CountMinSketch}.
+     * @param depth         number of rows of the sketch.
+     */
+    public HeavyHitters(int capacity, double relativeError, int depth) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.sketch = new CountMinSketch(relativeError, depth);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getTotal() {
+        return sketch.getTotal();
+    }
+
+    /**
+     * Returns the bound on the overestimate of every count, in occurrences.
+     *
+     * @return the relative error of the sketch times the total count.
+     */
+    public long getErrorBound() {
+        return (long) Math.ceil(sketch.getRelativeError() * sketch.getTotal());
+    }
+
+    public double getConfidence() {
+        return sketch.getConfidence();
+    }
+
+    /**
+     * Adds one occurrence of a value.
+     *
+     * @param value the value.
+     * @param hash  its hash, see {@link HyperLogLog#hash}.
+     */
+    public void add(String value, long hash) {
+        long estimate = sketch.add(hash);
+        if (estimate <= threshold || candidates.containsKey(value)) {
+            return;
+        }
+        candidates.putIfAbsent(value, hash);
+        if (candidates.size() > capacity) {
+            evict();
+        }
+    }
+
+    /**
+     * Returns the most frequent values, most frequent first.
+     *
+     * @param limit maximum number of values, at most {@link #getCapacity()}.
+     * @return the values with their estimated counts.
+     */
+    public List<Entry> top(int limit) {
+        List<Entry> entries = new ArrayList<>(candidates.size());
+        candidates.forEach((value, hash) -> entries.add(new Entry(value, sketch.estimate(hash))));
+        entries.sort(Comparator.comparingLong(Entry::estimate).reversed()
+                .thenComparing(Entry::value));
+        return entries.size() > limit ? List.copyOf(entries.subList(0, limit)) : entries;
+    }
+
+    private synchronized void evict() {
+        while (candidates.size() > capacity) {
+            String lowest = null;
+            long lowestEstimate = Long.MAX_VALUE;
+            for (Map.Entry<String, Long> candidate : candidates.entrySet()) {
+                long estimate = sketch.estimate(candidate.getValue());
+                if (estimate < lowestEstimate) {
+                    lowest = candidate.getKey();
+                    lowestEstimate = estimate;
+                }
+            }
+            candidates.remove(lowest);
+            // Estimates only grow, so anything at or below the evicted one cannot qualify.
+            threshold = Math.max(threshold, lowestEstimate);
+        }
+    }
+
+    /**
+     * Estimated count of one value.
+     *
+     * @param value    the value
+     * @param estimate its estimated number of occurrences, never below the true count
+     */
+    public record Entry(String value, long estimate) {}
+}
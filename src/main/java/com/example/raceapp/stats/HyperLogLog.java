@@ -0,0 +1,235 @@
+package com.example.raceapp.stats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Concurrent HyperLogLog sketch estimating the number of distinct strings added to it.
+ *
+ * <p>The sketch holds {@code 2^precision} one-byte registers packed eight to a
+ * {@code long}, so its memory is fixed regardless of how many values are added. Updates
+ * are lock-free: a register is only written when a value raises it, which becomes rare
+ * once the sketch has seen a few times as many values as it has registers, so concurrent
+ * writers almost never contend. The relative standard error of the estimate is
+ * {@code 1.04 / sqrt(2^precision)}.
+ */
+public class HyperLogLog {
+    public static final int MIN_PRECISION = 4;
+    public static final int MAX_PRECISION = 18;
+
+    private final int precision;
+    private final int registerCount;
+    private final AtomicLongArray registers;
+
+    /**
+     * Creates an empty sketch.
+     *
+     * @param precision number of index bits, between {@link #MIN_PRECISION} and
+     *                  {@link #MAX_PRECISION}.
+     */
+    public HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Precision must be between " + MIN_PRECISION
+                    + " and " + MAX_PRECISION + ": " + precision);
+        }
+        this.precision = precision;
+        this.registerCount = 1 << precision;
+        this.registers = new AtomicLongArray(registerCount / 8);
+    }
+
+    /**
+     * Returns the smallest precision whose relative standard error does not exceed the
+     * given bound.
+     *
+     * @param relativeError the error bound, for example {@code 0.01} for one percent.
+     * @return the precision to create the sketch with.
+     */
+    public static int precisionFor(double relativeError) {
+        if (!(relativeError > 0)) {
+            throw new IllegalArgumentException("Relative error must be positive: "
+                    + relativeError);
+        }
+        double registersNeeded = Math.pow(1.04 / relativeError, 2);
+        int precision = 64 - Long.numberOfLeadingZeros((long) Math.ceil(registersNeeded) - 1);
+        return Math.max(MIN_PRECISION, Math.min(MAX_PRECISION, precision));
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Returns the relative standard error of the estimate.
+     *
+     * @return the expected relative error, for example {@code 0.008} for 0.8%.
+     */
+    public double getRelativeError() {
+        return 1.04 / Math.sqrt(registerCount);
+    }
+
+    /**
+     * Adds a value to the sketch. Does not allocate.
+     *
+     * @param value the value to count.
+     */
+    public void add(CharSequence value) {
+        addHash(hash(value));
+    }
+
+    /**
+     * Adds a value given by its 64-bit hash, see {@link #hash(CharSequence)}.
+     *
+     * @param hash the hash of the value.
+     */
+    public void addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        // Rank of the first set bit in the remaining bits; a sentinel bit bounds it.
+        long remaining = (hash << precision) | (1L << (precision - 1));
+        int rank = Long.numberOfLeadingZeros(remaining) + 1;
+        raise(index, rank);
+    }
+
+    /**
+     * Adds all values of another sketch of the same precision to this one.
+     *
+     * @param other the sketch to merge.
+     */
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge a sketch of precision "
+                    + other.precision + " into one of precision " + precision);
+        }
+        for (int i = 0; i < registerCount; i++) {
+            raise(i, other.get(i));
+        }
+    }
+
+    /**
+     * Removes all values. Values added concurrently may or may not be kept.
+     */
+    public void clear() {
+        for (int i = 0; i < registers.length(); i++) {
+            registers.set(i, 0);
+        }
+    }
+
+    /**
+     * Returns an independent copy of the sketch.
+     *
+     * @return a sketch holding the same values.
+     */
+    public HyperLogLog copy() {
+        HyperLogLog copy = new HyperLogLog(precision);
+        for (int i = 0; i < registers.length(); i++) {
+            copy.registers.set(i, registers.get(i));
+        }
+        return copy;
+    }
+
+    /**
+     * Serializes the sketch: one byte of precision followed by one byte per register.
+     * Sketches of the same precision written by different processes can be merged.
+     *
+     * @return the serialized sketch.
+     */
+    public byte[] toBytes() {
+        byte[] bytes = new byte[1 + registerCount];
+        bytes[0] = (byte) precision;
+        for (int i = 0; i < registerCount; i++) {
+            bytes[1 + i] = (byte) get(i);
+        }
+        return bytes;
+    }
+
+    /**
+     * Reads a sketch written by {@link #toBytes()}.
+     *
+     * @param bytes the serialized sketch.
+     * @return the sketch.
+     * @throws IllegalArgumentException if the bytes do not hold a sketch.
+     */
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes.length == 0) {
+            throw new IllegalArgumentException("Empty sketch");
+        }
+        HyperLogLog sketch = new HyperLogLog(bytes[0]);
+        if (bytes.length != 1 + sketch.registerCount) {
+            throw new IllegalArgumentException("Sketch of precision " + bytes[0]
+                    + " must have " + sketch.registerCount + " registers");
+        }
+        for (int i = 0; i < sketch.registerCount; i++) {
+            sketch.raise(i, bytes[1 + i] & 0xff);
+        }
+        return sketch;
+    }
+
+    /**
+     * Estimates the number of distinct values added so far.
+     *
+     * @return the estimated count.
+     */
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (int i = 0; i < registerCount; i++) {
+            int register = get(i);
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha() * registerCount * registerCount / sum;
+        if (estimate <= 2.5 * registerCount && zeros > 0) {
+            // Linear counting is more accurate while many registers are still empty.
+            estimate = registerCount * Math.log((double) registerCount / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Computes the 64-bit hash of a value: FNV-1a over its characters followed by the
+     * MurmurHash3 finalizer, which spreads the entropy over all bits.
+     *
+     * @param value the value to hash.
+     * @return the hash.
+     */
+    public static long hash(CharSequence value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    int get(int index) {
+        return (int) (registers.get(index >>> 3) >>> ((index & 7) << 3)) & 0xff;
+    }
+
+    void raise(int index, int rank) {
+        int slot = index >>> 3;
+        int shift = (index & 7) << 3;
+        long current = registers.get(slot);
+        while (((current >>> shift) & 0xff) < rank) {
+            long updated = (current & ~(0xffL << shift)) | ((long) rank << shift);
+            long witness = registers.compareAndExchange(slot, current, updated);
+            if (witness == current) {
+                return;
+            }
+            current = witness;
+        }
+    }
+
+    private double alpha() {
+        return switch (registerCount) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / registerCount);
+        };
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.raceapp.stats;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent log-linear histogram of latencies in microseconds, in the style of
+ * HdrHistogram.
+ *
+ * <p>Values are grouped by their power of two, and every group is split into
+ * {@code 2^SUB_BUCKET_BITS} linear sub-buckets, so any recorded value is reported with
+ * a relative error below {@code 2^-SUB_BUCKET_BITS} (about 3%). The buckets cover one
+ * microsecond to {@link #MAX_VALUE} in a fixed array of counters; larger values are
+ * counted in the last bucket. Recording is a few arithmetic operations and atomic
+ * increments and never allocates.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 35;
+    /** Largest value told apart from others, about 19 hours. */
+    public static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    private final AtomicLongArray counts =
+            new AtomicLongArray((MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a latency.
+     *
+     * @param micros the latency in microseconds; negative values are recorded as zero.
+     */
+    public void record(long micros) {
+        long value = Math.min(Math.max(micros, 0), MAX_VALUE);
+        counts.incrementAndGet(indexOf(value));
+        count.increment();
+        sum.add(value);
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long total = count.sum();
+        return total == 0 ? 0 : (double) sum.sum() / total;
+    }
+
+    /**
+     * Returns the value below which the given fraction of the recorded values lies.
+     *
+     * @param quantile the fraction, between 0 and 1, for example {@code 0.99}.
+     * @return the highest value of the bucket holding the quantile, or 0 if nothing
+     *         was recorded.
+     */
+    public long getValueAtQuantile(double quantile) {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestValueOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    static long highestValueOf(int index) {
+        int group = index >>> SUB_BUCKET_BITS;
+        long subBucket = index & (SUB_BUCKETS - 1);
+        if (group == 0) {
+            return subBucket;
+        }
+        int shift = group - 1;
+        return ((SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.raceapp.stats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ring of fixed time buckets, each counting the events of its period and sketching the
+ * distinct values among them.
+ *
+ * <p>A bucket is reused once the ring has wrapped around: the first event of a new
+ * period resets it under the bucket's monitor, every other event only increments its
+ * counter and sketch. Recording therefore takes no lock and allocates nothing in the
+ * steady state, and the memory of the ring is fixed.
+ */
+public class TimeBucketRing {
+    private final long bucketMillis;
+    private final int precision;
+    private final Bucket[] buckets;
+
+    /**
+     * Creates a ring with empty buckets.
+     *
+     * @param bucketMillis length of a bucket in milliseconds.
+     * @param bucketCount  number of buckets, which bounds how far back the ring reaches.
+     * @param precision    precision of the sketch of every bucket.
+     */
+    public TimeBucketRing(long bucketMillis, int bucketCount, int precision) {
+        this.bucketMillis = bucketMillis;
+        this.precision = precision;
+        this.buckets = new Bucket[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new Bucket(precision);
+        }
+    }
+
+    public long getBucketMillis() {
+        return bucketMillis;
+    }
+
+    public int getBucketCount() {
+        return buckets.length;
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Records an event.
+     *
+     * @param timeMillis time of the event in milliseconds since the epoch.
+     * @param hash       hash of the value to sketch, see {@link HyperLogLog#hash}.
+     */
+    public void record(long timeMillis, long hash) {
+        long period = timeMillis / bucketMillis;
+        Bucket bucket = buckets[(int) (period % buckets.length)];
+        if (bucket.period != period && !bucket.rotate(period)) {
+            // The event is older than the period the bucket already holds.
+            return;
+        }
+        bucket.events.increment();
+        bucket.values.addHash(hash);
+    }
+
+    /**
+     * Reads the most recent buckets, oldest first, ending with the one holding
+     * {@code nowMillis}, and merges their sketches.
+     *
+     * @param nowMillis current time in milliseconds since the epoch.
+     * @param count     number of buckets to read, at most {@link #getBucketCount()}.
+     * @param union     sketch receiving the values of all read buckets.
+     * @return the buckets; periods without events are included with zero counts.
+     */
+    public List<Snapshot> read(long nowMillis, int count, HyperLogLog union) {
+        long current = nowMillis / bucketMillis;
+        List<Snapshot> snapshots = new ArrayList<>(count);
+        for (long period = current - count + 1; period <= current; period++) {
+            Bucket bucket = buckets[(int) (period % buckets.length)];
+            long events = 0;
+            long distinct = 0;
+            if (bucket.period == period) {
+                events = bucket.events.sum();
+                distinct = bucket.values.estimate();
+                union.merge(bucket.values);
+            }
+            snapshots.add(new Snapshot(period * bucketMillis, events, distinct));
+        }
+        return snapshots;
+    }
+
+    /**
+     * Contents of one bucket.
+     *
+     * @param startMillis start of the bucket's period in milliseconds since the epoch
+     * @param events      number of events recorded in the period
+     * @param distinct    estimated number of distinct values among them
+     */
+    public record Snapshot(long startMillis, long events, long distinct) {
+    }
+
+    private static final class Bucket {
+        private final LongAdder events = new LongAdder();
+        private final HyperLogLog values;
+        private volatile long period = -1;
+
+        private Bucket(int precision) {
+            this.values = new HyperLogLog(precision);
+        }
+
+        /**
+         * Moves the bucket to a later period, clearing its contents.
+         *
+         * @return whether the bucket now holds the given period.
+         */
+        private synchronized boolean rotate(long newPeriod) {
+            if (period < newPeriod) {
+                events.reset();
+                values.clear();
+                period = newPeriod;
+            }
+            return period == newPeriod;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+-- Schema of pilots, cars and races as mapped by the entities. Databases created before
+-- the migrations existed are baselined at this version (spring.flyway.baseline-on-migrate)
+-- and only receive the later versions.
+
+CREATE SEQUENCE pilots_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE cars_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE races_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE pilots (
+    id BIGINT NOT NULL,
+    name VARCHAR(255),
+    age INTEGER,
+    experience INTEGER,
+    CONSTRAINT pilots_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE cars (
+    id BIGINT NOT NULL,
+    brand VARCHAR(255),
+    model VARCHAR(255),
+    power INTEGER,
+    pilot_id BIGINT,
+    CONSTRAINT cars_pkey PRIMARY KEY (id),
+    CONSTRAINT cars_pilot_id_fkey FOREIGN KEY (pilot_id) REFERENCES pilots (id)
+);
+
+-- YEAR is a reserved word in H2, the test database.
+CREATE TABLE races (
+    id BIGINT NOT NULL,
+    name VARCHAR(255),
+    "year" INTEGER,
+    CONSTRAINT races_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE race_pilot (
+    race_id BIGINT NOT NULL,
+    pilot_id BIGINT NOT NULL,
+    CONSTRAINT race_pilot_pkey PRIMARY KEY (race_id, pilot_id),
+    CONSTRAINT race_pilot_race_id_fkey FOREIGN KEY (race_id) REFERENCES races (id),
+    CONSTRAINT race_pilot_pilot_id_fkey FOREIGN KEY (pilot_id) REFERENCES pilots (id)
+);
+
+CREATE TABLE race_car (
+    race_id BIGINT NOT NULL,
+    car_id BIGINT NOT NULL,
+    CONSTRAINT race_car_pkey PRIMARY KEY (race_id, car_id),
+    CONSTRAINT race_car_race_id_fkey FOREIGN KEY (race_id) REFERENCES races (id),
+    CONSTRAINT race_car_car_id_fkey FOREIGN KEY (car_id) REFERENCES cars (id)
+);
@@ -0,0 +1,20 @@
+-- Indexes of the filter, sort and join columns of the list queries.
+
+-- Car search by brand, brand and model, or brand, model and power.
+CREATE INDEX cars_brand_model_power_idx ON cars (brand, model, power);
+
+-- Cars above a minimum power.
+CREATE INDEX cars_power_idx ON cars (power);
+
+-- Cars of an owner, the cars of a page of pilots, and pilots owning a car of a brand:
+-- the brand test of that semi-join is answered from the index alone.
+CREATE INDEX cars_pilot_id_brand_idx ON cars (pilot_id, brand);
+
+-- Races in a range of years.
+CREATE INDEX races_year_idx ON races ("year");
+
+-- The primary keys of the join tables lead with race_id and serve race to pilot and
+-- race to car lookups. These serve the reverse direction, such as the races of a pilot
+-- or car, and contain both columns so the join table itself is never read.
+CREATE INDEX race_pilot_pilot_id_race_id_idx ON race_pilot (pilot_id, race_id);
+CREATE INDEX race_car_car_id_race_id_idx ON race_car (car_id, race_id);
@@ -0,0 +1,29 @@
+-- Moves cars, pilots and races from IDENTITY columns to the pooled sequences
+-- used by the entities (allocation size 50), keeping all existing IDs.
+-- Run once against an existing database while the application is stopped.
+
+BEGIN;
+
+CREATE SEQUENCE IF NOT EXISTS cars_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS pilots_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS races_seq START WITH 1 INCREMENT BY 50;
+
+ALTER SEQUENCE cars_seq INCREMENT BY 50;
+ALTER SEQUENCE pilots_seq INCREMENT BY 50;
+ALTER SEQUENCE races_seq INCREMENT BY 50;
+
+-- A pooled block ends at the sequence value, so the next value must be at least
+-- one full block above the highest ID in use.
+SELECT setval('cars_seq', (SELECT COALESCE(MAX(id), 0) FROM cars) + 50);
+SELECT setval('pilots_seq', (SELECT COALESCE(MAX(id), 0) FROM pilots) + 50);
+SELECT setval('races_seq', (SELECT COALESCE(MAX(id), 0) FROM races) + 50);
+
+ALTER TABLE cars ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE pilots ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE races ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+ALTER TABLE cars ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE pilots ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE races ALTER COLUMN id DROP DEFAULT;
+
+COMMIT;
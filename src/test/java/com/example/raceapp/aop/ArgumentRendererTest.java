@@ -0,0 +1,36 @@
+package com.example.raceapp.aop;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ArgumentRendererTest {
+
+    @Test
+    void render_Containers_AreSummarized() {
+        PageImpl<String> page = new PageImpl<>(List.of("a", "b"), PageRequest.of(1, 2), 10);
+
+        assertEquals("Page(number=1, elements=2, total=10)", ArgumentRenderer.render(page, 10));
+        assertEquals("int[3]", ArgumentRenderer.render(new int[3], 10));
+        assertEquals("ResponseEntity(status=200, body=Page(number=1, elements=2, total=10))",
+                ArgumentRenderer.render(ResponseEntity.ok(page), 10));
+        assertEquals("Optional.empty", ArgumentRenderer.render(Optional.empty(), 10));
+        assertEquals("[null, Optional(7)]",
+                ArgumentRenderer.render(new Object[]{null, Optional.of(7)}, 10));
+        assertEquals("HashMap(size=1)",
+                ArgumentRenderer.render(new HashMap<>(Map.of("k", "v")), 10));
+    }
+
+    @Test
+    void render_LongValue_IsTruncated() {
+        assertEquals("abcd...(10 chars)", ArgumentRenderer.render("abcdefghij", 4));
+        assertEquals("abcd", ArgumentRenderer.render("abcd", 4));
+    }
+}
@@ -1,11 +1,15 @@
 package com.example.raceapp.aop;
 
+import com.example.raceapp.config.TracingProperties;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
@@ -16,7 +20,6 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
-import static org.mockito.Mockito.contains;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
@@ -26,7 +29,8 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class LoggingAspectTest {
 
-    @InjectMocks
+    private final TracingProperties properties = new TracingProperties();
+
     private LoggingAspect loggingAspect;
 
     @Mock
@@ -41,38 +45,51 @@ class LoggingAspectTest {
     @Mock
     private Logger logger;
 
+    @BeforeEach
+    void setUp() {
+        properties.setSampleRate(1.0);
+        loggingAspect = new LoggingAspect(properties);
+    }
+
     @Test
-    void logAround_ShouldLogMethodEntryAndExit() throws Throwable {
+    void logAround_InfoLevel_ShouldLogTimingOnly() throws Throwable {
         // Arrange
-        when(proceedingJoinPoint.getSignature()).thenReturn(methodSignature);
-        when(methodSignature.toShortString()).thenReturn("TestClass.testMethod()");
-        when(proceedingJoinPoint.getArgs()).thenReturn(new Object[]{"arg1", 123});
+        LoggingAspect spyAspect = tracing();
         when(proceedingJoinPoint.proceed()).thenReturn("result");
-
-        LoggingAspect spyAspect = spy(loggingAspect);
-        doReturn(logger).when(spyAspect).getLogger();
         when(logger.isInfoEnabled()).thenReturn(true);
+        when(logger.isDebugEnabled()).thenReturn(false);
 
         // Act
         Object result = spyAspect.logAround(proceedingJoinPoint);
 
         // Assert
         assertEquals("result", result);
-        verify(logger).info(eq("Entering: {} with arguments = {}"),
-                eq("TestClass.testMethod()"),
-                eq("[arg1, 123]"));
-        verify(logger).info(eq("Exiting: {} with result = {}"),
-                eq("TestClass.testMethod()"),
-                eq("result"));
+        verify(logger).info(eq("Traced {} in {} us"), eq("SampleService.find"), any());
+        verify(proceedingJoinPoint, never()).getArgs();
+    }
+
+    @Test
+    void logAround_DebugLevel_ShouldLogArgumentsAndResult() throws Throwable {
+        // Arrange
+        LoggingAspect spyAspect = tracing();
+        when(proceedingJoinPoint.getArgs()).thenReturn(new Object[]{"arg1", 123});
+        when(proceedingJoinPoint.proceed()).thenReturn(new ArrayList<>(List.of("a", "b")));
+        when(logger.isInfoEnabled()).thenReturn(true);
+        when(logger.isDebugEnabled()).thenReturn(true);
+
+        // Act
+        spyAspect.logAround(proceedingJoinPoint);
+
+        // Assert
+        verify(logger).debug(eq("Traced {} in {} us with arguments = {}, result = {}"),
+                eq("SampleService.find"), any(), eq("[arg1, 123]"), eq("ArrayList(size=2)"));
     }
 
     @Test
     void logAround_ShouldNotLogWhenInfoDisabled() throws Throwable {
         // Arrange
+        LoggingAspect spyAspect = tracing();
         when(proceedingJoinPoint.proceed()).thenReturn("result");
-
-        LoggingAspect spyAspect = spy(loggingAspect);
-        doReturn(logger).when(spyAspect).getLogger();
         when(logger.isInfoEnabled()).thenReturn(false);
 
         // Act
@@ -83,27 +100,39 @@ class LoggingAspectTest {
         verify(logger, never()).info(anyString(), any(), any());
     }
 
+    @Test
+    void logAround_MethodNotSampled_ShouldNotLog() throws Throwable {
+        // Arrange
+        properties.getMethodSampleRates().put("SampleService.find", 0.0);
+        LoggingAspect spyAspect = tracing();
+        when(proceedingJoinPoint.proceed()).thenReturn("result");
+        when(logger.isInfoEnabled()).thenReturn(true);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            spyAspect.logAround(proceedingJoinPoint);
+        }
+
+        // Assert
+        verify(logger, never()).info(anyString(), any(), any());
+        verify(spyAspect).getTraceLogger(SampleService.class);
+    }
+
     @Test
     void logAround_ShouldRethrowException() throws Throwable {
         // Arrange
         RuntimeException expectedException = new RuntimeException("Test exception");
-        when(proceedingJoinPoint.getSignature()).thenReturn(methodSignature);
-        when(methodSignature.toShortString()).thenReturn("TestClass.testMethod()");
-        when(proceedingJoinPoint.getArgs()).thenReturn(new Object[]{});
+        LoggingAspect spyAspect = tracing();
         when(proceedingJoinPoint.proceed()).thenThrow(expectedException);
-
-        LoggingAspect spyAspect = spy(loggingAspect);
-        doReturn(logger).when(spyAspect).getLogger();
         when(logger.isInfoEnabled()).thenReturn(true);
+        when(logger.isDebugEnabled()).thenReturn(false);
 
         // Act & Assert
         RuntimeException thrown = assertThrows(RuntimeException.class,
                 () -> spyAspect.logAround(proceedingJoinPoint));
         assertEquals(expectedException, thrown);
-        verify(logger).info(eq("Entering: {} with arguments = {}"),
-                eq("TestClass.testMethod()"),
-                eq("[]"));
-        verify(logger, never()).info(contains("Exiting:"));
+        verify(logger).info(eq("Traced {} in {} us, failed with {}"),
+                eq("SampleService.find"), any(), eq("RuntimeException"));
     }
 
     @Test
@@ -152,10 +181,26 @@ class LoggingAspectTest {
 
     @Test
     void getLogger_ShouldReturnLogger() {
-        LoggingAspect aspect = new LoggingAspect();
+        LoggingAspect aspect = new LoggingAspect(new TracingProperties());
         Logger logger = aspect.getLogger();
 
         assertNotNull(logger);
+        assertEquals("trace." + SampleService.class.getName(),
+                aspect.getTraceLogger(SampleService.class).getName());
     }
 
-}
\ No newline at end of file
+    private LoggingAspect tracing() throws NoSuchMethodException {
+        Method method = SampleService.class.getDeclaredMethod("find", String.class);
+        when(proceedingJoinPoint.getSignature()).thenReturn(methodSignature);
+        when(methodSignature.getMethod()).thenReturn(method);
+        LoggingAspect spyAspect = spy(loggingAspect);
+        doReturn(logger).when(spyAspect).getTraceLogger(SampleService.class);
+        return spyAspect;
+    }
+
+    static class SampleService {
+        Object find(String name) {
+            return name;
+        }
+    }
+}
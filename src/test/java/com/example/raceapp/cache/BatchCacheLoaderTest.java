@@ -0,0 +1,100 @@
+package com.example.raceapp.cache;
+
+import com.example.raceapp.dto.CarResponse;
+import com.example.raceapp.dto.PilotSimpleResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchCacheLoaderTest {
+
+    private TrackingCacheManager cacheManager;
+    private BatchCacheLoader batchCacheLoader;
+    private final List<Set<Long>> loads = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        CaffeineCacheManager caffeine = new CaffeineCacheManager(CacheNames.CARS,
+                CacheNames.CAR_PAGES, CacheNames.PILOTS, CacheNames.PILOT_PAGES);
+        cacheManager = new TrackingCacheManager(caffeine, new CacheDependencyIndex());
+        batchCacheLoader = new BatchCacheLoader(cacheManager);
+    }
+
+    @Test
+    void getAll_LoadsOnlyMissingIdsWithOneCallAndCachesThem() {
+        TrackingCache cars = cacheManager.getCache(CacheNames.CARS);
+        cars.put(2L, car(2L, 20L));
+
+        List<CarResponse> result = batchCacheLoader.getAll(EntityType.CAR,
+                List.of(3L, 2L, 1L, 3L), this::load, CarResponse::getId);
+
+        assertEquals(List.of(3L, 2L, 1L), result.stream().map(CarResponse::getId).toList());
+        assertEquals(List.of(Set.of(1L, 3L)), loads);
+        assertEquals(1, cars.getStatistics().hits());
+        assertEquals(2, cars.getStatistics().misses());
+        assertNotNull(cars.get(1L));
+        assertNotNull(cars.get(3L));
+    }
+
+    @Test
+    void getAll_AllCached_DoesNotCallLoader() {
+        TrackingCache cars = cacheManager.getCache(CacheNames.CARS);
+        cars.put(1L, car(1L, 10L));
+        cars.put(2L, car(2L, 20L));
+
+        List<CarResponse> result = batchCacheLoader.getAll(EntityType.CAR,
+                List.of(1L, 2L), this::load, CarResponse::getId);
+
+        assertEquals(2, result.size());
+        assertTrue(loads.isEmpty());
+    }
+
+    @Test
+    void getAll_SkipsMissingEntitiesAndEntriesCachedAsNull() {
+        TrackingCache cars = cacheManager.getCache(CacheNames.CARS);
+        cars.put(5L, null);
+
+        List<CarResponse> result = batchCacheLoader.getAll(EntityType.CAR,
+                List.of(5L, 404L, 1L), ids -> {
+                    loads.add(ids);
+                    return List.of(car(1L, 10L));
+                }, CarResponse::getId);
+
+        assertEquals(List.of(1L), result.stream().map(CarResponse::getId).toList());
+        assertEquals(List.of(Set.of(404L, 1L)), loads);
+    }
+
+    @Test
+    void getAll_LoadedEntriesAreEvictedWithTheirEntities() {
+        batchCacheLoader.getAll(EntityType.CAR, List.of(1L, 2L), this::load,
+                CarResponse::getId);
+
+        new CacheInvalidator(cacheManager).evictEntities(EntityType.PILOT, 10L);
+
+        TrackingCache cars = cacheManager.getCache(CacheNames.CARS);
+        assertNull(cars.get(1L));
+        assertNotNull(cars.get(2L));
+    }
+
+    private List<CarResponse> load(Set<Long> ids) {
+        loads.add(Set.copyOf(ids));
+        return ids.stream().map(id -> car(id, id * 10)).toList();
+    }
+
+    private static CarResponse car(Long id, Long ownerId) {
+        CarResponse car = new CarResponse();
+        car.setId(id);
+        PilotSimpleResponse owner = new PilotSimpleResponse();
+        owner.setId(ownerId);
+        car.setOwner(owner);
+        return car;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.raceapp.cache;
+
+import com.example.raceapp.dto.CarResponse;
+import com.example.raceapp.dto.PilotSimpleResponse;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.data.domain.PageImpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CacheInvalidatorTest {
+
+    private TrackingCacheManager cacheManager;
+    private CacheInvalidator cacheInvalidator;
+
+    @BeforeEach
+    void setup() {
+        CaffeineCacheManager caffeine = new CaffeineCacheManager(CacheNames.CARS, CacheNames.CAR_PAGES,
+                CacheNames.PILOTS, CacheNames.PILOT_PAGES, CacheNames.RACES, CacheNames.RACE_PAGES);
+        cacheManager = new TrackingCacheManager(caffeine, new CacheDependencyIndex());
+        cacheInvalidator = new CacheInvalidator(cacheManager);
+    }
+
+    @Test
+    void evictEntities_EvictsOnlyEntriesRenderingTheEntity() {
+        TrackingCache cars = cacheManager.getCache(CacheNames.CARS);
+        TrackingCache carPages = cacheManager.getCache(CacheNames.CAR_PAGES);
+        cars.put(1L, car(1L, 10L));
+        cars.put(2L, car(2L, 20L));
+        carPages.put("page-a", new PageImpl<>(List.of(car(1L, 10L))));
+        carPages.put("page-b", new PageImpl<>(List.of(car(2L, 20L))));
+
+        cacheInvalidator.evictEntities(EntityType.CAR, 1L);
+
+        assertNull(cars.get(1L));
+        assertNull(carPages.get("page-a"));
+        assertNotNull(cars.get(2L));
+        assertNotNull(carPages.get("page-b"));
+    }
+
+    @Test
+    void evictEntities_EvictsEntriesRenderingNestedOwner() {
+        TrackingCache cars = cacheManager.getCache(CacheNames.CARS);
+        cars.put(1L, car(1L, 10L));
+        cars.put(2L, car(2L, 20L));
+
+        cacheInvalidator.evictEntities(EntityType.PILOT, 10L);
+
+        assertNull(cars.get(1L));
+        assertNotNull(cars.get(2L));
+    }
+
+    @Test
+    void evictQueries_KeepsSingleEntityEntries() {
+        TrackingCache cars = cacheManager.getCache(CacheNames.CARS);
+        TrackingCache carPages = cacheManager.getCache(CacheNames.CAR_PAGES);
+        cars.put(1L, car(1L, 10L));
+        carPages.put("empty-page", new PageImpl<CarResponse>(List.of()));
+
+        cacheInvalidator.evictQueries(EntityType.CAR);
+
+        assertNotNull(cars.get(1L));
+        assertNull(carPages.get("empty-page"));
+    }
+
+    @Test
+    void getStatistics_CountsHitsMissesAndEvictions() {
+        TrackingCache cars = cacheManager.getCache(CacheNames.CARS);
+        cars.get(1L);
+        cars.put(1L, car(1L, 10L));
+        cars.get(1L);
+        cacheInvalidator.evictEntities(EntityType.CAR, 1L);
+
+        CacheStatistics stats = cacheInvalidator.getStatistics().stream()
+                .filter(s -> s.name().equals(CacheNames.CARS))
+                .findFirst()
+                .orElseThrow();
+
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.evictions());
+        assertEquals(0.5, stats.hitRate());
+        assertEquals(0, cacheManager.getIndex().size());
+    }
+
+    private static CarResponse car(Long id, Long ownerId) {
+        PilotSimpleResponse owner = new PilotSimpleResponse();
+        owner.setId(ownerId);
+        CarResponse car = new CarResponse();
+        car.setId(id);
+        car.setOwner(owner);
+        return car;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.raceapp.cache;
+
+import com.example.raceapp.service.CarService;
+import java.lang.reflect.Method;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class PageableKeyGeneratorTest {
+
+    private final PageableKeyGenerator generator = new PageableKeyGenerator();
+
+    @Test
+    void generate_SamePageAndSort_ProducesEqualKeys() throws Exception {
+        Method method = byPower();
+
+        Object first = generator.generate(null, method, 500,
+                PageRequest.of(0, 20, Sort.by("power").descending()));
+        Object second = generator.generate(null, method, 500,
+                PageRequest.of(0, 20, Sort.by("power").descending()));
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+    }
+
+    @Test
+    void generate_DifferentSort_ProducesDifferentKeys() throws Exception {
+        Method method = byPower();
+
+        Object unsorted = generator.generate(null, method, 500, PageRequest.of(0, 20));
+        Object sorted = generator.generate(null, method, 500,
+                PageRequest.of(0, 20, Sort.by("power").descending()));
+
+        assertNotEquals(unsorted, sorted);
+    }
+
+    @Test
+    void generate_DifferentMethodsWithSameArguments_ProducesDifferentKeys() throws Exception {
+        Method byPower = byPower();
+        Method search = CarService.class.getMethod("searchCarsWithPagination",
+                String.class, String.class, Integer.class, Long.class, Pageable.class);
+        Pageable pageable = PageRequest.of(0, 20);
+
+        Object first = generator.generate(null, byPower, null, pageable);
+        Object second = generator.generate(null, search, null, null, null, null, pageable);
+
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    void generate_UnpagedAndFirstPage_ProducesDifferentKeys() throws Exception {
+        Method method = byPower();
+
+        assertNotEquals(generator.generate(null, method, 500, Pageable.unpaged()),
+                generator.generate(null, method, 500, PageRequest.of(0, 20)));
+    }
+
+    private static Method byPower() throws NoSuchMethodException {
+        return CarService.class.getMethod("getCarsByPower", Integer.class, Pageable.class);
+    }
+}
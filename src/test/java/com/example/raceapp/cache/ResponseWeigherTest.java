@@ -0,0 +1,53 @@
+package com.example.raceapp.cache;
+
+import com.example.raceapp.dto.CarResponse;
+import com.example.raceapp.dto.CarSimpleResponse;
+import com.example.raceapp.dto.PilotResponse;
+import com.example.raceapp.dto.RaceResponse;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseWeigherTest {
+
+    private final ResponseWeigher weigher = new ResponseWeigher();
+
+    @Test
+    void weigh_RaceWithParticipants_OutweighsSimpleCar() {
+        CarSimpleResponse simpleCar = new CarSimpleResponse();
+        simpleCar.setId(1L);
+        simpleCar.setBrand("Ferrari");
+
+        PilotResponse pilot = new PilotResponse();
+        pilot.setId(1L);
+        pilot.setName("Charles Leclerc");
+        pilot.setCars(List.of(simpleCar));
+        CarResponse car = new CarResponse();
+        car.setId(1L);
+        car.setBrand("Ferrari");
+        RaceResponse race = new RaceResponse();
+        race.setId(1L);
+        race.setName("Monaco Grand Prix");
+        race.setPilots(Set.of(pilot));
+        race.setCars(Set.of(car));
+
+        int carWeight = weigher.weigh(1L, simpleCar);
+        int raceWeight = weigher.weigh(1L, race);
+
+        assertTrue(raceWeight > 3 * carWeight);
+    }
+
+    @Test
+    void weigh_Page_GrowsWithContent() {
+        RaceResponse race = new RaceResponse();
+        race.setName("Monaco Grand Prix");
+
+        int single = weigher.weigh("page", new PageImpl<>(List.of(race)));
+        int triple = weigher.weigh("page", new PageImpl<>(List.of(race, race, race)));
+
+        assertTrue(triple > single);
+    }
+}
@@ -3,8 +3,13 @@ package com.example.raceapp.controller;
 import com.example.raceapp.dto.CarDto;
 import com.example.raceapp.dto.CarResponse;
 import com.example.raceapp.exception.NotFoundException;
+import com.example.raceapp.service.BatchReadService;
+import com.example.raceapp.service.BulkImportService;
+import com.example.raceapp.service.ExportService;
 import com.example.raceapp.service.CarService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
@@ -19,16 +24,19 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -50,11 +58,32 @@ public class CarControllerTest {
         public CarService carService() {
             return Mockito.mock(CarService.class);
         }
+
+        @Bean
+        public BulkImportService bulkImportService() {
+            return Mockito.mock(BulkImportService.class);
+        }
+
+        @Bean
+        public ExportService exportService() {
+            return Mockito.mock(ExportService.class);
+        }
+
+        @Bean
+        public BatchReadService batchReadService() {
+            return Mockito.mock(BatchReadService.class);
+        }
     }
 
     @Autowired
     private CarService carService;
 
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private BatchReadService batchReadService;
+
     @Test
     public void createCar_ValidRequest_Returns201() throws Exception {
         CarDto carDto = new CarDto();
@@ -103,6 +132,20 @@ public class CarControllerTest {
     }
 
 
+    @Test
+    public void getCarsBatch_ValidIds_ReturnsCarsInOrder() throws Exception {
+        CarResponse first = new CarResponse();
+        first.setId(3L);
+        CarResponse second = new CarResponse();
+        second.setId(1L);
+        when(batchReadService.getCars(List.of(3L, 1L))).thenReturn(List.of(first, second));
+
+        mockMvc.perform(get("/cars/batch").param("ids", "3,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(3))
+                .andExpect(jsonPath("$[1].id").value(1));
+    }
+
     @Test
     void getCarById_NonExisting_ReturnsNotFound() throws Exception {
         when(carService.getCarById(anyLong())).thenReturn(Optional.empty());
@@ -213,6 +256,15 @@ public class CarControllerTest {
         verify(carService).deleteCar(nonExistingId);
     }
 
+    @Test
+    public void deleteCarsBulk_ValidIds_ReturnsNoContent() throws Exception {
+        // Act & Assert
+        mockMvc.perform(delete("/cars/bulk").param("ids", "4", "5"))
+                .andExpect(status().isNoContent());
+
+        verify(carService).deleteCars(List.of(4L, 5L));
+    }
+
     @Test
     public void updateCar_ValidRequest_Returns200() throws Exception {
         // Arrange
@@ -260,5 +312,21 @@ public class CarControllerTest {
                 .andExpect(status().isNotFound());
     }
 
-
-}
\ No newline at end of file
+    @Test
+    public void exportCars_StreamsNdjson() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exportService).exportCars(any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/cars/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+}
@@ -1,10 +1,18 @@
 package com.example.raceapp.controller;
 
+import com.example.raceapp.dto.CursorPage;
+import com.example.raceapp.dto.LogEntry;
 import com.example.raceapp.exception.BadRequestException;
 import com.example.raceapp.exception.GlobalExceptionHandler;
 import com.example.raceapp.exception.NotFoundException;
+import com.example.raceapp.service.LogSearchService;
 import com.example.raceapp.service.LogService;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,6 +25,8 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
@@ -32,6 +42,9 @@ class LogControllerTest {
     @Mock
     private LogService logService;
 
+    @Mock
+    private LogSearchService logSearchService;
+
     @InjectMocks
     private LogController logController;
 
@@ -60,6 +73,63 @@ class LogControllerTest {
                 .andExpect(content().bytes("test content".getBytes()));
     }
 
+    @Test
+    void downloadLogFile_RangeRequested_ReturnsPartialContent() throws Exception {
+        // Arrange
+        String testDate = "01.01.2023";
+        when(logService.getLogFileForDate(testDate))
+                .thenReturn(new ByteArrayResource("test content".getBytes()));
+        when(logService.parseDate(testDate)).thenReturn(LocalDate.of(2023, 1, 1));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/logs/download")
+                        .param("date", testDate)
+                        .header(HttpHeaders.RANGE, "bytes=5-"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 5-11/12"))
+                .andExpect(content().bytes("content".getBytes()));
+    }
+
+    @Test
+    void downloadLogFile_GzipAccepted_CompressesContent() throws Exception {
+        // Arrange
+        String testDate = "01.01.2023";
+        byte[] log = "2023-01-01 10:00:00.000 INFO started\n".repeat(100).getBytes();
+        when(logService.getLogFileForDate(testDate)).thenReturn(new ByteArrayResource(log));
+        when(logService.parseDate(testDate)).thenReturn(LocalDate.of(2023, 1, 1));
+
+        // Act
+        byte[] body = mockMvc.perform(get("/api/logs/download")
+                        .param("date", testDate)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertArrayEquals(log, in.readAllBytes());
+        }
+        assertTrue(body.length < log.length);
+    }
+
+    @Test
+    void downloadLogFile_GzipRefused_SendsPlainContent() throws Exception {
+        // Arrange
+        String testDate = "01.01.2023";
+        when(logService.getLogFileForDate(testDate))
+                .thenReturn(new ByteArrayResource("test content".getBytes()));
+        when(logService.parseDate(testDate)).thenReturn(LocalDate.of(2023, 1, 1));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/logs/download")
+                        .param("date", testDate)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().bytes("test content".getBytes()));
+    }
+
     @Test
     void downloadLogFile_InvalidDateFormat() throws Exception {
         // Arrange
@@ -110,4 +180,34 @@ class LogControllerTest {
                 .andExpect(jsonPath("$.error")
                         .value("Required parameter 'date' is not present"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchLogs_ReturnsPageOfEntries() throws Exception {
+        LogSearchService.Query query = new LogSearchService.Query(
+                LocalDateTime.of(2023, 1, 1, 0, 0), LocalDateTime.of(2023, 1, 2, 0, 0),
+                null, "CarService", null, false);
+        when(logSearchService.parseQuery("2023-01-01T00:00:00", "2023-01-02T00:00:00", null,
+                "CarService", null, false)).thenReturn(query);
+        when(logSearchService.search(query, null, 100)).thenReturn(new CursorPage<>(
+                List.of(new LogEntry(LocalDateTime.of(2023, 1, 1, 8, 0), "http-1", "INFO",
+                        "c.e.r.service.CarService", "Car found")), 100, null));
+
+        mockMvc.perform(get("/api/logs/search")
+                        .param("from", "2023-01-01T00:00:00")
+                        .param("to", "2023-01-02T00:00:00")
+                        .param("logger", "CarService"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].message").value("Car found"))
+                .andExpect(jsonPath("$.content[0].level").value("INFO"));
+    }
+
+    @Test
+    void searchLogs_InvalidLevel_ReturnsBadRequest() throws Exception {
+        when(logSearchService.parseQuery(null, null, "LOUD", null, null, false))
+                .thenThrow(new BadRequestException("Invalid level: LOUD"));
+
+        mockMvc.perform(get("/api/logs/search").param("level", "LOUD"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid level: LOUD"));
+    }
+}
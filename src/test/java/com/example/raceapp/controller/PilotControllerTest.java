@@ -1,12 +1,19 @@
 package com.example.raceapp.controller;
 
-import com.example.raceapp.dto.PilotBulkRequest;
+import com.example.raceapp.dto.BulkImportResponse;
+import com.example.raceapp.dto.BulkRowError;
 import com.example.raceapp.dto.PilotDto;
 import com.example.raceapp.dto.PilotResponse;
+import com.example.raceapp.service.BatchReadService;
+import com.example.raceapp.service.BulkImportService;
+import com.example.raceapp.service.ExportService;
 import com.example.raceapp.service.PilotService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.raceapp.exception.BadRequestException;
 import com.example.raceapp.exception.NotFoundException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -24,7 +31,6 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.Mockito.anyList;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.eq;
@@ -47,6 +53,12 @@ public class PilotControllerTest {
     @Autowired
     private PilotService pilotService;
 
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private BatchReadService batchReadService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -56,18 +68,59 @@ public class PilotControllerTest {
         public PilotService pilotService() {
             return Mockito.mock(PilotService.class);
         }
+
+        @Bean
+        public BulkImportService bulkImportService() {
+            return Mockito.mock(BulkImportService.class);
+        }
+
+        @Bean
+        public ExportService exportService() {
+            return Mockito.mock(ExportService.class);
+        }
+
+        @Bean
+        public BatchReadService batchReadService() {
+            return Mockito.mock(BatchReadService.class);
+        }
     }
 
     @Test
     public void createPilotsBulk_InvalidRequest_Returns400() throws Exception {
         PilotDto invalidPilot = new PilotDto(); // Missing required fields
-        PilotBulkRequest invalidRequest = new PilotBulkRequest();
-        invalidRequest.setPilots(List.of(invalidPilot)); // Invalid data
+        BulkImportResponse result = new BulkImportResponse();
+        result.setTotal(1);
+        result.setFailed(1);
+        result.getErrors().add(new BulkRowError(0, Map.of("name", "Name is required")));
+
+        when(bulkImportService.importPilots(any(InputStream.class))).thenReturn(result);
 
         mockMvc.perform(post("/pilots/bulk")
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(invalidRequest)))
-                .andExpect(status().isBadRequest());
+                        .content(objectMapper.writeValueAsString(
+                                Map.of("pilots", List.of(invalidPilot)))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].index").value(0))
+                .andExpect(jsonPath("$.errors[0].errors.name").value("Name is required"));
+    }
+
+    @Test
+    public void createPilotsBulk_PartiallyInvalidRequest_Returns207() throws Exception {
+        BulkImportResponse result = new BulkImportResponse();
+        result.setTotal(3);
+        result.setCreated(2);
+        result.setFailed(1);
+        result.getErrors().add(new BulkRowError(1, Map.of("age", "Age must be at least 18")));
+
+        when(bulkImportService.importPilots(any(InputStream.class))).thenReturn(result);
+
+        mockMvc.perform(post("/pilots/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.errors[0].index").value(1));
     }
 
     @Test
@@ -171,6 +224,44 @@ public class PilotControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void deletePilotsBulk_ValidIds_ReturnsNoContent() throws Exception {
+        mockMvc.perform(delete("/pilots/bulk").param("ids", "1,2,3"))
+                .andExpect(status().isNoContent());
+
+        verify(pilotService).deletePilots(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    void deletePilotsBulk_MissingPilot_Returns404() throws Exception {
+        doThrow(new NotFoundException("Pilots not found: [3]"))
+                .when(pilotService).deletePilots(List.of(1L, 3L));
+
+        mockMvc.perform(delete("/pilots/bulk").param("ids", "1,3"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getPilotsBatch_ValidIds_ReturnsPilots() throws Exception {
+        PilotResponse pilot = new PilotResponse();
+        pilot.setId(2L);
+        when(batchReadService.getPilots(List.of(2L, 5L))).thenReturn(List.of(pilot));
+
+        mockMvc.perform(get("/pilots/batch").param("ids", "2,5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(2));
+    }
+
+    @Test
+    void getPilotsBatch_ServiceRejectsIds_Returns400() throws Exception {
+        when(batchReadService.getPilots(any()))
+                .thenThrow(new BadRequestException("Between 1 and 1000 IDs must be given"));
+
+        mockMvc.perform(get("/pilots/batch").param("ids", "1"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void createPilotsBulk_ValidRequest_Returns201() throws Exception {
         // Given: Валидный запрос с двумя пилотами
@@ -184,34 +275,23 @@ public class PilotControllerTest {
         pilot2.setAge(38);
         pilot2.setExperience(15);
 
-        PilotBulkRequest validRequest = new PilotBulkRequest();
-        validRequest.setPilots(List.of(pilot1, pilot2));
-
         // Mock: Сервис возвращает созданные объекты
-        PilotResponse response1 = new PilotResponse();
-        response1.setId(1L);
-        response1.setName("Max Verstappen");
-        response1.setAge(30);
-        response1.setExperience(5);
-
-        PilotResponse response2 = new PilotResponse();
-        response2.setId(2L);
-        response2.setName("Lewis Hamilton");
-        response2.setAge(38);
-        response2.setExperience(15);
+        BulkImportResponse result = new BulkImportResponse();
+        result.setTotal(2);
+        result.setCreated(2);
 
-        when(pilotService.createPilotsBulk(anyList()))
-                .thenReturn(List.of(response1, response2));
+        when(bulkImportService.importPilots(any(InputStream.class))).thenReturn(result);
 
         // When/Then: Отправка запроса и проверки
         mockMvc.perform(post("/pilots/bulk")
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(validRequest)))
+                        .content(objectMapper.writeValueAsString(
+                                Map.of("pilots", List.of(pilot1, pilot2)))))
                 .andExpect(status().isCreated())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].name").value("Max Verstappen"))
-                .andExpect(jsonPath("$[1].age").value(38))
-                .andExpect(jsonPath("$[1].experience").value(15));
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.failed").value(0))
+                .andExpect(jsonPath("$.errors.length()").value(0));
     }
 
     @Test
@@ -3,6 +3,9 @@ package com.example.raceapp.controller;
 import com.example.raceapp.dto.RaceDto;
 import com.example.raceapp.dto.RaceResponse;
 import com.example.raceapp.exception.NotFoundException;
+import com.example.raceapp.service.BatchReadService;
+import com.example.raceapp.service.BulkImportService;
+import com.example.raceapp.service.ExportService;
 import com.example.raceapp.service.RaceService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.List;
@@ -46,11 +49,29 @@ public class RaceControllerTest {
         public RaceService raceService() {
             return Mockito.mock(RaceService.class);
         }
+
+        @Bean
+        public BulkImportService bulkImportService() {
+            return Mockito.mock(BulkImportService.class);
+        }
+
+        @Bean
+        public ExportService exportService() {
+            return Mockito.mock(ExportService.class);
+        }
+
+        @Bean
+        public BatchReadService batchReadService() {
+            return Mockito.mock(BatchReadService.class);
+        }
     }
 
     @Autowired
     private RaceService raceService;
 
+    @Autowired
+    private BatchReadService batchReadService;
+
     private RaceDto createValidRaceDto() {
         RaceDto dto = new RaceDto();
         dto.setName("Grand Prix Miami");
@@ -133,6 +154,18 @@ public class RaceControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void getRacesBatch_ValidIds_ReturnsRaces() throws Exception {
+        // Arrange
+        when(batchReadService.getRaces(List.of(1L, 2L)))
+                .thenReturn(List.of(createRaceResponse(1L), createRaceResponse(2L)));
+
+        // Act & Assert
+        mockMvc.perform(get("/races/batch").param("ids", "1", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].id").value(2));
+    }
+
     @Test
     void updateRace_ValidRequest_ReturnsUpdatedRace() throws Exception {
         Long raceId = 1L;
@@ -0,0 +1,94 @@
+package com.example.raceapp.log;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogArchiveTest {
+
+    private static final LocalDate DAY = LocalDate.of(2023, 1, 2);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void find_PartsOfDate_AreOrderedByNumber() throws IOException {
+        gzip("application.2023-01-02.10.log.gz", "c\n");
+        gzip("application.2023-01-02.0.log.gz", "a\n");
+        Files.writeString(directory.resolve("application.2023-01-02.2.log"), "b\n");
+        gzip("application.2023-01-03.0.log.gz", "other day\n");
+        Files.writeString(directory.resolve("application.2023-01-02.1.log.gz.tmp"), "x");
+
+        List<LogArchive.Part> parts = archive().find(DAY);
+
+        assertEquals(List.of(0, 2, 10), parts.stream().map(LogArchive.Part::number).toList());
+        assertTrue(parts.get(0).compressed());
+        assertFalse(parts.get(1).compressed());
+    }
+
+    @Test
+    void find_PartBeingCompressed_IsReadFromTemporaryFile() throws IOException {
+        gzip("application.2023-01-02.0.log.gz", "a\n");
+        Path pending = directory.resolve("application.2023-01-02.1.log123456789.tmp");
+        Files.writeString(pending, "b\n");
+        Files.write(directory.resolve("application.2023-01-02.1.log.gz"), new byte[] {0x1f});
+
+        List<LogArchive.Part> parts = archive().find(DAY);
+
+        assertEquals(List.of(0, 1), parts.stream().map(LogArchive.Part::number).toList());
+        assertEquals(pending, parts.get(1).file());
+        assertFalse(parts.get(1).compressed());
+        try (InputStream in = new LogArchiveResource(parts, null).getInputStream()) {
+            assertEquals("a\nb\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void find_MissingDirectory_ReturnsNoParts() throws IOException {
+        LogArchive archive = new LogArchive(directory.resolve("missing/application.log"));
+
+        assertTrue(archive.find(DAY).isEmpty());
+    }
+
+    @Test
+    void resource_PartsAndActiveRegion_AreConcatenated() throws IOException {
+        gzip("application.2023-01-02.0.log.gz", "2023-01-02 01:00 first\n");
+        Files.writeString(directory.resolve("application.2023-01-02.1.log"),
+                "2023-01-02 02:00 second\n");
+        Path active = directory.resolve("application.log");
+        Files.writeString(active, "2023-01-02 23:00 third\n2023-01-03 00:00 next\n");
+        LogRegion region = new LogRegion(active, 0, 23);
+
+        LogArchiveResource resource = new LogArchiveResource(archive().find(DAY), region);
+
+        String expected = "2023-01-02 01:00 first\n2023-01-02 02:00 second\n"
+                + "2023-01-02 23:00 third\n";
+        try (InputStream in = resource.getInputStream()) {
+            assertEquals(expected, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertEquals(expected.length(), resource.contentLength());
+    }
+
+    private LogArchive archive() {
+        return new LogArchive(directory.resolve("application.log"));
+    }
+
+    private void gzip(String name, String content) throws IOException {
+        try (OutputStream out = new GZIPOutputStream(
+                Files.newOutputStream(directory.resolve(name)))) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
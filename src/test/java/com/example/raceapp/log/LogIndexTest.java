@@ -0,0 +1,116 @@
+package com.example.raceapp.log;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogIndexTest {
+
+    private static final String DAY_ONE =
+            "2023-01-01 23:59:59.999 [main] INFO  c.e.r.RaceAppApplication - Started\n";
+    private static final String DAY_TWO =
+            "2023-01-02 08:00:00.000 [http-1] ERROR c.e.r.a.LoggingAspect - Failure\n"
+            + "java.lang.IllegalStateException: boom\n"
+            + "\tat com.example.raceapp.service.CarService.getCarById(CarService.java:42)\n"
+            + "2023-01-02 09:15:00.000 [http-2] INFO  c.e.r.a.LoggingAspect - Done\n";
+    private static final String DAY_THREE =
+            "2023-01-03 00:00:00.001 [http-3] INFO  c.e.r.a.LoggingAspect - Next day\n";
+
+    @TempDir
+    Path directory;
+
+    private Path logFile;
+    private Path indexFile;
+
+    @BeforeEach
+    void setUp() {
+        logFile = directory.resolve("application.log");
+        indexFile = directory.resolve("application.log.idx");
+    }
+
+    @Test
+    void find_Date_ReturnsEntriesWithContinuationLines() throws IOException {
+        Files.writeString(logFile, DAY_ONE + DAY_TWO + DAY_THREE);
+        LogIndex index = new LogIndex(logFile, indexFile);
+
+        assertEquals(DAY_TWO, read(index.find(LocalDate.of(2023, 1, 2))));
+        assertEquals(DAY_THREE, read(index.find(LocalDate.of(2023, 1, 3))));
+        assertTrue(index.find(LocalDate.of(2022, 12, 31)).isEmpty());
+    }
+
+    @Test
+    void find_HourRange_ReturnsEntriesOfThoseHours() throws IOException {
+        Files.writeString(logFile, DAY_ONE + DAY_TWO + DAY_THREE);
+        LogIndex index = new LogIndex(logFile, indexFile);
+
+        String nineOClock = read(index.find(LocalDateTime.of(2023, 1, 2, 9, 30),
+                LocalDateTime.of(2023, 1, 2, 9, 45)));
+
+        assertEquals("2023-01-02 09:15:00.000 [http-2] INFO  c.e.r.a.LoggingAspect - Done\n",
+                nineOClock);
+    }
+
+    @Test
+    void find_AppendedEntries_ExtendsIndex() throws IOException {
+        int cut = DAY_TWO.indexOf(" ERROR");
+        Files.writeString(logFile, DAY_ONE + DAY_TWO.substring(0, cut));
+        LogIndex index = new LogIndex(logFile, indexFile);
+        assertTrue(index.find(LocalDate.of(2023, 1, 2)).isEmpty());
+
+        Files.writeString(logFile, DAY_TWO.substring(cut) + DAY_THREE, StandardOpenOption.APPEND);
+
+        assertEquals(DAY_TWO, read(index.find(LocalDate.of(2023, 1, 2))));
+        assertEquals(DAY_THREE, read(index.find(LocalDate.of(2023, 1, 3))));
+    }
+
+    @Test
+    void find_PersistedIndex_IsReusedAfterRestart() throws IOException {
+        Files.writeString(logFile, DAY_ONE + DAY_TWO);
+        new LogIndex(logFile, indexFile).find(LocalDate.of(2023, 1, 1));
+        assertTrue(Files.size(indexFile) > 0);
+
+        Files.writeString(logFile, DAY_THREE, StandardOpenOption.APPEND);
+        LogIndex restarted = new LogIndex(logFile, indexFile);
+
+        assertEquals(DAY_TWO, read(restarted.find(LocalDate.of(2023, 1, 2))));
+        assertEquals(DAY_THREE, read(restarted.find(LocalDate.of(2023, 1, 3))));
+    }
+
+    @Test
+    void find_TruncatedLog_IsReindexed() throws IOException {
+        Files.writeString(logFile, DAY_ONE + DAY_TWO);
+        LogIndex index = new LogIndex(logFile, indexFile);
+        index.find(LocalDate.of(2023, 1, 2));
+
+        Files.writeString(logFile, DAY_THREE);
+
+        assertTrue(index.find(LocalDate.of(2023, 1, 2)).isEmpty());
+        assertEquals(DAY_THREE, read(index.find(LocalDate.of(2023, 1, 3))));
+    }
+
+    @Test
+    void find_MissingLog_ReturnsEmpty() throws IOException {
+        LogIndex index = new LogIndex(logFile, indexFile);
+
+        assertTrue(index.find(LocalDate.of(2023, 1, 1)).isEmpty());
+    }
+
+    private static String read(Optional<LogRegion> region) throws IOException {
+        assertTrue(region.isPresent());
+        try (InputStream in = new LogRegionResource(region.get()).getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
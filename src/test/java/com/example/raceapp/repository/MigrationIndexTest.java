@@ -0,0 +1,106 @@
+package com.example.raceapp.repository;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Applies the Flyway migrations to an in-memory database in PostgreSQL mode and checks
+ * with {@code EXPLAIN} that the filter and join queries are answered from their indexes.
+ */
+class MigrationIndexTest {
+
+    private static final String URL = "jdbc:h2:mem:migration-index;MODE=PostgreSQL;"
+            + "DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void migrate() throws SQLException {
+        int applied = Flyway.configure()
+                .dataSource(URL, "sa", "")
+                .load()
+                .migrate()
+                .migrationsExecuted;
+        assertEquals(2, applied);
+
+        connection = DriverManager.getConnection(URL, "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            for (int i = 1; i <= 100; i++) {
+                statement.execute("INSERT INTO pilots (id, name, age, experience) VALUES ("
+                        + i + ", 'Pilot " + i + "', 30, 5)");
+                statement.execute("INSERT INTO cars (id, brand, model, power, pilot_id) VALUES ("
+                        + i + ", 'Brand " + (i % 10) + "', 'Model " + i + "', " + (500 + i)
+                        + ", " + i + ")");
+                statement.execute("INSERT INTO races (id, name, \"year\") VALUES ("
+                        + i + ", 'Race " + i + "', " + (1950 + i) + ")");
+                statement.execute("INSERT INTO race_pilot (race_id, pilot_id) VALUES ("
+                        + i + ", " + i + ")");
+                statement.execute("INSERT INTO race_car (race_id, car_id) VALUES ("
+                        + i + ", " + i + ")");
+            }
+            statement.execute("ANALYZE");
+        }
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Test
+    void carSearch_ByBrandAndModel_UsesCompositeIndex() throws SQLException {
+        assertUsesIndex("cars_brand_model_power_idx",
+                "SELECT id FROM cars WHERE brand = 'Brand 1' AND model = 'Model 11'");
+    }
+
+    @Test
+    void carsByPower_UsesPowerIndex() throws SQLException {
+        assertUsesIndex("cars_power_idx", "SELECT id FROM cars WHERE power > 590");
+    }
+
+    @Test
+    void pilotsByCarBrand_UsesOwnerAndBrandIndex() throws SQLException {
+        assertUsesIndex("cars_pilot_id_brand_idx", "SELECT p.id FROM pilots p WHERE EXISTS "
+                + "(SELECT 1 FROM cars c WHERE c.pilot_id = p.id AND c.brand = 'Brand 1')");
+    }
+
+    @Test
+    void racesByYearRange_UsesYearIndex() throws SQLException {
+        assertUsesIndex("races_year_idx",
+                "SELECT id FROM races WHERE \"year\" BETWEEN 1960 AND 1970");
+    }
+
+    @Test
+    void joinTables_ReverseLookups_UseReverseIndexes() throws SQLException {
+        assertUsesIndex("race_pilot_pilot_id_race_id_idx",
+                "SELECT race_id FROM race_pilot WHERE pilot_id = 7");
+        assertUsesIndex("race_car_car_id_race_id_idx",
+                "SELECT race_id FROM race_car WHERE car_id = 7");
+    }
+
+    private static void assertUsesIndex(String index, String query) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("EXPLAIN " + query)) {
+            while (result.next()) {
+                plan.append(result.getString(1)).append('\n');
+            }
+        }
+        assertTrue(plan.toString().toLowerCase(Locale.ROOT).contains(index),
+                "Expected " + index + " in plan:\n" + plan);
+    }
+}
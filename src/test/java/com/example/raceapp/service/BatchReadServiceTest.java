@@ -0,0 +1,65 @@
+package com.example.raceapp.service;
+
+import com.example.raceapp.cache.BatchCacheLoader;
+import com.example.raceapp.cache.EntityType;
+import com.example.raceapp.exception.BadRequestException;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BatchReadServiceTest {
+
+    @Mock
+    private BatchCacheLoader batchCacheLoader;
+
+    @Mock
+    private PilotService pilotService;
+
+    @Mock
+    private CarService carService;
+
+    @Mock
+    private RaceService raceService;
+
+    @InjectMocks
+    private BatchReadService batchReadService;
+
+    @Test
+    void getPilots_NoIds_ThrowsBadRequest() {
+        assertThrows(BadRequestException.class, () -> batchReadService.getPilots(List.of()));
+        verifyNoInteractions(batchCacheLoader);
+    }
+
+    @Test
+    void getCars_MoreThanMaxSizeIds_ThrowsBadRequest() {
+        List<Long> ids = ids(BatchReadService.MAX_SIZE + 1);
+
+        assertThrows(BadRequestException.class, () -> batchReadService.getCars(ids));
+        verifyNoInteractions(batchCacheLoader);
+    }
+
+    @Test
+    void getRaces_MaxSizeIds_LoadsThem() {
+        List<Long> ids = ids(BatchReadService.MAX_SIZE);
+        when(batchCacheLoader.getAll(eq(EntityType.RACE), eq(ids), any(), any()))
+                .thenReturn(List.of());
+
+        assertTrue(batchReadService.getRaces(ids).isEmpty());
+    }
+
+    private static List<Long> ids(int count) {
+        return LongStream.rangeClosed(1, count).boxed().toList();
+    }
+}
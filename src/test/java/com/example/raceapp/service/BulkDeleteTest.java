@@ -0,0 +1,96 @@
+package com.example.raceapp.service;
+
+import com.example.raceapp.model.Car;
+import com.example.raceapp.model.Pilot;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks that deletes clean up the join tables and car owners with a fixed number of
+ * statements, however many races the deleted pilots and cars took part in.
+ */
+@ServiceJpaTest
+@Import({PilotService.class, CarService.class})
+class BulkDeleteTest {
+
+    private static final int RACE_COUNT = 30;
+
+    @Autowired
+    private PilotService pilotService;
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Pilot> pilots = new ArrayList<>();
+    private final List<Car> cars = new ArrayList<>();
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        TestData data = new TestData(entityManager);
+        for (int i = 0; i < 3; i++) {
+            Pilot pilot = data.pilot("Pilot " + i);
+            pilots.add(pilot);
+            cars.add(data.car("Brand " + i, "Model " + i, 500, pilot));
+        }
+        for (int i = 0; i < RACE_COUNT; i++) {
+            data.race("Race " + i, 2000 + i, pilots, cars);
+        }
+        data.flushAndClear();
+
+        statistics = TestData.clearedStatistics(entityManagerFactory);
+    }
+
+    @Test
+    void deletePilots_RemovesRaceEntriesAndReleasesCars() {
+        pilotService.deletePilots(List.of(pilots.get(0).getId(), pilots.get(1).getId()));
+        entityManager.flush();
+
+        assertEquals(6, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        entityManager.clear();
+        assertNull(entityManager.find(Pilot.class, pilots.get(0).getId()));
+        assertNull(entityManager.find(Pilot.class, pilots.get(1).getId()));
+        Car releasedCar = entityManager.find(Car.class, cars.get(0).getId());
+        assertNotNull(releasedCar);
+        assertNull(releasedCar.getOwner());
+        assertEquals(RACE_COUNT, countRows("race_pilot"));
+        assertEquals(RACE_COUNT, countRows("race_car"));
+    }
+
+    @Test
+    void deleteCars_RemovesRaceEntries() {
+        carService.deleteCars(List.of(cars.get(0).getId(), cars.get(2).getId()));
+        entityManager.flush();
+
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        entityManager.clear();
+        assertNull(entityManager.find(Car.class, cars.get(0).getId()));
+        assertNotNull(entityManager.find(Pilot.class, pilots.get(0).getId()));
+        assertEquals(RACE_COUNT * 3, countRows("race_pilot"));
+        assertEquals(RACE_COUNT, countRows("race_car"));
+    }
+
+    private long countRows(String table) {
+        return ((Number) entityManager.createNativeQuery("SELECT COUNT(*) FROM " + table)
+                .getSingleResult()).longValue();
+    }
+}
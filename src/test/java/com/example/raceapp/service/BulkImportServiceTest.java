@@ -0,0 +1,132 @@
+package com.example.raceapp.service;
+
+import com.example.raceapp.config.BulkImportConfig;
+import com.example.raceapp.dto.BulkImportResponse;
+import com.example.raceapp.exception.BadRequestException;
+import com.example.raceapp.model.Pilot;
+import com.example.raceapp.repository.CarRepository;
+import com.example.raceapp.repository.PilotRepository;
+import com.example.raceapp.repository.RaceRepository;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ServiceJpaTest
+@Import({BulkImportService.class, PilotService.class, CarService.class, RaceService.class,
+        BulkImportConfig.class, JacksonAutoConfiguration.class,
+        ValidationAutoConfiguration.class})
+@TestPropertySource(properties = {
+        "app.bulk.batch-size=2",
+        "app.bulk.max-reported-errors=1"
+})
+class BulkImportServiceTest {
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private PilotRepository pilotRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private RaceRepository raceRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void importPilots_WrappedArray_WritesValidRowsAndReportsInvalidOnes() {
+        BulkImportResponse result = bulkImportService.importPilots(json("""
+                { "source": "season", "pilots": [
+                  { "name": "Max Verstappen", "age": 30, "experience": 5 },
+                  { "name": "", "age": 30, "experience": 5 },
+                  { "name": "Lewis Hamilton", "age": 38, "experience": 15 },
+                  { "name": "Lando Norris", "age": "old", "experience": 4 },
+                  { "name": "Charles Leclerc", "age": 27, "experience": 6 }
+                ] }
+                """));
+
+        assertEquals(5, result.getTotal());
+        assertEquals(3, result.getCreated());
+        assertEquals(2, result.getFailed());
+        assertEquals(1, result.getErrors().size());
+        assertEquals(1, result.getErrors().getFirst().getIndex());
+        assertTrue(result.getErrors().getFirst().getErrors().containsKey("name"));
+        assertTrue(result.isErrorsTruncated());
+        assertEquals(3, pilotRepository.count());
+    }
+
+    @Test
+    void importCars_UnknownOwner_RejectsRow() {
+        Pilot owner = new TestData(entityManager).pilot("Max Verstappen");
+
+        BulkImportResponse result = bulkImportService.importCars(json("""
+                [
+                  { "brand": "Red Bull", "model": "RB19", "power": 980, "ownerId": %d },
+                  { "brand": "Ferrari", "model": "SF-23", "power": 970, "ownerId": -1 },
+                  { "brand": "Red Bull", "model": "RB20", "power": 990, "ownerId": %d }
+                ]
+                """.formatted(owner.getId(), owner.getId())));
+
+        assertEquals(2, result.getCreated());
+        assertEquals(1, result.getFailed());
+        assertEquals(1, result.getErrors().getFirst().getIndex());
+        assertEquals("Pilot not found", result.getErrors().getFirst().getErrors().get("ownerId"));
+        assertEquals(2, carRepository.count());
+    }
+
+    @Test
+    void importRaces_ResolvesPilotsAndCarsOfChunk() {
+        Pilot pilot = new TestData(entityManager).pilot("Max Verstappen");
+        bulkImportService.importCars(json("""
+                [{ "brand": "Red Bull", "model": "RB19", "power": 980, "ownerId": %d }]
+                """.formatted(pilot.getId())));
+        Long carId = carRepository.findAll().getFirst().getId();
+
+        BulkImportResponse result = bulkImportService.importRaces(json("""
+                { "races": [
+                  { "name": "Grand Prix Miami", "year": 2025, "pilotIds": [%d], "carIds": [%d] },
+                  { "name": "Grand Prix Monaco", "year": 2025, "pilotIds": [-1], "carIds": [%d] }
+                ] }
+                """.formatted(pilot.getId(), carId, carId)));
+
+        assertEquals(1, result.getCreated());
+        assertEquals(1, result.getFailed());
+        assertEquals("Pilots not found: [-1]",
+                result.getErrors().getFirst().getErrors().get("pilotIds"));
+        assertFalse(result.getErrors().getFirst().getErrors().containsKey("carIds"));
+        assertEquals(1, raceRepository.count());
+    }
+
+    @Test
+    void importPilots_EmptyArray_ThrowsBadRequest() {
+        InputStream body = json("[]");
+
+        assertThrows(BadRequestException.class, () -> bulkImportService.importPilots(body));
+    }
+
+    @Test
+    void importPilots_MalformedJson_ThrowsBadRequest() {
+        InputStream body = json("[{ \"name\": \"Max Verstappen\", ");
+
+        assertThrows(BadRequestException.class, () -> bulkImportService.importPilots(body));
+    }
+
+    private static InputStream json(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
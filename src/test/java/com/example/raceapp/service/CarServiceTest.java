@@ -1,7 +1,10 @@
 package com.example.raceapp.service;
 
+import com.example.raceapp.cache.CacheInvalidator;
+import com.example.raceapp.cache.EntityType;
 import com.example.raceapp.dto.CarDto;
 import com.example.raceapp.dto.CarResponse;
+import com.example.raceapp.exception.BadRequestException;
 import com.example.raceapp.exception.NotFoundException;
 import com.example.raceapp.model.Car;
 import com.example.raceapp.model.Pilot;
@@ -13,6 +16,7 @@ import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Root;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -52,6 +56,9 @@ class CarServiceTest {
     @Mock
     private RaceRepository raceRepository;
 
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
     @InjectMocks
     private CarService carService;
 
@@ -63,8 +70,8 @@ class CarServiceTest {
         car.setId(1L);
         car.setPower(900);
 
-        when(carRepository.findCarsByPowerNative(minPower, pageable))
-                .thenReturn(new PageImpl<>(List.of(car)));
+        when(carRepository.findResponsesByPower(minPower, pageable))
+                .thenReturn(responses(car));
 
         Page<CarResponse> result = carService.getCarsByPower(minPower, pageable);
 
@@ -82,8 +89,8 @@ class CarServiceTest {
         Car car = new Car();
         car.setId(1L);
 
-        when(carRepository.findAll(any(Specification.class), eq(pageable)))
-                .thenReturn(new PageImpl<>(List.of(car)));
+        when(carRepository.findResponses(any(Specification.class), eq(pageable)))
+                .thenReturn(responses(car));
 
         Page<CarResponse> result = carService.searchCarsWithPagination(
                 brand, model, power, ownerId, pageable);
@@ -110,28 +117,16 @@ class CarServiceTest {
     @Test
     void deleteCar_WithRacesAndOwner_CleansUpRelations() {
         Long carId = 1L;
-        Car car = new Car();
-        car.setId(carId);
-
-        Pilot owner = new Pilot();
-        owner.setId(1L);
-        car.setOwner(owner);
-        owner.getCars().add(car);
-
-        Race race = new Race();
-        race.setId(1L);
-        race.getCars().add(car);
-        car.getRaces().add(race);
-
-        when(carRepository.findById(carId)).thenReturn(Optional.of(car));
+        when(carRepository.findIdsByIdIn(Set.of(carId))).thenReturn(List.of(carId));
+        when(carRepository.findOwnerIdsByIdIn(Set.of(carId))).thenReturn(List.of(5L));
 
         carService.deleteCar(carId);
 
-        verify(raceRepository).save(race);
-        assertTrue(race.getCars().isEmpty());
-        verify(pilotRepository).save(owner);
-        assertTrue(owner.getCars().isEmpty());
-        verify(carRepository).delete(car);
+        verify(raceRepository).deleteCarEntries(Set.of(carId));
+        verify(carRepository).deleteAllByIdInBatch(Set.of(carId));
+        verify(raceRepository, never()).save(any());
+        verify(pilotRepository, never()).save(any());
+        verify(cacheInvalidator).evictEntities(EntityType.PILOT, List.of(5L));
     }
 
     @Test
@@ -245,8 +240,8 @@ class CarServiceTest {
     void searchCars_WithNullParameters_ReturnsAll() {
         // Arrange
         Pageable pageable = Pageable.unpaged();
-        when(carRepository.findAll(any(Specification.class), eq(pageable)))
-                .thenReturn(new PageImpl<>(List.of(new Car(), new Car())));
+        when(carRepository.findResponses(any(Specification.class), eq(pageable)))
+                .thenReturn(responses(new Car(), new Car()));
 
         // Act
         Page<CarResponse> result = carService.searchCarsWithPagination(null, null, null, null, pageable);
@@ -256,20 +251,38 @@ class CarServiceTest {
     }
 
     @Test
-    void deleteCar_WithoutRaces_DoesNotUpdateRaces() {
+    void deleteCars_SeveralCars_IssuesOneStatementPerTable() {
         // Arrange
-        Long carId = 1L;
-        Car car = new Car();
-        car.setId(carId);
-
-        when(carRepository.findById(carId)).thenReturn(Optional.of(car));
+        Set<Long> carIds = Set.of(1L, 2L, 3L);
+        when(carRepository.findIdsByIdIn(carIds)).thenReturn(List.of(1L, 2L, 3L));
+        when(carRepository.findOwnerIdsByIdIn(carIds)).thenReturn(List.of(5L));
 
         // Act
-        carService.deleteCar(carId);
+        carService.deleteCars(List.of(3L, 2L, 1L, 1L));
 
         // Assert
-        verify(raceRepository, never()).save(any());
-        verify(carRepository).delete(car);
+        verify(raceRepository).deleteCarEntries(carIds);
+        verify(carRepository).deleteAllByIdInBatch(carIds);
+        verify(carRepository, never()).findById(any());
+        verify(cacheInvalidator).evictEntities(EntityType.CAR, carIds);
+    }
+
+    @Test
+    void deleteCars_SomeMissing_DeletesNothing() {
+        when(carRepository.findIdsByIdIn(Set.of(1L, 9L))).thenReturn(List.of(1L));
+
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> carService.deleteCars(List.of(1L, 9L)));
+
+        assertEquals("Cars not found: [9]", exception.getMessage());
+        verify(raceRepository, never()).deleteCarEntries(any());
+        verify(carRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    void deleteCars_NoIds_ThrowsBadRequest() {
+        assertThrows(BadRequestException.class, () -> carService.deleteCars(List.of()));
+        verify(carRepository, never()).findIdsByIdIn(any());
     }
 
     @Test
@@ -280,9 +293,9 @@ class CarServiceTest {
 
         Car car = new Car();
         car.setBrand(brand);
-        Page<Car> mockPage = new PageImpl<>(List.of(car));
+        Page<CarResponse> mockPage = responses(car);
 
-        when(carRepository.findAll(any(Specification.class), eq(pageable)))
+        when(carRepository.findResponses(any(Specification.class), eq(pageable)))
                 .thenReturn(mockPage);
 
         // Act
@@ -309,9 +322,9 @@ class CarServiceTest {
         Car car = new Car();
         car.setBrand(brand);
         car.setModel(model);
-        Page<Car> mockPage = new PageImpl<>(List.of(car));
+        Page<CarResponse> mockPage = responses(car);
 
-        when(carRepository.findAll(any(Specification.class), eq(pageable)))
+        when(carRepository.findResponses(any(Specification.class), eq(pageable)))
                 .thenReturn(mockPage);
 
         // Act
@@ -342,9 +355,9 @@ class CarServiceTest {
         Car car = new Car();
         car.setPower(power);
         car.setOwner(owner);
-        Page<Car> mockPage = new PageImpl<>(List.of(car));
+        Page<CarResponse> mockPage = responses(car);
 
-        when(carRepository.findAll(any(Specification.class), eq(pageable)))
+        when(carRepository.findResponses(any(Specification.class), eq(pageable)))
                 .thenReturn(mockPage);
 
         // Act
@@ -366,9 +379,9 @@ class CarServiceTest {
     void searchCars_WithAllNullParameters_ReturnsAll() {
         // Arrange
         Pageable pageable = Pageable.unpaged();
-        Page<Car> mockPage = new PageImpl<>(List.of(new Car(), new Car()));
+        Page<CarResponse> mockPage = responses(new Car(), new Car());
 
-        when(carRepository.findAll(any(Specification.class), eq(pageable)))
+        when(carRepository.findResponses(any(Specification.class), eq(pageable)))
                 .thenReturn(mockPage);
 
         // Act
@@ -394,9 +407,9 @@ class CarServiceTest {
         Car car = new Car();
         car.setBrand(brand);
         car.setPower(power);
-        Page<Car> mockPage = new PageImpl<>(List.of(car));
+        Page<CarResponse> mockPage = responses(car);
 
-        when(carRepository.findAll(any(Specification.class), eq(pageable)))
+        when(carRepository.findResponses(any(Specification.class), eq(pageable)))
                 .thenReturn(mockPage);
 
         // Act
@@ -427,9 +440,9 @@ class CarServiceTest {
         Car car = new Car();
         car.setModel(model);
         car.setOwner(owner);
-        Page<Car> mockPage = new PageImpl<>(List.of(car));
+        Page<CarResponse> mockPage = responses(car);
 
-        when(carRepository.findAll(any(Specification.class), eq(pageable)))
+        when(carRepository.findResponses(any(Specification.class), eq(pageable)))
                 .thenReturn(mockPage);
 
         // Act
@@ -459,9 +472,9 @@ class CarServiceTest {
         car.setBrand(brand);
         car.setModel(model);
         car.setPower(power);
-        Page<Car> mockPage = new PageImpl<>(List.of(car));
+        Page<CarResponse> mockPage = responses(car);
 
-        when(carRepository.findAll(any(Specification.class), eq(pageable)))
+        when(carRepository.findResponses(any(Specification.class), eq(pageable)))
                 .thenReturn(mockPage);
 
         // Act
@@ -495,9 +508,9 @@ class CarServiceTest {
         car.setModel(model);
         car.setPower(power);
         car.setOwner(owner);
-        Page<Car> mockPage = new PageImpl<>(List.of(car));
+        Page<CarResponse> mockPage = responses(car);
 
-        when(carRepository.findAll(any(Specification.class), eq(pageable)))
+        when(carRepository.findResponses(any(Specification.class), eq(pageable)))
                 .thenReturn(mockPage);
 
         // Act
@@ -533,9 +546,9 @@ class CarServiceTest {
         car.setModel(model);
         car.setPower(power);
         car.setOwner(owner);
-        Page<Car> mockPage = new PageImpl<>(List.of(car));
+        Page<CarResponse> mockPage = responses(car);
 
-        when(carRepository.findAll(any(Specification.class), eq(pageable)))
+        when(carRepository.findResponses(any(Specification.class), eq(pageable)))
                 .thenReturn(mockPage);
 
         // Act
@@ -562,8 +575,8 @@ class CarServiceTest {
         Pageable pageable = PageRequest.of(0, 10);
 
         ArgumentCaptor<Specification<Car>> specCaptor = ArgumentCaptor.forClass(Specification.class);
-        when(carRepository.findAll(specCaptor.capture(), eq(pageable)))
-                .thenReturn(new PageImpl<>(List.of(new Car())));
+        when(carRepository.findResponses(specCaptor.capture(), eq(pageable)))
+                .thenReturn(responses(new Car()));
 
         // Act
         carService.searchCarsWithPagination(
@@ -597,8 +610,8 @@ class CarServiceTest {
         Pageable pageable = PageRequest.of(0, 10);
 
         ArgumentCaptor<Specification<Car>> specCaptor = ArgumentCaptor.forClass(Specification.class);
-        when(carRepository.findAll(specCaptor.capture(), eq(pageable)))
-                .thenReturn(new PageImpl<>(List.of(new Car())));
+        when(carRepository.findResponses(specCaptor.capture(), eq(pageable)))
+                .thenReturn(responses(new Car()));
 
         // Act
         carService.searchCarsWithPagination(
@@ -684,8 +697,10 @@ class CarServiceTest {
     @Test
     void deleteCar_NonExistingId_ThrowsNotFoundException() {
         Long carId = 999L;
-        when(carRepository.findById(carId)).thenReturn(Optional.empty());
-        assertThrows(NotFoundException.class, () -> carService.deleteCar(carId));
+        when(carRepository.findIdsByIdIn(Set.of(carId))).thenReturn(List.of());
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> carService.deleteCar(carId));
+        assertEquals("Car not found", exception.getMessage());
     }
 
     @Test
@@ -728,8 +743,8 @@ class CarServiceTest {
         Car car = new Car();
         car.setModel(model);
         car.setPower(power);
-        Page<Car> mockPage = new PageImpl<>(List.of(car));
-        when(carRepository.findAll(any(Specification.class), eq(pageable)))
+        Page<CarResponse> mockPage = responses(car);
+        when(carRepository.findResponses(any(Specification.class), eq(pageable)))
                 .thenReturn(mockPage);
         // Act
         Page<CarResponse> result = carService.searchCarsWithPagination(
@@ -756,8 +771,8 @@ class CarServiceTest {
         Car car = new Car();
         car.setBrand(brand);
         car.setOwner(owner);
-        Page<Car> mockPage = new PageImpl<>(List.of(car));
-        when(carRepository.findAll(any(Specification.class), eq(pageable)))
+        Page<CarResponse> mockPage = responses(car);
+        when(carRepository.findResponses(any(Specification.class), eq(pageable)))
                 .thenReturn(mockPage);
         // Act
         Page<CarResponse> result = carService.searchCarsWithPagination(
@@ -783,8 +798,8 @@ class CarServiceTest {
         car.setModel(model);
 
         // Правильно: возвращаем PageImpl напрямую
-        when(carRepository.findAll(any(Specification.class), eq(pageable)))
-                .thenReturn(new PageImpl<>(List.of(car)));
+        when(carRepository.findResponses(any(Specification.class), eq(pageable)))
+                .thenReturn(responses(car));
 
         // Act
         Page<CarResponse> result = carService.searchCarsWithPagination(
@@ -806,8 +821,8 @@ class CarServiceTest {
         Pageable pageable = PageRequest.of(0, 10);
 
         ArgumentCaptor<Specification<Car>> specCaptor = ArgumentCaptor.forClass(Specification.class);
-        when(carRepository.findAll(specCaptor.capture(), eq(pageable)))
-                .thenReturn(new PageImpl<>(List.of(new Car())));
+        when(carRepository.findResponses(specCaptor.capture(), eq(pageable)))
+                .thenReturn(responses(new Car()));
 
         carService.searchCarsWithPagination(
                 null,   // brand
@@ -840,8 +855,8 @@ class CarServiceTest {
         car.setPower(power);
 
         // Мокируем репозиторий, возвращаем PageImpl с тестовыми данными
-        when(carRepository.findAll(any(Specification.class), eq(pageable)))
-                .thenReturn(new PageImpl<>(List.of(car)));
+        when(carRepository.findResponses(any(Specification.class), eq(pageable)))
+                .thenReturn(responses(car));
 
         // Act
         Page<CarResponse> result = carService.searchCarsWithPagination(
@@ -864,8 +879,8 @@ class CarServiceTest {
         Pageable pageable = PageRequest.of(0, 10);
 
         ArgumentCaptor<Specification<Car>> specCaptor = ArgumentCaptor.forClass(Specification.class);
-        when(carRepository.findAll(specCaptor.capture(), eq(pageable)))
-                .thenReturn(new PageImpl<>(List.of(new Car())));
+        when(carRepository.findResponses(specCaptor.capture(), eq(pageable)))
+                .thenReturn(responses(new Car()));
 
         // Act
         carService.searchCarsWithPagination(
@@ -890,4 +905,19 @@ class CarServiceTest {
         verify(cb).equal(path, power); // Проверяем, что предикат для power был добавлен
     }
 
-}
\ No newline at end of file
+
+    /**
+     * Builds the page a projection query returns for the given cars.
+     */
+    private static Page<CarResponse> responses(Car... cars) {
+        return new PageImpl<>(Arrays.stream(cars)
+                .map(car -> {
+                    Pilot owner = car.getOwner();
+                    return new CarResponse(car.getId(), car.getBrand(), car.getModel(),
+                            car.getPower(), owner != null ? owner.getId() : null,
+                            owner != null ? owner.getName() : null,
+                            owner != null ? owner.getExperience() : null);
+                })
+                .toList());
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.raceapp.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EndpointMetricsServiceTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EndpointMetricsService endpointMetricsService =
+            new EndpointMetricsService(meterRegistry);
+
+    @Test
+    void record_SameRouteAndStatusClass_SharesStatistics() {
+        endpointMetricsService.record("GET", "/cars/{id}", 200, TimeUnit.MILLISECONDS.toNanos(2));
+        endpointMetricsService.record("GET", "/cars/{id}", 204, TimeUnit.MILLISECONDS.toNanos(4));
+        endpointMetricsService.record("GET", "/cars/{id}", 404, TimeUnit.MILLISECONDS.toNanos(1));
+        endpointMetricsService.record("DELETE", "/cars/{id}", 204, 1_000);
+        endpointMetricsService.record("GET", null, 404, 1_000);
+
+        List<EndpointMetricsService.EndpointStats> stats =
+                endpointMetricsService.getEndpointStats();
+
+        assertEquals(4, stats.size());
+        EndpointMetricsService.EndpointStats busiest = stats.get(0);
+        assertEquals("GET", busiest.method());
+        assertEquals("/cars/{id}", busiest.route());
+        assertEquals("2xx", busiest.status());
+        assertEquals(2, busiest.count());
+        assertEquals(4.0, busiest.max(), 0.001);
+        assertEquals(1, stats.stream()
+                .filter(s -> s.route().equals(EndpointMetricsService.UNMATCHED)).count());
+    }
+
+    @Test
+    void record_NewRoute_PublishesMeters() {
+        endpointMetricsService.record("POST", "/pilots", 201, TimeUnit.MILLISECONDS.toNanos(8));
+
+        assertEquals(1.0, meterRegistry.get("visits.endpoint.requests")
+                .tags("method", "POST", "route", "/pilots", "status", "2xx")
+                .functionCounter().count());
+        assertEquals(8.0, meterRegistry.get("visits.endpoint.latency")
+                .tags("route", "/pilots", "quantile", "0.99")
+                .gauge().value(), 8.0 / 32);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.raceapp.service;
+
+import com.example.raceapp.model.Pilot;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Import;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ServiceJpaTest
+@Import({ExportService.class, PilotService.class, CarService.class, RaceService.class,
+        JacksonAutoConfiguration.class})
+class ExportServiceTest {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private TestData data;
+
+    @BeforeEach
+    void setUp() {
+        data = new TestData(entityManager);
+    }
+
+    @Test
+    void exportCars_WritesOneLinePerCarAcrossChunks() throws IOException {
+        Pilot owner = data.pilot("Max Verstappen");
+        int count = ExportService.CHUNK_SIZE + 3;
+        for (int i = 0; i < count; i++) {
+            data.car("Red Bull", "RB" + i, 900 + i, owner);
+        }
+        data.flushAndClear();
+
+        List<JsonNode> lines = export(exportService::exportCars);
+
+        assertEquals(count, lines.size());
+        assertEquals("RB0", lines.getFirst().get("model").asText());
+        assertEquals("Max Verstappen", lines.getLast().get("owner").get("name").asText());
+        assertTrue(lines.getFirst().get("id").asLong() < lines.getLast().get("id").asLong());
+    }
+
+    @Test
+    void exportPilots_WritesPilotsWithCars() throws IOException {
+        Pilot pilot = data.pilot("Lewis Hamilton");
+        data.car("Mercedes", "W14", 960, pilot);
+        data.pilot("Lando Norris");
+        data.flushAndClear();
+
+        List<JsonNode> lines = export(exportService::exportPilots);
+
+        assertEquals(2, lines.size());
+        assertEquals("Lewis Hamilton", lines.getFirst().get("name").asText());
+        assertEquals("W14", lines.getFirst().get("cars").get(0).get("model").asText());
+        assertEquals(0, lines.getLast().get("cars").size());
+    }
+
+    @Test
+    void exportRaces_WritesRacesWithParticipants() throws IOException {
+        Pilot pilot = data.pilot("Charles Leclerc");
+        data.race("Grand Prix Monaco", 2025, List.of(pilot), List.of());
+        data.flushAndClear();
+
+        List<JsonNode> lines = export(exportService::exportRaces);
+
+        assertEquals(1, lines.size());
+        assertEquals("Grand Prix Monaco", lines.getFirst().get("name").asText());
+        assertEquals("Charles Leclerc",
+                lines.getFirst().get("pilots").get(0).get("name").asText());
+    }
+
+    private List<JsonNode> export(Exporter exporter) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.export(out);
+        String content = out.toString(StandardCharsets.UTF_8);
+        assertTrue(content.endsWith("\n"));
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : content.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    @FunctionalInterface
+    private interface Exporter {
+        void export(ByteArrayOutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.raceapp.service;
+
+import com.example.raceapp.dto.CarResponse;
+import com.example.raceapp.dto.CursorPage;
+import com.example.raceapp.dto.RaceResponse;
+import com.example.raceapp.exception.BadRequestException;
+import com.example.raceapp.model.Pilot;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ServiceJpaTest
+@Import({RaceService.class, PilotService.class, CarService.class})
+class KeysetPaginationTest {
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private RaceService raceService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void getCarsByPowerAfter_WalksAllPagesInPowerOrder() {
+        TestData data = new TestData(entityManager);
+        Pilot owner = data.pilot("Max Verstappen");
+        int[] powers = {950, 900, 950, 700, 990, 910, 950};
+        for (int power : powers) {
+            data.car("Red Bull", "RB" + power, power, owner);
+        }
+        data.flushAndClear();
+
+        List<CarResponse> cars = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        do {
+            CursorPage<CarResponse> page = carService.getCarsByPowerAfter(800, cursor, 2);
+            cars.addAll(page.getContent());
+            cursor = page.getNext();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(List.of(900, 910, 950, 950, 950, 990),
+                cars.stream().map(CarResponse::getPower).toList());
+        assertEquals(6, cars.stream().map(CarResponse::getId).distinct().count());
+        assertNotNull(cars.getFirst().getOwner());
+    }
+
+    @Test
+    void getRacesAfter_DoesNotCount() {
+        TestData data = new TestData(entityManager);
+        for (int i = 0; i < 5; i++) {
+            data.race("Race " + i, 2025, List.of(), List.of());
+        }
+        data.flushAndClear();
+
+        Statistics statistics = TestData.clearedStatistics(entityManagerFactory);
+
+        CursorPage<RaceResponse> first = raceService.getRacesAfter("", 3);
+        CursorPage<RaceResponse> last = raceService.getRacesAfter(first.getNext(), 3);
+
+        assertEquals(3, first.getContent().size());
+        assertEquals(2, last.getContent().size());
+        assertNull(last.getNext());
+        assertTrue(first.getContent().getLast().getId() < last.getContent().getFirst().getId());
+        assertTrue(statistics.getQueries().length > 0);
+        for (String query : statistics.getQueries()) {
+            assertFalse(query.toLowerCase().contains("count("), query);
+        }
+    }
+
+    @Test
+    void getRacesAfter_InvalidCursor_ThrowsBadRequest() {
+        assertThrows(BadRequestException.class, () -> raceService.getRacesAfter("not a cursor", 3));
+        assertThrows(BadRequestException.class, () -> raceService.getRacesAfter("", 0));
+    }
+}
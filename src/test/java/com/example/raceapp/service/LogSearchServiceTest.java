@@ -0,0 +1,155 @@
+package com.example.raceapp.service;
+
+import com.example.raceapp.dto.CursorPage;
+import com.example.raceapp.dto.LogEntry;
+import com.example.raceapp.exception.BadRequestException;
+import com.example.raceapp.log.LogArchive;
+import com.example.raceapp.log.LogIndex;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.event.Level;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LogSearchServiceTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2023, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2023, 1, 3, 0, 0);
+
+    private static final String ARCHIVED =
+            "2023-01-01 10:00:00.000 [main] INFO  c.e.r.RaceAppApplication - Started\n"
+            + "2023-01-01 11:00:00.000 [http-1] ERROR c.e.r.service.CarService - Car failed\n"
+            + "java.lang.IllegalStateException: boom\n"
+            + "\tat com.example.raceapp.service.CarService.getCarById(CarService.java:42)\n"
+            + "2023-01-01 12:00:00.000 [http-2] WARN  c.e.r.service.PilotService - Slow pilot\n";
+    private static final String ACTIVE =
+            "2023-01-02 08:00:00.000 [http-3] INFO  c.e.r.service.CarService - Car 1 found\n"
+            + "2023-01-02 08:00:00.000 [http-4] INFO  c.e.r.service.CarService - Car 2 found\n"
+            + "2023-01-02 08:00:00.000 [http-5] INFO  c.e.r.service.CarService - Car 3 found\n"
+            + "2023-01-03 00:00:00.000 [http-6] ERROR c.e.r.service.CarService - Next day\n";
+
+    @TempDir
+    Path directory;
+
+    private LogSearchService logSearchService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path logFile = directory.resolve("application.log");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(
+                directory.resolve("application.2023-01-01.0.log.gz")))) {
+            out.write(ARCHIVED.getBytes(StandardCharsets.UTF_8));
+        }
+        Files.writeString(logFile, ACTIVE);
+        logSearchService = new LogSearchService(
+                new LogIndex(logFile, directory.resolve("application.log.idx")),
+                new LogArchive(logFile));
+    }
+
+    @Test
+    void search_LevelFilter_ReturnsEntriesAtOrAboveLevelWithStackTrace() {
+        CursorPage<LogEntry> page = logSearchService.search(
+                new LogSearchService.Query(FROM, TO, Level.WARN, null, null, false), null, 10);
+
+        assertEquals(List.of("Car failed\njava.lang.IllegalStateException: boom\n"
+                        + "\tat com.example.raceapp.service.CarService.getCarById"
+                        + "(CarService.java:42)", "Slow pilot"),
+                page.getContent().stream().map(LogEntry::getMessage).toList());
+        assertEquals("ERROR", page.getContent().get(0).getLevel());
+        assertEquals("http-1", page.getContent().get(0).getThread());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    void search_LoggerAndTextFilters_SpanArchiveAndActiveLog() {
+        CursorPage<LogEntry> page = logSearchService.search(
+                new LogSearchService.Query(FROM, TO, null, "CarService", "Car [13]", true),
+                null, 10);
+
+        assertEquals(List.of("Car 1 found", "Car 3 found"),
+                page.getContent().stream().map(LogEntry::getMessage).toList());
+    }
+
+    @Test
+    void search_TextFilter_MatchesContinuationLines() {
+        CursorPage<LogEntry> page = logSearchService.search(
+                new LogSearchService.Query(FROM, TO, null, null, "IllegalStateException", false),
+                null, 10);
+
+        assertEquals(1, page.getContent().size());
+        assertEquals(LocalDateTime.of(2023, 1, 1, 11, 0), page.getContent().get(0).getTimestamp());
+    }
+
+    @Test
+    void search_Cursor_ResumesWithinEntriesOfSameTimestamp() {
+        LogSearchService.Query query = new LogSearchService.Query(
+                LocalDateTime.of(2023, 1, 1, 11, 30), TO, Level.INFO, null, null, false);
+        List<String> messages = new ArrayList<>();
+        String after = null;
+        int pages = 0;
+        do {
+            CursorPage<LogEntry> page = logSearchService.search(query, after, 2);
+            page.getContent().forEach(entry -> messages.add(entry.getMessage()));
+            after = page.getNext();
+            pages++;
+        } while (after != null);
+
+        assertEquals(List.of("Slow pilot", "Car 1 found", "Car 2 found", "Car 3 found"),
+                messages);
+        assertEquals(2, pages);
+    }
+
+    @Test
+    void search_MoreMatchesThanSize_ReturnsCursor() {
+        CursorPage<LogEntry> page = logSearchService.search(
+                new LogSearchService.Query(FROM, TO, null, null, null, false), null, 1);
+
+        assertEquals(List.of("Started"),
+                page.getContent().stream().map(LogEntry::getMessage).toList());
+        assertNotNull(page.getNext());
+    }
+
+    @Test
+    void search_InvalidArguments_ThrowBadRequest() {
+        LogSearchService.Query query =
+                new LogSearchService.Query(FROM, TO, null, null, null, false);
+
+        assertThrows(BadRequestException.class, () -> logSearchService.search(query, null, 0));
+        assertThrows(BadRequestException.class,
+                () -> logSearchService.search(query, "not a cursor", 10));
+        assertThrows(BadRequestException.class, () -> logSearchService.search(
+                new LogSearchService.Query(TO, FROM, null, null, null, false), null, 10));
+        assertThrows(BadRequestException.class, () -> logSearchService.search(
+                new LogSearchService.Query(FROM, TO.plusDays(60), null, null, null, false),
+                null, 10));
+        assertThrows(BadRequestException.class, () -> logSearchService.search(
+                new LogSearchService.Query(FROM, TO, null, null, "[", true), null, 10));
+    }
+
+    @Test
+    void parseQuery_DefaultsAndLevel_AreParsed() {
+        LogSearchService.Query query = logSearchService.parseQuery(
+                null, "2023-01-02T00:00:00", "warn", "", null, false);
+
+        assertEquals(FROM.plusDays(1).minus(LogSearchService.DEFAULT_RANGE), query.from());
+        assertEquals(Level.WARN, query.level());
+        assertNull(query.logger());
+        assertThrows(BadRequestException.class, () -> logSearchService.parseQuery(
+                null, null, "LOUD", null, null, false));
+        assertThrows(BadRequestException.class, () -> logSearchService.parseQuery(
+                "01.01.2023", null, null, null, null, false));
+    }
+}
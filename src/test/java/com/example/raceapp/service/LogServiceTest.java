@@ -3,23 +3,36 @@ package com.example.raceapp.service;
 import com.example.raceapp.exception.BadRequestException;
 import com.example.raceapp.exception.InternalServerException;
 import com.example.raceapp.exception.NotFoundException;
+import com.example.raceapp.log.LogArchive;
+import com.example.raceapp.log.LogArchiveResource;
+import com.example.raceapp.log.LogIndex;
+import com.example.raceapp.log.LogRegion;
+import com.example.raceapp.log.LogRegionResource;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.io.Resource;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class LogServiceTest {
 
+    @Mock
+    private LogIndex logIndex;
+
+    @Mock
+    private LogArchive logArchive;
+
     @InjectMocks
     private LogService logService;
 
@@ -37,41 +50,56 @@ class LogServiceTest {
     }
 
     @Test
-    void getLogFileForDate_ValidDate_ReturnsResource() {
+    void getLogFileForDate_ValidDate_ReturnsRegion() throws IOException {
         String date = "01.01.2023";
-        String logLine = "2023-01-01 INFO Some log message";
+        LogRegion region = new LogRegion(Paths.get("logs/application.log"), 128, 512);
+        when(logIndex.find(LocalDate.of(2023, 1, 1))).thenReturn(Optional.of(region));
 
-        try (var mockedFiles = mockStatic(Files.class)) {
-            mockedFiles.when(() -> Files.lines(Paths.get("logs/application.log")))
-                    .thenReturn(java.util.stream.Stream.of(logLine));
+        Resource result = logService.getLogFileForDate(date);
 
-            Resource result = logService.getLogFileForDate(date);
-            assertNotNull(result);
-        }
+        LogRegionResource regionResource = assertInstanceOf(LogRegionResource.class, result);
+        assertEquals(region, regionResource.getRegion());
+        assertEquals(512, result.contentLength());
     }
 
     @Test
-    void getLogFileForDate_NoLogsForDate_ThrowsException() {
-        String date = "01.01.2023";
+    void getLogFileForDate_ArchivedDate_ReturnsArchivedParts() throws IOException {
+        LocalDate day = LocalDate.of(2023, 1, 1);
+        List<LogArchive.Part> parts = List.of(
+                new LogArchive.Part(Paths.get("logs/application.2023-01-01.0.log.gz"), 0, true));
+        when(logArchive.find(day)).thenReturn(parts);
+        when(logIndex.find(day)).thenReturn(Optional.empty());
 
-        try (var mockedFiles = mockStatic(Files.class)) {
-            mockedFiles.when(() -> Files.lines(Paths.get("logs/application.log")))
-                    .thenReturn(java.util.stream.Stream.empty());
+        Resource result = logService.getLogFileForDate("01.01.2023");
 
-            assertThrows(NotFoundException.class, () -> logService.getLogFileForDate(date));
-        }
+        LogArchiveResource archiveResource = assertInstanceOf(LogArchiveResource.class, result);
+        assertEquals(parts, archiveResource.getParts());
     }
 
     @Test
-    void getLogFileForDate_IOException_ThrowsInternalServerException() {
+    void getLogGeneration_DayOnlyInActiveLog_UsesActiveLogGeneration() throws IOException {
+        LocalDate day = LocalDate.of(2023, 1, 1);
+        when(logIndex.find(day)).thenReturn(Optional.of(
+                new LogRegion(Paths.get("logs/application.log"), 0, 10)));
+        when(logIndex.getGeneration()).thenReturn("key/1");
+
+        assertEquals("key/1", logService.getLogGeneration(day));
+    }
+
+    @Test
+    void getLogFileForDate_NoLogsForDate_ThrowsException() throws IOException {
         String date = "01.01.2023";
+        when(logIndex.find(LocalDate.of(2023, 1, 1))).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> logService.getLogFileForDate(date));
+    }
 
-        try (var mockedFiles = mockStatic(Files.class)) {
-            mockedFiles.when(() -> Files.lines(Paths.get("logs/application.log")))
-                    .thenThrow(new IOException("File not found"));
+    @Test
+    void getLogFileForDate_IOException_ThrowsInternalServerException() throws IOException {
+        String date = "01.01.2023";
+        when(logIndex.find(LocalDate.of(2023, 1, 1))).thenThrow(new IOException("Disk error"));
 
-            assertThrows(InternalServerException.class, () -> logService.getLogFileForDate(date));
-        }
+        assertThrows(InternalServerException.class, () -> logService.getLogFileForDate(date));
     }
 
     @Test
@@ -0,0 +1,174 @@
+package com.example.raceapp.service;
+
+import com.example.raceapp.config.LogProperties;
+import com.example.raceapp.dto.LogTaskStatus;
+import com.example.raceapp.exception.NotFoundException;
+import com.example.raceapp.exception.TooManyRequestsException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LogTaskServiceTest {
+
+    @Mock
+    private LogService logService;
+
+    @TempDir
+    Path directory;
+
+    private LogTaskService logTaskService;
+
+    @BeforeEach
+    void setUp() {
+        LogProperties properties = new LogProperties();
+        properties.getGeneration().setThreads(1);
+        properties.getGeneration().setQueueCapacity(1);
+        properties.getGeneration().setDirectory(directory.toString());
+        logTaskService = new LogTaskService(logService, properties);
+
+        when(logService.parseDate(anyString())).thenAnswer(invocation ->
+                LocalDate.parse(invocation.getArgument(0), LogService.DATE_FORMATTER));
+        when(logService.getLogGeneration(any(LocalDate.class))).thenReturn("generation-1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        logTaskService.shutdown();
+    }
+
+    @Test
+    void startLogGeneration_CompletedTask_ReportsFullProgress() throws Exception {
+        byte[] content = "2023-01-01 10:00:00.000 [main] INFO  App - Started\n"
+                .getBytes(StandardCharsets.UTF_8);
+        when(logService.getLogFileForDate("01.01.2023")).thenReturn(new ByteArrayResource(content));
+
+        String taskId = logTaskService.startLogGeneration("01.01.2023");
+        logTaskService.getTasks().get(taskId).future.get(5, TimeUnit.SECONDS);
+
+        LogTaskStatus status = logTaskService.getTaskProgress(taskId);
+        assertEquals("COMPLETED", status.getStatus());
+        assertEquals(content.length, status.getBytesScanned());
+        assertEquals(content.length, status.getTotalBytes());
+        Resource result = logTaskService.getTaskResult(taskId);
+        assertArrayEquals(content, result.getContentAsByteArray());
+    }
+
+    @Test
+    void startLogGeneration_QueueFull_ThrowsTooManyRequests() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(logService.getLogFileForDate(anyString())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new ByteArrayResource(new byte[0]);
+        });
+
+        try {
+            logTaskService.startLogGeneration("01.01.2023");
+            String queued = logTaskService.startLogGeneration("02.01.2023");
+
+            assertThrows(TooManyRequestsException.class,
+                    () -> logTaskService.startLogGeneration("03.01.2023"));
+            assertEquals("QUEUED", logTaskService.getTaskStatus(queued));
+            assertEquals(2, logTaskService.getTasks().size());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void startLogGeneration_NoLogs_FailsWithNotFound() {
+        when(logService.getLogFileForDate("01.01.2023"))
+                .thenThrow(new NotFoundException("No logs found for date: 01.01.2023"));
+
+        String taskId = logTaskService.startLogGeneration("01.01.2023");
+
+        CompletionException thrown = assertThrows(CompletionException.class,
+                () -> logTaskService.getTasks().get(taskId).future.join());
+        assertInstanceOf(NotFoundException.class, thrown.getCause());
+        assertEquals("FAILED", logTaskService.getTaskStatus(taskId));
+    }
+
+    @Test
+    void startLogGeneration_SameDateInFlight_SharesTask() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(logService.getLogFileForDate("01.01.2023")).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new ByteArrayResource(new byte[0]);
+        });
+
+        String first = logTaskService.startLogGeneration("01.01.2023");
+        String second = logTaskService.startLogGeneration("01.01.2023");
+        release.countDown();
+
+        assertEquals(first, second);
+        assertEquals(1, logTaskService.getTasks().size());
+    }
+
+    @Test
+    void startLogGeneration_ClosedDayFinished_ReusesCachedResult() throws Exception {
+        byte[] content = "2023-01-01 10:00:00.000 [main] INFO  App - Started\n"
+                .getBytes(StandardCharsets.UTF_8);
+        when(logService.getLogFileForDate("01.01.2023")).thenReturn(new ByteArrayResource(content));
+
+        String first = logTaskService.startLogGeneration("01.01.2023");
+        logTaskService.getTasks().get(first).future.get(5, TimeUnit.SECONDS);
+        String second = logTaskService.startLogGeneration("01.01.2023");
+
+        assertEquals(first, second);
+        assertEquals("COMPLETED", logTaskService.getTaskStatus(second));
+        assertArrayEquals(content, logTaskService.getTaskResult(second).getContentAsByteArray());
+        verify(logService, times(1)).getLogFileForDate("01.01.2023");
+    }
+
+    @Test
+    void getTaskResult_CachedFileEvicted_ReportsExpired() throws Exception {
+        when(logService.getLogFileForDate("01.01.2023"))
+                .thenReturn(new ByteArrayResource(new byte[] {'a', '\n'}));
+
+        String taskId = logTaskService.startLogGeneration("01.01.2023");
+        logTaskService.getTasks().get(taskId).future.get(5, TimeUnit.SECONDS);
+        Files.delete(logTaskService.getTasks().get(taskId).cachedFile);
+
+        assertEquals("EXPIRED", logTaskService.getTaskStatus(taskId));
+        assertThrows(NotFoundException.class, () -> logTaskService.getTaskResult(taskId));
+    }
+
+    @Test
+    void startLogGeneration_LogReplaced_GeneratesAgain() throws Exception {
+        when(logService.getLogFileForDate("01.01.2023"))
+                .thenReturn(new ByteArrayResource(new byte[] {'a', '\n'}));
+
+        String first = logTaskService.startLogGeneration("01.01.2023");
+        logTaskService.getTasks().get(first).future.get(5, TimeUnit.SECONDS);
+        when(logService.getLogGeneration(any(LocalDate.class))).thenReturn("generation-2");
+        String second = logTaskService.startLogGeneration("01.01.2023");
+        logTaskService.getTasks().get(second).future.get(5, TimeUnit.SECONDS);
+
+        assertNotEquals(first, second);
+        verify(logService, times(2)).getLogFileForDate("01.01.2023");
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.raceapp.service;
+
+import com.example.raceapp.dto.PilotDto;
+import com.example.raceapp.repository.PilotRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ServiceJpaTest
+@Import(PilotService.class)
+class PilotServiceBatchInsertTest {
+
+    @Autowired
+    private PilotService pilotService;
+
+    @Autowired
+    private PilotRepository pilotRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void importPilots_InsertsInBatches() {
+        int count = 10_000;
+        List<PilotDto> requests = IntStream.range(0, count)
+                .mapToObj(i -> {
+                    PilotDto dto = new PilotDto();
+                    dto.setName("Pilot " + i);
+                    dto.setAge(30);
+                    dto.setExperience(5);
+                    return dto;
+                })
+                .toList();
+
+        Statistics statistics = TestData.clearedStatistics(entityManagerFactory);
+
+        Map<Integer, Map<String, String>> rejected = pilotService.importPilots(requests);
+        long statements = statistics.getPrepareStatementCount();
+
+        assertTrue(rejected.isEmpty());
+        assertEquals(count, pilotRepository.count());
+        // One sequence call and one insert batch per 50 rows.
+        assertTrue(statements <= 2L * count / 50 + 2, "Executed " + statements + " statements");
+    }
+}
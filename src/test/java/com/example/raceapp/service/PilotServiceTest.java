@@ -1,12 +1,16 @@
 package com.example.raceapp.service;
 
+import com.example.raceapp.cache.CacheInvalidator;
+import com.example.raceapp.cache.EntityType;
 import com.example.raceapp.dto.CarSimpleResponse;
 import com.example.raceapp.dto.PilotDto;
 import com.example.raceapp.dto.PilotResponse;
+import com.example.raceapp.exception.BadRequestException;
 import com.example.raceapp.exception.NotFoundException;
 import com.example.raceapp.model.Car;
 import com.example.raceapp.model.Pilot;
 import com.example.raceapp.model.Race;
+import com.example.raceapp.repository.OwnedCar;
 import com.example.raceapp.repository.PilotRepository;
 import com.example.raceapp.repository.RaceRepository;
 import jakarta.persistence.criteria.CriteriaBuilder;
@@ -25,10 +29,12 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -43,6 +49,9 @@ class PilotServiceTest {
     @Mock
     private RaceRepository raceRepository;
 
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
     @InjectMocks
     private PilotService pilotService;
 
@@ -69,53 +78,15 @@ class PilotServiceTest {
         verify(pilotRepository).save(any(Pilot.class));
     }
 
-    @Test
-    void createPilotsBulk_ValidInput_ReturnsListOfResponses() {
-        // Arrange
-        PilotDto pilot1 = new PilotDto();
-        pilot1.setName("Test Pilot 1");
-        pilot1.setAge(25);
-        pilot1.setExperience(5);
-
-        PilotDto pilot2 = new PilotDto();
-        pilot2.setName("Test Pilot 2");
-        pilot2.setAge(30);
-        pilot2.setExperience(10);
-
-        Pilot savedPilot1 = new Pilot();
-        savedPilot1.setId(1L);
-        savedPilot1.setName(pilot1.getName());
-        savedPilot1.setAge(pilot1.getAge());
-        savedPilot1.setExperience(pilot1.getExperience());
-
-        Pilot savedPilot2 = new Pilot();
-        savedPilot2.setId(2L);
-        savedPilot2.setName(pilot2.getName());
-        savedPilot2.setAge(pilot2.getAge());
-        savedPilot2.setExperience(pilot2.getExperience());
-
-        when(pilotRepository.saveAll(anyList())).thenReturn(List.of(savedPilot1, savedPilot2));
-
-        // Act
-        List<PilotResponse> responses = pilotService.createPilotsBulk(List.of(pilot1, pilot2));
-
-        // Assert
-        assertNotNull(responses);
-        assertEquals(2, responses.size());
-        assertEquals("Test Pilot 1", responses.getFirst().getName());
-        assertEquals("Test Pilot 2", responses.get(1).getName());
-        verify(pilotRepository).saveAll(anyList());
-    }
-
     @Test
     void getPilotsByCarBrandNative_ValidBrand_ReturnsPage() {
         String brand = "Ferrari";
         Pageable pageable = Pageable.unpaged();
         Pilot pilot = new Pilot();
         pilot.setId(1L);
-        Page<Pilot> page = new PageImpl<>(List.of(pilot));
+        Page<PilotResponse> page = responses(pilot);
 
-        when(pilotRepository.findPilotsByCarBrandNative(brand, pageable)).thenReturn(page);
+        when(pilotRepository.findResponsesByCarBrand(brand, pageable)).thenReturn(page);
 
         Page<PilotResponse> result = pilotService.getPilotsByCarBrandNative(brand, pageable);
 
@@ -132,8 +103,8 @@ class PilotServiceTest {
         Pilot pilot = new Pilot();
         pilot.setId(1L);
 
-        when(pilotRepository.findAll(any(Specification.class), eq(pageable)))
-                .thenReturn(new PageImpl<>(List.of(pilot)));
+        when(pilotRepository.findResponses(any(Specification.class), eq(pageable)))
+                .thenReturn(responses(pilot));
 
         Page<PilotResponse> result = pilotService.searchPilotsWithPagination(name, age, experience, pageable);
 
@@ -213,27 +184,17 @@ class PilotServiceTest {
     @Test
     void deletePilot_WithCarsAndRaces_CleansUpRelations() {
         Long pilotId = 1L;
-        Pilot pilot = new Pilot();
-        pilot.setId(pilotId);
-
-        Car car = new Car();
-        car.setId(1L);
-        car.setOwner(pilot);
-        pilot.getCars().add(car);
-
-        Race race = new Race();
-        race.setId(1L);
-        race.getPilots().add(pilot);
-        pilot.getRaces().add(race);
-
-        when(pilotRepository.findById(pilotId)).thenReturn(Optional.of(pilot));
+        when(pilotRepository.findIdsByIdIn(Set.of(pilotId))).thenReturn(List.of(pilotId));
+        when(pilotRepository.findCarIdsByOwnerIdIn(Set.of(pilotId))).thenReturn(List.of(10L));
 
         pilotService.deletePilot(pilotId);
 
-        verify(raceRepository).save(race);
-        assertTrue(race.getPilots().isEmpty());
-        assertNull(car.getOwner());
-        verify(pilotRepository).delete(pilot);
+        verify(raceRepository).deletePilotEntries(Set.of(pilotId));
+        verify(raceRepository).deleteCarEntries(List.of(10L));
+        verify(pilotRepository).releaseCars(Set.of(pilotId));
+        verify(pilotRepository).deleteAllByIdInBatch(Set.of(pilotId));
+        verify(raceRepository, never()).save(any());
+        verify(cacheInvalidator).evictEntities(EntityType.CAR, List.of(10L));
     }
 
     @Test
@@ -272,28 +233,29 @@ class PilotServiceTest {
     void deletePilot_WithNoCarsOrRaces_ShouldStillDelete() {
         // Arrange
         Long pilotId = 1L;
-        Pilot pilot = new Pilot();
-        pilot.setId(pilotId);
-        pilot.setCars(new HashSet<>());
-        pilot.setRaces(new HashSet<>());
-
-        when(pilotRepository.findById(pilotId)).thenReturn(Optional.of(pilot));
+        when(pilotRepository.findIdsByIdIn(Set.of(pilotId))).thenReturn(List.of(pilotId));
+        when(pilotRepository.findCarIdsByOwnerIdIn(Set.of(pilotId))).thenReturn(List.of());
 
         // Act
         pilotService.deletePilot(pilotId);
 
         // Assert
-        verify(pilotRepository).delete(pilot);
+        verify(raceRepository, never()).deleteCarEntries(any());
+        verify(pilotRepository, never()).releaseCars(any());
+        verify(pilotRepository).deleteAllByIdInBatch(Set.of(pilotId));
     }
 
     @Test
     void deletePilot_PilotNotFound_ShouldThrowException() {
         // Arrange
         Long invalidId = 999L;
-        when(pilotRepository.findById(invalidId)).thenReturn(Optional.empty());
+        when(pilotRepository.findIdsByIdIn(Set.of(invalidId))).thenReturn(List.of());
 
         // Act & Assert
-        assertThrows(NotFoundException.class, () -> pilotService.deletePilot(invalidId));
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> pilotService.deletePilot(invalidId));
+        assertEquals("Pilot not found", exception.getMessage());
+        verify(pilotRepository, never()).deleteAllByIdInBatch(any());
     }
 
     @Test
@@ -303,8 +265,8 @@ class PilotServiceTest {
         Pilot pilot = new Pilot();
         pilot.setName(name);
 
-        when(pilotRepository.findAll(any(Specification.class), eq(pageable)))
-                .thenReturn(new PageImpl<>(List.of(pilot)));
+        when(pilotRepository.findResponses(any(Specification.class), eq(pageable)))
+                .thenReturn(responses(pilot));
 
         Page<PilotResponse> result = pilotService.searchPilotsWithPagination(name, null, null, pageable);
 
@@ -319,8 +281,8 @@ class PilotServiceTest {
         Pilot pilot = new Pilot();
         pilot.setAge(age);
 
-        when(pilotRepository.findAll(any(Specification.class), eq(pageable)))
-                .thenReturn(new PageImpl<>(List.of(pilot)));
+        when(pilotRepository.findResponses(any(Specification.class), eq(pageable)))
+                .thenReturn(responses(pilot));
 
         Page<PilotResponse> result = pilotService.searchPilotsWithPagination(null, age, null, pageable);
 
@@ -335,8 +297,8 @@ class PilotServiceTest {
         Pilot pilot = new Pilot();
         pilot.setExperience(experience);
 
-        when(pilotRepository.findAll(any(Specification.class), eq(pageable)))
-                .thenReturn(new PageImpl<>(List.of(pilot)));
+        when(pilotRepository.findResponses(any(Specification.class), eq(pageable)))
+                .thenReturn(responses(pilot));
 
         Page<PilotResponse> result = pilotService.searchPilotsWithPagination(null, null, experience, pageable);
 
@@ -356,8 +318,8 @@ class PilotServiceTest {
         pilot.setAge(age);
         pilot.setExperience(experience);
 
-        when(pilotRepository.findAll(any(Specification.class), eq(pageable)))
-                .thenReturn(new PageImpl<>(List.of(pilot)));
+        when(pilotRepository.findResponses(any(Specification.class), eq(pageable)))
+                .thenReturn(responses(pilot));
 
         Page<PilotResponse> result = pilotService.searchPilotsWithPagination(name, age, experience, pageable);
 
@@ -377,8 +339,8 @@ class PilotServiceTest {
         pilot.setAge(age);
         pilot.setExperience(experience);
 
-        when(pilotRepository.findAll(any(Specification.class), eq(pageable)))
-                .thenReturn(new PageImpl<>(List.of(pilot)));
+        when(pilotRepository.findResponses(any(Specification.class), eq(pageable)))
+                .thenReturn(responses(pilot));
 
         Page<PilotResponse> result = pilotService.searchPilotsWithPagination(null, age, experience, pageable);
 
@@ -396,8 +358,8 @@ class PilotServiceTest {
         pilot.setName(name);
         pilot.setAge(age);
 
-        when(pilotRepository.findAll(any(Specification.class), eq(pageable)))
-                .thenReturn(new PageImpl<>(List.of(pilot)));
+        when(pilotRepository.findResponses(any(Specification.class), eq(pageable)))
+                .thenReturn(responses(pilot));
 
         Page<PilotResponse> result = pilotService.searchPilotsWithPagination(name, age, null, pageable);
 
@@ -409,8 +371,8 @@ class PilotServiceTest {
     @Test
     void searchPilots_withNoFilters_returnsAllResults() {
         Pageable pageable = PageRequest.of(0, 10);
-        when(pilotRepository.findAll(any(Specification.class), eq(pageable)))
-                .thenReturn(new PageImpl<>(List.of(new Pilot(), new Pilot())));
+        when(pilotRepository.findResponses(any(Specification.class), eq(pageable)))
+                .thenReturn(responses(new Pilot(), new Pilot()));
 
         Page<PilotResponse> result = pilotService.searchPilotsWithPagination(null, null, null, pageable);
 
@@ -418,60 +380,43 @@ class PilotServiceTest {
     }
 
     @Test
-    void deletePilot_withCarInMultipleRaces_cleansUpAllRelations() {
-        Long pilotId = 1L;
-        Pilot pilot = new Pilot();
-        pilot.setId(pilotId);
-
-        Car car = new Car();
-        car.setOwner(pilot);
-        Race race1 = new Race();
-        Race race2 = new Race();
-        car.getRaces().addAll(Set.of(race1, race2));
-        pilot.getCars().add(car);
-
-        when(pilotRepository.findById(pilotId)).thenReturn(Optional.of(pilot));
-
-        pilotService.deletePilot(pilotId);
-
-        verify(raceRepository, times(2)).save(any(Race.class));
-        assertNull(car.getOwner());
+    void deletePilots_severalPilots_issuesOneStatementPerTable() {
+        List<Long> ids = List.of(1L, 2L, 2L, 3L);
+        Set<Long> pilotIds = Set.of(1L, 2L, 3L);
+        when(pilotRepository.findIdsByIdIn(pilotIds)).thenReturn(List.of(1L, 2L, 3L));
+        when(pilotRepository.findCarIdsByOwnerIdIn(pilotIds)).thenReturn(List.of(10L, 11L, 12L));
+
+        pilotService.deletePilots(ids);
+
+        verify(raceRepository).deletePilotEntries(pilotIds);
+        verify(raceRepository).deleteCarEntries(List.of(10L, 11L, 12L));
+        verify(pilotRepository).releaseCars(pilotIds);
+        verify(pilotRepository).deleteAllByIdInBatch(pilotIds);
+        verify(pilotRepository, never()).findById(any());
+        verify(cacheInvalidator).evictEntities(EntityType.PILOT, pilotIds);
     }
 
     @Test
-    void deletePilot_withDirectRaceParticipation_removesFromRaces() {
-        Long pilotId = 1L;
-        Pilot pilot = new Pilot();
-        pilot.setId(pilotId);
-
-        Race race = new Race();
-        race.getPilots().add(pilot);
-        pilot.getRaces().add(race);
-
-        when(pilotRepository.findById(pilotId)).thenReturn(Optional.of(pilot));
+    void deletePilots_someMissing_deletesNothing() {
+        when(pilotRepository.findIdsByIdIn(Set.of(1L, 7L, 8L))).thenReturn(List.of(1L));
 
-        pilotService.deletePilot(pilotId);
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> pilotService.deletePilots(List.of(1L, 7L, 8L)));
 
-        verify(raceRepository).save(race);
-        assertTrue(race.getPilots().isEmpty());
+        assertEquals("Pilots not found: [7, 8]", exception.getMessage());
+        verify(raceRepository, never()).deletePilotEntries(any());
+        verify(pilotRepository, never()).deleteAllByIdInBatch(any());
     }
 
     @Test
-    void deletePilot_withCarNotInRaces_removesOwnerOnly() {
-        Long pilotId = 1L;
-        Pilot pilot = new Pilot();
-        pilot.setId(pilotId);
-
-        Car car = new Car();
-        car.setOwner(pilot);
-        pilot.getCars().add(car);
-
-        when(pilotRepository.findById(pilotId)).thenReturn(Optional.of(pilot));
-
-        pilotService.deletePilot(pilotId);
-
-        verify(raceRepository, never()).save(any());
-        assertNull(car.getOwner());
+    void deletePilots_noOrTooManyIds_throwsBadRequest() {
+        List<Long> tooMany = LongStream.rangeClosed(1, PilotService.MAX_DELETE_SIZE + 1)
+                .boxed()
+                .toList();
+
+        assertThrows(BadRequestException.class, () -> pilotService.deletePilots(List.of()));
+        assertThrows(BadRequestException.class, () -> pilotService.deletePilots(tooMany));
+        verifyNoInteractions(pilotRepository);
     }
 
     @Test
@@ -504,8 +449,8 @@ class PilotServiceTest {
         Pageable pageable = PageRequest.of(0, 10);
 
         ArgumentCaptor<Specification<Pilot>> specCaptor = ArgumentCaptor.forClass(Specification.class);
-        when(pilotRepository.findAll(specCaptor.capture(), eq(pageable)))
-                .thenReturn(new PageImpl<>(List.of(new Pilot())));
+        when(pilotRepository.findResponses(specCaptor.capture(), eq(pageable)))
+                .thenReturn(responses(new Pilot()));
 
         pilotService.searchPilotsWithPagination(name, null, experience, pageable);
 
@@ -530,8 +475,8 @@ class PilotServiceTest {
         Pageable pageable = PageRequest.of(0, 10);
 
         ArgumentCaptor<Specification<Pilot>> specCaptor = ArgumentCaptor.forClass(Specification.class);
-        when(pilotRepository.findAll(specCaptor.capture(), eq(pageable)))
-                .thenReturn(new PageImpl<>(List.of(new Pilot())));
+        when(pilotRepository.findResponses(specCaptor.capture(), eq(pageable)))
+                .thenReturn(responses(new Pilot()));
 
         pilotService.searchPilotsWithPagination(null, age, experience, pageable);
 
@@ -556,8 +501,8 @@ class PilotServiceTest {
         Pageable pageable = PageRequest.of(0, 10);
 
         ArgumentCaptor<Specification<Pilot>> specCaptor = ArgumentCaptor.forClass(Specification.class);
-        when(pilotRepository.findAll(specCaptor.capture(), eq(pageable)))
-                .thenReturn(new PageImpl<>(List.of(new Pilot())));
+        when(pilotRepository.findResponses(specCaptor.capture(), eq(pageable)))
+                .thenReturn(responses(new Pilot()));
 
         // Act
         pilotService.searchPilotsWithPagination(
@@ -581,4 +526,35 @@ class PilotServiceTest {
         verify(cb).equal(path, experience);
     }
 
-}
\ No newline at end of file
+
+    @Test
+    void searchPilots_projectedPage_setsCarsOfEveryPilot() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Pilot first = new Pilot();
+        first.setId(1L);
+        Pilot second = new Pilot();
+        second.setId(2L);
+
+        when(pilotRepository.findResponses(any(Specification.class), eq(pageable)))
+                .thenReturn(responses(first, second));
+        when(pilotRepository.findOwnedCars(List.of(1L, 2L))).thenReturn(List.of(
+                new OwnedCar(1L, 10L, "Ferrari", "SF-23", 950),
+                new OwnedCar(1L, 11L, "Ferrari", "SF-24", 980)));
+
+        Page<PilotResponse> result = pilotService.searchPilotsWithPagination(null, null, null, pageable);
+
+        assertEquals(List.of(10L, 11L), result.getContent().get(0).getCars().stream()
+                .map(CarSimpleResponse::getId).toList());
+        assertTrue(result.getContent().get(1).getCars().isEmpty());
+    }
+
+    /**
+     * Builds the page a projection query returns for the given pilots.
+     */
+    private static Page<PilotResponse> responses(Pilot... pilots) {
+        return new PageImpl<>(Arrays.stream(pilots)
+                .map(pilot -> new PilotResponse(pilot.getId(), pilot.getName(), pilot.getAge(),
+                        pilot.getExperience()))
+                .toList());
+    }
+}
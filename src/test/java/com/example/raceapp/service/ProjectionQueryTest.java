@@ -0,0 +1,104 @@
+package com.example.raceapp.service;
+
+import com.example.raceapp.dto.CarResponse;
+import com.example.raceapp.dto.CarSimpleResponse;
+import com.example.raceapp.dto.PilotResponse;
+import com.example.raceapp.model.Pilot;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks that the list queries build their responses from the selected columns
+ * without loading any entity.
+ */
+@ServiceJpaTest
+@Import({RaceService.class, PilotService.class, CarService.class})
+class ProjectionQueryTest {
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private PilotService pilotService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        TestData data = new TestData(entityManager);
+        Pilot ferrariPilot = data.pilot("Charles", 26);
+        data.car("Ferrari", "SF-23", 950, ferrariPilot);
+        data.car("Ferrari", "SF-24", 980, ferrariPilot);
+        Pilot mclarenPilot = data.pilot("Lando", 24);
+        data.car("McLaren", "MCL60", 900, mclarenPilot);
+        data.car("Haas", "VF-23", 700, null);
+        data.flushAndClear();
+
+        statistics = TestData.clearedStatistics(entityManagerFactory);
+    }
+
+    @Test
+    void searchCarsWithPagination_BuildsResponsesWithOwners() {
+        Page<CarResponse> page = carService.searchCarsWithPagination(
+                null, null, null, null, PageRequest.of(0, 3, Sort.by("power").descending()));
+
+        assertEquals(4, page.getTotalElements());
+        assertEquals(3, page.getContent().size());
+        CarResponse first = page.getContent().get(0);
+        assertEquals("SF-24", first.getModel());
+        assertEquals("Charles", first.getOwner().getName());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void getCarsByPower_IncludesCarsWithoutOwner() {
+        Page<CarResponse> page = carService.getCarsByPower(600,
+                PageRequest.of(0, 10, Sort.by("power")));
+
+        assertEquals("VF-23", page.getContent().get(0).getModel());
+        assertNull(page.getContent().get(0).getOwner());
+        assertEquals(4, page.getTotalElements());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void searchPilotsWithPagination_SetsCarsOfEveryPilot() {
+        Page<PilotResponse> page = pilotService.searchPilotsWithPagination(
+                null, null, null, PageRequest.of(0, 10, Sort.by("name")));
+
+        assertEquals(2, page.getContent().size());
+        assertEquals(List.of("SF-23", "SF-24"), page.getContent().get(0).getCars()
+                .stream().map(CarSimpleResponse::getModel).toList());
+        assertEquals(1, page.getContent().get(1).getCars().size());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void getPilotsByCarBrandNative_ReturnsEachOwnerOnce() {
+        Page<PilotResponse> page = pilotService.getPilotsByCarBrandNative(
+                "Ferrari", PageRequest.of(0, 10));
+
+        assertEquals(1, page.getTotalElements());
+        assertEquals("Charles", page.getContent().get(0).getName());
+        assertEquals(2, page.getContent().get(0).getCars().size());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
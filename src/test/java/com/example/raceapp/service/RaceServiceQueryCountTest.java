@@ -0,0 +1,53 @@
+package com.example.raceapp.service;
+
+import com.example.raceapp.dto.RaceResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ServiceJpaTest
+@Import({RaceService.class, PilotService.class, CarService.class})
+class RaceServiceQueryCountTest {
+
+    private static final int MAX_QUERIES_PER_PAGE = 5;
+
+    @Autowired
+    private RaceService raceService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 30})
+    void getAllRaces_QueryCountDoesNotGrowWithPageContent(int raceCount) {
+        TestData data = new TestData(entityManager);
+        for (int i = 0; i < raceCount; i++) {
+            data.raceWithTwoEntries(i);
+        }
+        data.flushAndClear();
+
+        Statistics statistics = TestData.clearedStatistics(entityManagerFactory);
+
+        Page<RaceResponse> page = raceService.getAllRaces(PageRequest.of(0, 50));
+
+        assertEquals(raceCount, page.getContent().size());
+        page.getContent().forEach(race -> {
+            assertEquals(2, race.getPilots().size());
+            assertEquals(2, race.getCars().size());
+        });
+        assertTrue(statistics.getPrepareStatementCount() <= MAX_QUERIES_PER_PAGE,
+                "Executed " + statistics.getPrepareStatementCount() + " queries");
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.raceapp.service;
 
+import com.example.raceapp.cache.CacheInvalidator;
 import com.example.raceapp.dto.CarResponse;
 import com.example.raceapp.dto.PilotResponse;
 import com.example.raceapp.dto.PilotSimpleResponse;
@@ -9,6 +10,7 @@ import com.example.raceapp.exception.NotFoundException;
 import com.example.raceapp.model.Car;
 import com.example.raceapp.model.Pilot;
 import com.example.raceapp.model.Race;
+import com.example.raceapp.repository.PilotRepository;
 import com.example.raceapp.repository.RaceRepository;
 import java.util.List;
 import java.util.Optional;
@@ -37,12 +39,18 @@ class RaceServiceTest {
     @Mock
     private RaceRepository raceRepository;
 
+    @Mock
+    private PilotRepository pilotRepository;
+
     @Mock
     private PilotService pilotService;
 
     @Mock
     private CarService carService;
 
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
     @InjectMocks
     private RaceService raceService;
 
@@ -115,7 +123,7 @@ class RaceServiceTest {
         race.setName("Spanish Grand Prix");
         race.setYear(2023);
 
-        when(raceRepository.findById(raceId)).thenReturn(Optional.of(race));
+        when(raceRepository.findAllWithPilotsByIdIn(List.of(raceId))).thenReturn(List.of(race));
 
         // When
         Optional<RaceResponse> result = raceService.getRaceById(raceId);
@@ -125,7 +133,32 @@ class RaceServiceTest {
         assertEquals(raceId, result.get().getId());
         assertEquals("Spanish Grand Prix", result.get().getName());
 
-        verify(raceRepository).findById(raceId);
+        verify(raceRepository).findAllWithPilotsByIdIn(List.of(raceId));
+        verify(raceRepository).findAllWithCarsByIdIn(List.of(raceId));
+    }
+
+    @Test
+    void getRaceById_NonExistingId_ReturnsEmpty() {
+        when(raceRepository.findAllWithPilotsByIdIn(List.of(999L))).thenReturn(List.of());
+
+        assertTrue(raceService.getRaceById(999L).isEmpty());
+    }
+
+    @Test
+    void loadResponses_WithPilots_BatchLoadsPilotCars() {
+        Race race = new Race();
+        race.setId(1L);
+        Pilot pilot = new Pilot();
+        pilot.setId(7L);
+        race.getPilots().add(pilot);
+
+        when(raceRepository.findAllWithPilotsByIdIn(List.of(1L))).thenReturn(List.of(race));
+        when(pilotService.mapToResponse(any(Pilot.class))).thenReturn(new PilotResponse());
+
+        List<RaceResponse> result = raceService.loadResponses(List.of(1L));
+
+        assertEquals(1, result.size());
+        verify(pilotRepository).findAllWithCarsByIdIn(List.of(7L));
     }
 
     @Test
@@ -198,12 +231,14 @@ class RaceServiceTest {
         Race race = new Race();
         race.setId(1L);
 
-        when(raceRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(race)));
+        when(raceRepository.findPageOfIds(pageable)).thenReturn(new PageImpl<>(List.of(1L)));
+        when(raceRepository.findAllWithPilotsByIdIn(List.of(1L))).thenReturn(List.of(race));
 
         Page<RaceResponse> result = raceService.getAllRaces(pageable);
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
+        assertEquals(1L, result.getContent().get(0).getId());
     }
 
     @Test
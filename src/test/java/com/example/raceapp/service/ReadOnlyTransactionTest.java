@@ -0,0 +1,111 @@
+package com.example.raceapp.service;
+
+import com.example.raceapp.dto.CarDto;
+import com.example.raceapp.model.Car;
+import com.example.raceapp.repository.CarRepository;
+import com.example.raceapp.repository.PilotRepository;
+import com.example.raceapp.repository.RaceRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that queries run without the flush and dirty check a read-write transaction
+ * performs on commit for every loaded entity. Each service call runs in its own
+ * transaction, so the test itself is not transactional.
+ */
+@ServiceJpaTest
+@Import({RaceService.class, PilotService.class, CarService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReadOnlyTransactionTest {
+
+    private static final int RACE_COUNT = 20;
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private PilotService pilotService;
+
+    @Autowired
+    private RaceService raceService;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private PilotRepository pilotRepository;
+
+    @Autowired
+    private RaceRepository raceRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            TestData data = new TestData(entityManager);
+            for (int i = 0; i < RACE_COUNT; i++) {
+                data.raceWithTwoEntries(i);
+            }
+        });
+        statistics = TestData.clearedStatistics(entityManagerFactory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        raceRepository.deleteAll();
+        carRepository.deleteAll();
+        pilotRepository.deleteAll();
+    }
+
+    @Test
+    void queries_LoadEntitiesWithoutFlushing() {
+        Car car = carRepository.findAll().get(0);
+        statistics.clear();
+
+        carService.getCarById(car.getId());
+        pilotService.getPilotById(car.getOwner().getId());
+        raceService.getAllRaces(PageRequest.of(0, 100));
+
+        assertTrue(statistics.getEntityLoadCount() >= RACE_COUNT * 5,
+                "Loaded " + statistics.getEntityLoadCount() + " entities");
+        assertEquals(0, statistics.getFlushCount());
+    }
+
+    @Test
+    void updates_StillFlushChanges() {
+        Long carId = carRepository.findAll().get(0).getId();
+        CarDto request = new CarDto();
+        request.setBrand("Updated");
+        request.setModel("Model");
+        request.setPower(400);
+
+        carService.updateCar(carId, request);
+
+        assertTrue(statistics.getFlushCount() > 0);
+        assertEquals("Updated", carRepository.findById(carId).orElseThrow().getBrand());
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.raceapp.service;
+
+import com.example.raceapp.cache.CacheInvalidator;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+/**
+ * Runs services against the embedded test database. Hibernate statistics are collected
+ * so tests can count statements and loaded entities, and reserved words used as column
+ * names are quoted. The cache invalidator is mocked, as no cache is configured.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.auto_quote_keyword=true"
+})
+@MockitoBean(types = CacheInvalidator.class)
+@interface ServiceJpaTest {
+}
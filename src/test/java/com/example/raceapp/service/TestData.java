@@ -0,0 +1,86 @@
+package com.example.raceapp.service;
+
+import com.example.raceapp.model.Car;
+import com.example.raceapp.model.Pilot;
+import com.example.raceapp.model.Race;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Persists the pilots, cars and races of the {@link ServiceJpaTest} tests.
+ */
+final class TestData {
+
+    private final EntityManager entityManager;
+
+    TestData(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    Pilot pilot(String name) {
+        return pilot(name, 30);
+    }
+
+    Pilot pilot(String name, int age) {
+        Pilot pilot = new Pilot();
+        pilot.setName(name);
+        pilot.setAge(age);
+        pilot.setExperience(5);
+        entityManager.persist(pilot);
+        return pilot;
+    }
+
+    Car car(String brand, String model, int power, Pilot owner) {
+        Car car = new Car();
+        car.setBrand(brand);
+        car.setModel(model);
+        car.setPower(power);
+        car.setOwner(owner);
+        entityManager.persist(car);
+        return car;
+    }
+
+    Race race(String name, int year, Collection<Pilot> pilots, Collection<Car> cars) {
+        Race race = new Race();
+        race.setName(name);
+        race.setYear(year);
+        race.getPilots().addAll(pilots);
+        race.getCars().addAll(cars);
+        entityManager.persist(race);
+        return race;
+    }
+
+    /**
+     * Persists race {@code index} with two pilots, each entered with a car of their own.
+     */
+    Race raceWithTwoEntries(int index) {
+        List<Pilot> pilots = new ArrayList<>();
+        List<Car> cars = new ArrayList<>();
+        for (int j = 0; j < 2; j++) {
+            Pilot pilot = pilot("Pilot " + index + "-" + j);
+            pilots.add(pilot);
+            cars.add(car("Brand " + j, "Model " + index, 300, pilot));
+        }
+        return race("Race " + index, 2000 + index, pilots, cars);
+    }
+
+    void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Returns the Hibernate statistics, reset so that they only count what follows.
+     */
+    static Statistics clearedStatistics(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
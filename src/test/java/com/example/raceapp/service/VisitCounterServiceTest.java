@@ -0,0 +1,180 @@
+package com.example.raceapp.service;
+
+import com.example.raceapp.config.VisitProperties;
+import com.example.raceapp.exception.BadRequestException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VisitCounterServiceTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-03-01T10:00:30Z"));
+    private final VisitCounterService visitCounterService =
+            new VisitCounterService(new VisitProperties(), clock);
+
+    @Test
+    void recordVisit_ConcurrentClients_CountsEveryVisit() throws Exception {
+        int threads = 8;
+        int visitsPerThread = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < visitsPerThread; i++) {
+                        // Every client appears on two threads.
+                        visitCounterService.recordVisit("client-" + (thread / 2) + "-" + i);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        VisitCounterService.VisitStats stats = visitCounterService.getStats();
+        long distinct = threads / 2L * visitsPerThread;
+        assertEquals((long) threads * visitsPerThread, stats.totalVisits());
+        assertTrue(Math.abs(stats.uniqueVisits() - distinct)
+                <= 3 * stats.uniqueVisitsError() * distinct);
+    }
+
+    @Test
+    void getStats_RepeatedClient_CountsOnce() {
+        visitCounterService.recordVisit("anonymous");
+        visitCounterService.recordVisit("anonymous");
+
+        VisitCounterService.VisitStats stats = visitCounterService.getStats();
+        assertEquals(2, stats.totalVisits());
+        assertEquals(1, stats.uniqueVisits());
+    }
+
+    @Test
+    void getTimeSeries_RecentMinutes_ReturnsPerMinuteBuckets() {
+        visitCounterService.recordVisit("a");
+        clock.advance(Duration.ofMinutes(1));
+        visitCounterService.recordVisit("a");
+        visitCounterService.recordVisit("b");
+        clock.advance(Duration.ofMinutes(2));
+        visitCounterService.recordVisit("c");
+
+        VisitCounterService.VisitTimeSeries series =
+                visitCounterService.getTimeSeries(Duration.ofMinutes(5), null);
+
+        assertEquals(VisitCounterService.Resolution.MINUTE, series.resolution());
+        assertEquals(Instant.parse("2025-03-01T09:59:00Z"), series.from());
+        assertEquals(List.of(0L, 1L, 2L, 0L, 1L),
+                series.buckets().stream().map(VisitCounterService.VisitBucket::visits).toList());
+        assertEquals(4, series.totalVisits());
+        assertEquals(3, series.uniqueVisits());
+    }
+
+    @Test
+    void getTimeSeries_ShorterWindow_ExcludesOlderBuckets() {
+        visitCounterService.recordVisit("a");
+        clock.advance(Duration.ofMinutes(3));
+        visitCounterService.recordVisit("b");
+
+        VisitCounterService.VisitTimeSeries series =
+                visitCounterService.getTimeSeries(Duration.ofMinutes(2), null);
+
+        assertEquals(1, series.totalVisits());
+        assertEquals(1, series.uniqueVisits());
+    }
+
+    @Test
+    void getTimeSeries_RingWrappedAround_ForgetsOldPeriod() {
+        visitCounterService.recordVisit("a");
+        clock.advance(Duration.ofMinutes(120));
+        visitCounterService.recordVisit("b");
+
+        VisitCounterService.VisitTimeSeries series = visitCounterService
+                .getTimeSeries(Duration.ofMinutes(120), VisitCounterService.Resolution.MINUTE);
+
+        assertEquals(1, series.totalVisits());
+        assertEquals(2, visitCounterService.getStats().totalVisits());
+    }
+
+    @Test
+    void getTimeSeries_LongWindow_UsesCoarserResolution() {
+        visitCounterService.recordVisit("a");
+
+        assertEquals(VisitCounterService.Resolution.HOUR,
+                visitCounterService.getTimeSeries(Duration.ofHours(24), null).resolution());
+        assertEquals(VisitCounterService.Resolution.DAY,
+                visitCounterService.getTimeSeries(Duration.ofDays(7), null).resolution());
+    }
+
+    @Test
+    void getTimeSeries_WindowBeyondRetention_ThrowsBadRequest() {
+        assertThrows(BadRequestException.class, () -> visitCounterService
+                .getTimeSeries(Duration.ofHours(3), VisitCounterService.Resolution.MINUTE));
+        assertThrows(BadRequestException.class,
+                () -> visitCounterService.getTimeSeries(Duration.ofDays(60), null));
+        assertThrows(BadRequestException.class,
+                () -> visitCounterService.getTimeSeries(Duration.ZERO, null));
+    }
+
+    @Test
+    void getTopClients_BusiestClientFirst() {
+        for (int i = 0; i < 3; i++) {
+            visitCounterService.recordVisit("busy");
+        }
+        visitCounterService.recordVisit("quiet");
+
+        VisitCounterService.TopClients top = visitCounterService.getTopClients(1);
+
+        assertEquals(4, top.totalVisits());
+        assertEquals(1, top.clients().size());
+        assertEquals("busy", top.clients().get(0).clientId());
+        assertEquals(3, top.clients().get(0).estimatedVisits());
+    }
+
+    @Test
+    void getTopClients_LimitOutOfRange_ThrowsBadRequest() {
+        assertThrows(BadRequestException.class, () -> visitCounterService.getTopClients(0));
+        assertThrows(BadRequestException.class, () -> visitCounterService.getTopClients(101));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
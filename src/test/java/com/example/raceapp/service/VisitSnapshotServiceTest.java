@@ -0,0 +1,106 @@
+package com.example.raceapp.service;
+
+import com.example.raceapp.config.VisitProperties;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VisitSnapshotServiceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void start_AfterRestart_RestoresCounters() throws Exception {
+        VisitCounterService before = new VisitCounterService(properties("node-a"));
+        VisitSnapshotService snapshots = new VisitSnapshotService(before, properties("node-a"));
+        snapshots.start();
+        for (int i = 0; i < 1000; i++) {
+            before.recordVisit("client-" + (i % 100));
+        }
+        snapshots.shutdown();
+
+        VisitCounterService after = new VisitCounterService(properties("node-a"));
+        VisitSnapshotService restored = new VisitSnapshotService(after, properties("node-a"));
+        restored.start();
+        try {
+            after.recordVisit("client-0");
+            VisitCounterService.VisitStats stats = after.getStats();
+            assertEquals(1001, stats.totalVisits());
+            assertEquals(100, stats.uniqueVisits());
+        } finally {
+            restored.shutdown();
+        }
+    }
+
+    @Test
+    void flush_NoNewVisits_WritesNothing() throws Exception {
+        VisitCounterService counter = new VisitCounterService(properties("node-a"));
+        VisitSnapshotService snapshots = new VisitSnapshotService(counter, properties("node-a"));
+        snapshots.start();
+        snapshots.flush();
+        snapshots.shutdown();
+
+        assertFalse(Files.exists(directory.resolve("node-a.visits")));
+    }
+
+    @Test
+    void getClusterStats_TwoInstances_MergesOverlappingClients() throws Exception {
+        VisitCounterService nodeA = new VisitCounterService(properties("node-a"));
+        VisitCounterService nodeB = new VisitCounterService(properties("node-b"));
+        VisitSnapshotService snapshotsA = new VisitSnapshotService(nodeA, properties("node-a"));
+        VisitSnapshotService snapshotsB = new VisitSnapshotService(nodeB, properties("node-b"));
+        snapshotsA.start();
+        snapshotsB.start();
+        try {
+            for (int i = 0; i < 10_000; i++) {
+                nodeA.recordVisit("client-" + i);
+                nodeB.recordVisit("client-" + (i + 5_000));
+            }
+            snapshotsB.flush();
+
+            VisitSnapshotService.ClusterVisitStats stats = snapshotsA.getClusterStats();
+            assertEquals(2, stats.instances());
+            assertEquals(20_000, stats.totalVisits());
+            assertTrue(Math.abs(stats.uniqueVisits() - 15_000)
+                    <= 3 * stats.uniqueVisitsError() * 15_000);
+        } finally {
+            snapshotsA.shutdown();
+            snapshotsB.shutdown();
+        }
+    }
+
+    @Test
+    void getClusterStats_CorruptSnapshot_IsSkipped() throws Exception {
+        Files.write(directory.resolve("broken.visits"), new byte[] {1, 2, 3});
+        VisitCounterService counter = new VisitCounterService(properties("node-a"));
+        counter.recordVisit("client");
+        VisitSnapshotService snapshots = new VisitSnapshotService(counter, properties("node-a"));
+
+        VisitSnapshotService.ClusterVisitStats stats = snapshots.getClusterStats();
+
+        assertEquals(1, stats.instances());
+        assertEquals(1, stats.totalVisits());
+    }
+
+    @Test
+    void constructor_EnabledWithoutInstanceId_Fails() {
+        VisitCounterService counter = new VisitCounterService(properties(null));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new VisitSnapshotService(counter, properties(null)));
+    }
+
+    private VisitProperties properties(String instanceId) {
+        VisitProperties properties = new VisitProperties();
+        properties.getSnapshot().setDirectory(directory.toString());
+        properties.getSnapshot().setInstanceId(instanceId);
+        return properties;
+    }
+}
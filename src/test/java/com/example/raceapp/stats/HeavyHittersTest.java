@@ -0,0 +1,72 @@
+package com.example.raceapp.stats;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HeavyHittersTest {
+
+    @Test
+    void top_HeavyClientsInLongTail_AreRankedWithinErrorBound() {
+        HeavyHitters heavyHitters = new HeavyHitters(20, 0.001, 5);
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            add(heavyHitters, "tail-" + random.nextInt(50_000));
+        }
+        for (int heavy = 0; heavy < 5; heavy++) {
+            for (int i = 0; i < (heavy + 1) * 2_000; i++) {
+                add(heavyHitters, "heavy-" + heavy);
+            }
+        }
+
+        List<HeavyHitters.Entry> top = heavyHitters.top(5);
+
+        long errorBound = heavyHitters.getErrorBound();
+        assertEquals(5, top.size());
+        for (int rank = 0; rank < 5; rank++) {
+            HeavyHitters.Entry entry = top.get(rank);
+            long actual = (5 - rank) * 2_000L;
+            assertEquals("heavy-" + (4 - rank), entry.value());
+            assertTrue(entry.estimate() >= actual);
+            assertTrue(entry.estimate() - actual <= errorBound);
+        }
+    }
+
+    @Test
+    void top_FewerValuesThanCapacity_ReturnsExactCounts() {
+        HeavyHitters heavyHitters = new HeavyHitters(10, 0.001, 5);
+        add(heavyHitters, "a");
+        add(heavyHitters, "b");
+        add(heavyHitters, "b");
+
+        assertEquals(List.of(new HeavyHitters.Entry("b", 2), new HeavyHitters.Entry("a", 1)),
+                heavyHitters.top(10));
+        assertEquals(3, heavyHitters.getTotal());
+    }
+
+    @Test
+    void add_ManyValues_KeepsAtMostCapacity() {
+        HeavyHitters heavyHitters = new HeavyHitters(3, 0.01, 4);
+        for (int i = 0; i < 1_000; i++) {
+            add(heavyHitters, "client-" + i);
+        }
+
+        assertEquals(3, heavyHitters.top(10).size());
+    }
+
+    @Test
+    void countMinSketch_Width_IsPowerOfTwoMeetingTheBound() {
+        CountMinSketch sketch = new CountMinSketch(0.001, 5);
+
+        assertEquals(4096, sketch.getWidth());
+        assertTrue(sketch.getRelativeError() <= 0.001);
+        assertTrue(sketch.getConfidence() > 0.99);
+    }
+
+    private static void add(HeavyHitters heavyHitters, String value) {
+        heavyHitters.add(value, HyperLogLog.hash(value));
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.raceapp.stats;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {100, 10_000, 1_000_000})
+    void estimate_DistinctValues_StaysWithinThreeStandardErrors(int distinct) {
+        HyperLogLog sketch = new HyperLogLog(HyperLogLog.precisionFor(0.01));
+        for (int i = 0; i < distinct; i++) {
+            sketch.add("client-" + i);
+            sketch.add("client-" + i);
+        }
+
+        double error = Math.abs(sketch.estimate() - distinct) / (double) distinct;
+
+        assertTrue(error <= 3 * sketch.getRelativeError(),
+                "error " + error + " for " + distinct + " distinct values");
+    }
+
+    @Test
+    void precisionFor_ErrorBound_PicksSmallestSufficientPrecision() {
+        assertEquals(14, HyperLogLog.precisionFor(0.01));
+        assertTrue(new HyperLogLog(HyperLogLog.precisionFor(0.01)).getRelativeError() <= 0.01);
+        assertEquals(HyperLogLog.MAX_PRECISION, HyperLogLog.precisionFor(0.0001));
+        assertEquals(HyperLogLog.MIN_PRECISION, HyperLogLog.precisionFor(0.5));
+    }
+
+    @Test
+    void constructor_PrecisionOutOfRange_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(3));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(19));
+    }
+}
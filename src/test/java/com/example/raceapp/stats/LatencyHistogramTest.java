@@ -0,0 +1,43 @@
+package com.example.raceapp.stats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void getValueAtQuantile_UniformValues_StaysWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100_000; i++) {
+            histogram.record(i);
+        }
+
+        for (double quantile : new double[] {0.5, 0.95, 0.99, 0.999}) {
+            double expected = quantile * 100_000;
+            double error = Math.abs(histogram.getValueAtQuantile(quantile) - expected) / expected;
+            assertTrue(error < 1.0 / 32, "error " + error + " at " + quantile);
+        }
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(100_000, histogram.getMax());
+        assertEquals(50_000.5, histogram.getMean(), 0.001);
+    }
+
+    @Test
+    void record_ValueBeyondRange_IsCountedInLastBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(-5);
+
+        assertEquals(2, histogram.getCount());
+        assertEquals(LatencyHistogram.MAX_VALUE, histogram.getValueAtQuantile(1.0));
+        assertEquals(0, histogram.getValueAtQuantile(0.5));
+    }
+
+    @Test
+    void getValueAtQuantile_Empty_ReturnsZero() {
+        assertEquals(0, new LatencyHistogram().getValueAtQuantile(0.99));
+    }
+}